@@ -0,0 +1,22 @@
+package com.flightapp.bus;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Tells every app node about flight and booking changes, so in-memory state
+ * (caches, bloom filters, seat counters, seat streams) follows writes made elsewhere.
+ *
+ * Picked with flightapp.bus.type: "local" (default) only reaches this process,
+ * "mongo" follows the flights and bookings collections through change streams.
+ */
+public interface ChangeBus {
+
+    // id of this node, stamped on the events it publishes
+    String nodeId();
+
+    // announces a change this node has written; implementations that watch the database may ignore it
+    void publish(ChangeEvent event);
+
+    // changes made by any node, possibly including this one; hot, nothing is replayed
+    Flux<ChangeEvent> events();
+}
@@ -0,0 +1,38 @@
+package com.flightapp.bus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A flight or booking that was created or changed, as seen by other app nodes.
+ * For flights id is the flight id, key the flight number, availableSeats the stored seat count
+ * and seatsVersion the flight's seatsVersion that went with that count.
+ * For bookings id is the booking id and key the pnr.
+ * origin is the node that made the change, or null when it is not known (change streams).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEvent {
+
+    public enum Type { FLIGHT, BOOKING }
+
+    public enum Operation { CREATED, UPDATED }
+
+    private Type type;
+    private Operation operation;
+    private String id;
+    private String key;
+    private Integer availableSeats;
+    private long seatsVersion;
+    private String origin;
+
+    public static ChangeEvent flight(Operation op, String id, String flightNumber, Integer availableSeats, long seatsVersion) {
+        return new ChangeEvent(Type.FLIGHT, op, id, flightNumber, availableSeats, seatsVersion, null);
+    }
+
+    public static ChangeEvent booking(Operation op, String id, String pnr) {
+        return new ChangeEvent(Type.BOOKING, op, id, pnr, null, 0L, null);
+    }
+}
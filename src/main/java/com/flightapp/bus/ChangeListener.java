@@ -0,0 +1,84 @@
+package com.flightapp.bus;
+
+import com.flightapp.cache.BookingCache;
+import com.flightapp.cache.FlightCache;
+import com.flightapp.cache.KnownKeys;
+import com.flightapp.service.SeatAvailabilityPublisher;
+import com.flightapp.service.SeatInventory;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+
+/**
+ * Applies changes made by other nodes to this node's in-memory state.
+ * Events this node published itself are skipped, it already applied them when it wrote.
+ * Every step is safe to repeat, so an event seen twice (or our own write coming back
+ * through a change stream) does no harm.
+ */
+@Component
+public class ChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeListener.class);
+
+    @Autowired
+    private ChangeBus changeBus;
+
+    @Autowired
+    private FlightCache flightCache;
+
+    @Autowired
+    private BookingCache bookingCache;
+
+    @Autowired
+    private KnownKeys knownKeys;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private SeatAvailabilityPublisher seatPublisher;
+
+    private volatile Disposable subscription;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        String self = changeBus.nodeId();
+        subscription = changeBus.events()
+                .filter(e -> !self.equals(e.getOrigin()))
+                .subscribe(this::apply, err -> log.error("change bus stopped, other nodes' writes are no longer seen", err));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    public void apply(ChangeEvent event) {
+        switch (event.getType()) {
+            case FLIGHT -> {
+                knownKeys.addFlightNumber(event.getKey());
+                Integer stored = event.getAvailableSeats();
+                if (stored != null) {
+                    seatInventory.rebase(event.getId(), stored, event.getSeatsVersion());
+                    flightCache.patchSeats(event.getId(), stored);
+                    // seat stream clients get this node's view, which is the counter when one is loaded
+                    int live = seatInventory.available(event.getId());
+                    seatPublisher.publish(event.getId(), live >= 0 ? live : stored);
+                }
+            }
+            case BOOKING -> {
+                knownKeys.addPnr(event.getKey());
+                if (event.getOperation() == ChangeEvent.Operation.UPDATED) {
+                    bookingCache.invalidate(event.getKey());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.flightapp.bus;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.UUID;
+
+/**
+ * In-process bus for a single node and for tests.
+ * On one node every event comes back to its own sender and is skipped, so this costs next to nothing.
+ * Tests simulate several nodes by giving several buses one shared sink.
+ */
+@Component
+@ConditionalOnProperty(name = "flightapp.bus.type", havingValue = "local", matchIfMissing = true)
+public class LocalChangeBus implements ChangeBus {
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Sinks.Many<ChangeEvent> sink;
+
+    public LocalChangeBus() {
+        this(Sinks.many().multicast().directBestEffort());
+    }
+
+    LocalChangeBus(Sinks.Many<ChangeEvent> sink) {
+        this.sink = sink;
+    }
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    // synchronized because a sink accepts one emitter at a time
+    @Override
+    public void publish(ChangeEvent event) {
+        event.setOrigin(nodeId);
+        synchronized (sink) {
+            sink.tryEmitNext(event);
+        }
+    }
+
+    @Override
+    public Flux<ChangeEvent> events() {
+        return sink.asFlux();
+    }
+}
@@ -0,0 +1,114 @@
+package com.flightapp.bus;
+
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import jakarta.annotation.PostConstruct;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Bus driven by mongo change streams on flights and bookings, for several app nodes on one database.
+ * Every write shows up here no matter which node made it, so publish() has nothing to do.
+ * Needs mongo running as a replica set (a single node replica set is enough).
+ *
+ * One cursor per collection is shared by all subscribers. After an error the stream is
+ * reopened from the last token it saw, so no change is skipped while it reconnects.
+ */
+@Component
+@ConditionalOnProperty(name = "flightapp.bus.type", havingValue = "mongo")
+public class MongoChangeStreamBus implements ChangeBus {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoChangeStreamBus.class);
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate; // I added this to open the change streams
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private Flux<ChangeEvent> events;
+
+    @PostConstruct
+    public void init() {
+        events = Flux.merge(watch("flights", this::flightEvent), watch("bookings", this::bookingEvent))
+                .publish()
+                .refCount();
+    }
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void publish(ChangeEvent event) {
+        // the write itself is the event, the change stream delivers it to every node
+    }
+
+    @Override
+    public Flux<ChangeEvent> events() {
+        return events;
+    }
+
+    private Flux<ChangeEvent> watch(String collection, Function<ChangeStreamEvent<Document>, ChangeEvent> mapper) {
+        AtomicReference<BsonValue> lastToken = new AtomicReference<>();
+        return Flux.defer(() -> {
+                    // updateLookup so an $inc still gives me the whole document
+                    ChangeStreamOptions.ChangeStreamOptionsBuilder options = ChangeStreamOptions.builder()
+                            .fullDocumentLookup(FullDocument.UPDATE_LOOKUP);
+                    BsonValue token = lastToken.get();
+                    if (token != null) options.resumeAfter(token);
+                    return mongoTemplate.changeStream(collection, options.build(), Document.class);
+                })
+                .doOnNext(e -> lastToken.set(e.getResumeToken()))
+                .filter(e -> e.getBody() != null && isWrite(e.getOperationType()))
+                .map(mapper)
+                .doOnError(err -> log.warn("{} change stream failed, reopening", collection, err))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)));
+    }
+
+    private static boolean isWrite(OperationType type) {
+        return type == OperationType.INSERT || type == OperationType.UPDATE || type == OperationType.REPLACE;
+    }
+
+    private static ChangeEvent.Operation operation(ChangeStreamEvent<Document> e) {
+        return e.getOperationType() == OperationType.INSERT ? ChangeEvent.Operation.CREATED : ChangeEvent.Operation.UPDATED;
+    }
+
+    private ChangeEvent flightEvent(ChangeStreamEvent<Document> e) {
+        Document doc = e.getBody();
+        return ChangeEvent.flight(operation(e), id(doc), doc.getString("flightNumber"), doc.getInteger("availableSeats"),
+                seatsVersion(doc));
+    }
+
+    // flights stored before seat counts had a version have none, which reads as 0
+    private static long seatsVersion(Document doc) {
+        Object version = doc.get("seatsVersion");
+        return version instanceof Number n ? n.longValue() : 0L;
+    }
+
+    private ChangeEvent bookingEvent(ChangeStreamEvent<Document> e) {
+        Document doc = e.getBody();
+        return ChangeEvent.booking(operation(e), id(doc), doc.getString("pnr"));
+    }
+
+    private static String id(Document doc) {
+        Object id = doc.get("_id");
+        return id instanceof ObjectId oid ? oid.toHexString() : String.valueOf(id);
+    }
+}
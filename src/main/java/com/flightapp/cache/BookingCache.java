@@ -0,0 +1,94 @@
+package com.flightapp.cache;
+
+import com.flightapp.model.Booking;
+import com.flightapp.repository.BookingRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Recent bookings keyed by pnr, so repeated status checks after booking skip mongo.
+ * Filled when a booking is saved and when a lookup misses, emptied for a pnr when it is cancelled.
+ * A lookup that races a cancel can put the old booking back, the ttl bounds how long that shows.
+ *
+ * When flightapp.cache.bookings.enabled=false every call goes straight to BookingRepository.
+ */
+@Component
+public class BookingCache {
+
+    @Autowired
+    private BookingRepository bookingRepository; // I added this to load bookings on a miss
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry; // I added this so hit/miss/eviction counts show up in /actuator/metrics
+
+    @Value("${flightapp.cache.bookings.enabled:true}")
+    private boolean enabled;
+
+    @Value("${flightapp.cache.bookings.max-size:50000}")
+    private long maxSize;
+
+    @Value("${flightapp.cache.bookings.ttl:5m}")
+    private Duration ttl;
+
+    private Cache<String, Booking> byPnr;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) return;
+
+        byPnr = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, byPnr, "bookings");
+        }
+    }
+
+    public Mono<Booking> byPnr(String pnr) {
+        if (!enabled) {
+            return bookingRepository.findByPnr(pnr);
+        }
+        return Mono.defer(() -> {
+            Booking cached = byPnr.getIfPresent(pnr);
+            if (cached != null) {
+                return Mono.just(copy(cached));
+            }
+            // unknown pnrs are not remembered, so a booking saved on another node is still found
+            return bookingRepository.findByPnr(pnr).doOnNext(this::put);
+        });
+    }
+
+    public void put(Booking booking) {
+        if (!enabled || booking.getPnr() == null) return;
+        byPnr.put(booking.getPnr(), copy(booking));
+    }
+
+    public void invalidate(String pnr) {
+        if (!enabled) return;
+        byPnr.invalidate(pnr);
+    }
+
+    public CacheStats stats() {
+        return enabled ? byPnr.stats() : CacheStats.empty();
+    }
+
+    private static Booking copy(Booking b) {
+        return new Booking(b.getId(), b.getPnr(), b.getFlightId(), b.getSeatsBooked(),
+                b.getSeatNumbers() == null ? null : List.copyOf(b.getSeatNumbers()), b.getName(), b.getEmail(),
+                b.getGender(), b.getMealPreference(), b.getStatus(), b.getCreatedAt(), b.getCancelledAt());
+    }
+}
@@ -0,0 +1,126 @@
+package com.flightapp.cache;
+
+import com.flightapp.model.Flight;
+import com.flightapp.repository.FlightRepository;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Read-through cache in front of the flight lookups by id and by flight number.
+ * Entries are bounded by size and expire after a fixed time, so anything that is not
+ * patched here (for example an edit made straight in mongo) is picked up after the ttl.
+ *
+ * The cache is async so parallel misses for the same flight share one mongo query.
+ * Cached flights are never handed out directly, callers get a copy they are free to change.
+ *
+ * When flightapp.cache.flights.enabled=false every call goes straight to FlightRepository.
+ */
+@Component
+public class FlightCache {
+
+    @Autowired
+    private FlightRepository flightRepository; // I added this to load flights on a miss
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry; // I added this so hit/miss/eviction counts show up in /actuator/metrics
+
+    @Value("${flightapp.cache.flights.enabled:true}")
+    private boolean enabled;
+
+    @Value("${flightapp.cache.flights.max-size:10000}")
+    private long maxSize;
+
+    @Value("${flightapp.cache.flights.ttl:10m}")
+    private Duration ttl;
+
+    private AsyncLoadingCache<String, Flight> byId;
+
+    // flight numbers never change once a flight is stored, so this mapping never goes stale
+    private AsyncLoadingCache<String, String> idByNumber;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) return;
+
+        // an empty Mono completes the future with null, which caffeine does not store,
+        // so unknown ids and flight numbers are looked up again next time
+        byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync((id, executor) -> flightRepository.findById(id).toFuture());
+
+        idByNumber = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync((number, executor) -> flightRepository.findByFlightNumber(number)
+                        .doOnNext(this::put)
+                        .map(Flight::getId)
+                        .toFuture());
+
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, byId, "flights");
+            CaffeineCacheMetrics.monitor(meterRegistry, idByNumber, "flight-numbers");
+        }
+    }
+
+    public Mono<Flight> byId(String id) {
+        if (!enabled) {
+            return flightRepository.findById(id);
+        }
+        // suppressCancel so one cancelled request cannot cancel the load other requests are waiting on
+        return Mono.defer(() -> Mono.fromFuture(byId.get(id), true)).map(FlightCache::copy);
+    }
+
+    public Mono<Flight> byFlightNumber(String flightNumber) {
+        if (!enabled) {
+            return flightRepository.findByFlightNumber(flightNumber);
+        }
+        return Mono.defer(() -> Mono.fromFuture(idByNumber.get(flightNumber), true)).flatMap(this::byId);
+    }
+
+    // stores a flight that was just written so the first read does not go to mongo
+    public void put(Flight flight) {
+        if (!enabled || flight.getId() == null) return;
+        byId.synchronous().put(flight.getId(), copy(flight));
+    }
+
+    // writes the seat count returned by a booking or cancel into the cached flight, if there is one.
+    // two updates racing can land in either order, the ttl bounds how long that can show
+    public void patchSeats(String flightId, int availableSeats) {
+        if (!enabled) return;
+        byId.synchronous().asMap().computeIfPresent(flightId, (id, cached) -> {
+            Flight patched = copy(cached);
+            patched.setAvailableSeats(availableSeats);
+            return patched;
+        });
+    }
+
+    public void invalidate(String flightId) {
+        if (!enabled) return;
+        byId.synchronous().invalidate(flightId);
+    }
+
+    public CacheStats stats() {
+        return enabled ? byId.synchronous().stats() : CacheStats.empty();
+    }
+
+    private static Flight copy(Flight f) {
+        return new Flight(f.getId(), f.getAirline(), f.getFlightNumber(), f.getFromPlace(), f.getToPlace(),
+                f.getDepartureDateTime(), f.getArrivalDateTime(), f.getPrice(),
+                f.getTotalSeats(), f.getAvailableSeats(), f.getSeatsVersion(), f.getAircraft(),
+                // the live seat map is in SeatInventory, a cached copy would only go stale
+                null, f.getSeatMapVersion());
+    }
+}
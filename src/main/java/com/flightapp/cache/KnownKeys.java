@@ -0,0 +1,131 @@
+package com.flightapp.cache;
+
+import com.flightapp.model.Booking;
+import com.flightapp.model.Flight;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FlightRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+/**
+ * Bloom filters of every pnr and flight number in mongo, so lookups for keys that were never
+ * stored can be answered "not found" without a query.
+ *
+ * Keys are added before they are written, so a lookup racing an insert at worst goes to mongo.
+ * Until the startup load has finished every key counts as "might exist" and nothing is gated.
+ * Keys written by another app node only arrive through the change bus, so with several nodes
+ * use flightapp.bus.type=mongo or switch this off (flightapp.bloom.enabled=false).
+ */
+@Component
+public class KnownKeys {
+
+    private static final Logger log = LoggerFactory.getLogger(KnownKeys.class);
+
+    @Autowired
+    private BookingRepository bookingRepository; // I added this to stream every pnr at startup
+
+    @Autowired
+    private FlightRepository flightRepository; // I added this to stream every flight number at startup
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry; // I added this to publish the current false positive rate
+
+    @Value("${flightapp.bloom.enabled:true}")
+    private boolean enabled;
+
+    @Value("${flightapp.bloom.expected-pnrs:1000000}")
+    private long expectedPnrs;
+
+    @Value("${flightapp.bloom.expected-flights:100000}")
+    private long expectedFlights;
+
+    @Value("${flightapp.bloom.fpp:0.01}")
+    private double fpp;
+
+    private ScalableBloomFilter pnrs;
+    private ScalableBloomFilter flightNumbers;
+
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) return;
+
+        pnrs = new ScalableBloomFilter(expectedPnrs, fpp);
+        flightNumbers = new ScalableBloomFilter(expectedFlights, fpp);
+
+        if (meterRegistry != null) {
+            register(pnrs, "pnr");
+            register(flightNumbers, "flight-number");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        rebuild().subscribe(
+                n -> log.info("bloom filters loaded {} keys", n),
+                err -> log.warn("bloom filter load failed, pnr and flight number lookups stay ungated", err));
+    }
+
+    // streams both collections into the live filters; keys added meanwhile by new writes are kept
+    public Mono<Long> rebuild() {
+        if (!enabled) return Mono.just(0L);
+
+        Mono<Long> pnrCount = bookingRepository.streamPnrs()
+                .map(Booking::getPnr)
+                .filter(Objects::nonNull)
+                .doOnNext(pnrs::add)
+                .count();
+        Mono<Long> flightCount = flightRepository.streamFlightNumbers()
+                .map(Flight::getFlightNumber)
+                .filter(Objects::nonNull)
+                .doOnNext(flightNumbers::add)
+                .count();
+
+        return Mono.zip(pnrCount, flightCount, Long::sum)
+                .doOnSuccess(n -> ready = true);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // false means this pnr was never stored
+    public boolean mightHavePnr(String pnr) {
+        return !enabled || !ready || pnrs.mightContain(pnr);
+    }
+
+    // false means this flight number was never stored
+    public boolean mightHaveFlightNumber(String flightNumber) {
+        return !enabled || !ready || flightNumbers.mightContain(flightNumber);
+    }
+
+    public void addPnr(String pnr) {
+        if (enabled && pnr != null) pnrs.add(pnr);
+    }
+
+    public void addFlightNumber(String flightNumber) {
+        if (enabled && flightNumber != null) flightNumbers.add(flightNumber);
+    }
+
+    private void register(ScalableBloomFilter filter, String name) {
+        Gauge.builder("flightapp.bloom.fpp", filter, ScalableBloomFilter::expectedFpp)
+                .description("estimated false positive rate of the bloom filter")
+                .tag("filter", name)
+                .register(meterRegistry);
+        Gauge.builder("flightapp.bloom.entries", filter, ScalableBloomFilter::approximateCount)
+                .tag("filter", name)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,153 @@
+package com.flightapp.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter that keeps its false positive rate when it grows past the size it was made for
+ * (Almeida et al., "Scalable Bloom Filters"). When the newest layer is full a new one is added with
+ * twice the capacity and half the error rate, so the rates of all layers add up to at most the target.
+ *
+ * Safe for many threads: bits are set with CAS, a lookup never blocks, only adding a layer locks.
+ * Keys can only be added, never removed.
+ */
+public final class ScalableBloomFilter {
+
+    private static final int GROWTH = 2;
+    private static final double TIGHTENING = 0.5;
+
+    private final List<Layer> layers = new CopyOnWriteArrayList<>();
+
+    public ScalableBloomFilter(long initialCapacity, double fpp) {
+        if (initialCapacity <= 0) throw new IllegalArgumentException("initialCapacity must be > 0");
+        if (fpp <= 0 || fpp >= 1) throw new IllegalArgumentException("fpp must be between 0 and 1");
+        // first layer gets fpp * (1 - r) so the series fpp * (1 - r) * (1 + r + r^2 ...) stays under fpp
+        layers.add(new Layer(initialCapacity, fpp * (1 - TIGHTENING)));
+    }
+
+    public void add(String key) {
+        long h1 = hash(key);
+        long h2 = secondHash(h1);
+        // a key already present is not counted again, so repeats do not fill layers up
+        if (contains(h1, h2)) return;
+
+        Layer last = layers.get(layers.size() - 1);
+        last.put(h1, h2);
+        if (last.count.incrementAndGet() >= last.capacity) {
+            grow(last);
+        }
+    }
+
+    public boolean mightContain(String key) {
+        long h1 = hash(key);
+        return contains(h1, secondHash(h1));
+    }
+
+    // false positive rate right now, worked out from how full each layer actually is
+    public double expectedFpp() {
+        double allMiss = 1.0;
+        for (Layer layer : layers) {
+            allMiss *= 1.0 - Math.pow(layer.fillRatio(), layer.hashes);
+        }
+        return 1.0 - allMiss;
+    }
+
+    public long approximateCount() {
+        long n = 0;
+        for (Layer layer : layers) n += layer.count.get();
+        return n;
+    }
+
+    public int layerCount() {
+        return layers.size();
+    }
+
+    private boolean contains(long h1, long h2) {
+        for (Layer layer : layers) {
+            if (layer.has(h1, h2)) return true;
+        }
+        return false;
+    }
+
+    private synchronized void grow(Layer full) {
+        // another thread may have grown it already
+        Layer last = layers.get(layers.size() - 1);
+        if (last != full) return;
+        layers.add(new Layer(last.capacity * GROWTH, last.fpp * TIGHTENING));
+    }
+
+    // 64 bit FNV-1a over the utf-8 bytes, then a murmur3 finalizer so the low bits are well mixed
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    // second hash for double hashing; odd so the probe steps never repeat too early
+    private static long secondHash(long h1) {
+        return mix(h1 ^ 0x9e3779b97f4a7c15L) | 1L;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Layer {
+        final long capacity;
+        final double fpp;
+        final long bitSize;
+        final int hashes;
+        final AtomicLongArray words;
+        final AtomicLong count = new AtomicLong();
+
+        Layer(long capacity, double fpp) {
+            this.capacity = capacity;
+            this.fpp = fpp;
+            // usual sizing: m = -n ln p / (ln 2)^2, k = m / n * ln 2
+            long bits = (long) Math.ceil(-capacity * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+            int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) / 64);
+            this.bitSize = (long) wordCount * 64;
+            this.hashes = Math.max(1, (int) Math.round((double) bitSize / capacity * Math.log(2)));
+            this.words = new AtomicLongArray(wordCount);
+        }
+
+        void put(long h1, long h2) {
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitSize);
+                int w = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long old = words.get(w);
+                while ((old & mask) == 0 && !words.compareAndSet(w, old, old | mask)) {
+                    old = words.get(w);
+                }
+            }
+        }
+
+        boolean has(long h1, long h2) {
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitSize);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        double fillRatio() {
+            long set = 0;
+            for (int i = 0; i < words.length(); i++) {
+                set += Long.bitCount(words.get(i));
+            }
+            return (double) set / bitSize;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.flightapp.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.time.Instant;
+import java.util.List;
+
+@Configuration
+public class MongoConfig {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(new IsoStringToInstantConverter()));
+    }
+
+    // flights written before departure/arrival became dates still hold ISO strings
+    // until FlightTimestampMigration reaches them, so reads must accept both
+    @ReadingConverter
+    static class IsoStringToInstantConverter implements Converter<String, Instant> {
+        @Override
+        public Instant convert(String source) {
+            return Instant.parse(source);
+        }
+    }
+}
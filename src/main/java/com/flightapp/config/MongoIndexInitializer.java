@@ -0,0 +1,41 @@
+package com.flightapp.config;
+
+import com.flightapp.model.Booking;
+import com.flightapp.model.Flight;
+import com.flightapp.model.WaitlistEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Creates the indexes declared on the documents (@Indexed, @CompoundIndex) when the app starts.
+ * Done here instead of spring.data.mongodb.auto-index-creation so tests can wait for it.
+ */
+@Component
+public class MongoIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        ensureIndexes().subscribe(null, err -> log.warn("could not create mongo indexes", err));
+    }
+
+    public Mono<Void> ensureIndexes() {
+        IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+        return Flux.just(Flight.class, Booking.class, WaitlistEntry.class)
+                .concatMap(type -> Flux.fromIterable(resolver.resolveIndexFor(type))
+                        .concatMap(index -> mongoTemplate.indexOps(type).createIndex(index)))
+                .then();
+    }
+}
@@ -1,20 +1,21 @@
 package com.flightapp.controller;
 
+import com.flightapp.dto.repsonse.BookingHistoryPage;
 import com.flightapp.dto.request.BookingRequest;
 import com.flightapp.dto.repsonse.BookingResponse;
+import com.flightapp.dto.repsonse.BulkBookingResult;
+import com.flightapp.exception.ErrorCode;
 import com.flightapp.model.Booking;
 import com.flightapp.service.BookingService;
 import com.flightapp.service.FlightService;
-import jakarta.validation.ConstraintViolation;
-import jakarta.validation.Validator;
+import com.flightapp.validation.RequestValidator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.Set;
-
 @RestController
 @RequestMapping("/api/flight/airline/inventory")
 public class BookingController {
@@ -26,18 +27,16 @@ public class BookingController {
     private BookingService bookingService; // I added this to fetch booking details and history
 
     @Autowired
-    private Validator validator; // I added this to do simple validation before calling service
+    private RequestValidator requestValidator; // I added this to turn away bad requests before any service call
 
     @PostMapping("/book")
     @ResponseStatus(HttpStatus.CREATED)
     public Mono<BookingResponse> bookTicket(@RequestBody BookingRequest req) {
 
-        // I am checking request data first using validator so wrong data can be stopped early
-        Set<ConstraintViolation<BookingRequest>> violations = validator.validate(req);
-        if (!violations.isEmpty()) {
-            ConstraintViolation<BookingRequest> v = violations.iterator().next();
-            String msg = v.getPropertyPath() + " " + v.getMessage();
-            return Mono.error(new IllegalArgumentException(msg));
+        // I am checking request data first so wrong data is stopped before any database work
+        String error = requestValidator.check(req);
+        if (error != null) {
+            return Mono.error(new IllegalArgumentException(error));
         }
 
         // I am sending request data to flightService where seat check and booking logic is already written
@@ -47,21 +46,35 @@ public class BookingController {
                 req.getName(),
                 req.getEmail(),
                 req.getGender(),
-                req.getMealPreference()
+                req.getMealPreference(),
+                req.getSeatNumbers(),
+                req.isAdjacent()
         );
     }
 
+    // I added this for travel agents who upload many bookings at once
+    // one json booking per line in, one result per line out as soon as it is ready
+    @PostMapping(value = "/book/bulk",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BulkBookingResult> bookInBulk(@RequestBody Flux<BookingRequest> requests) {
+        return bookingService.bookAll(requests);
+    }
+
     // I wrote this to get one booking using pnr
     // if not found global error handler will send not found status
     @GetMapping("/booking/{pnr}")
     public Mono<Booking> getBookingByPnr(@PathVariable String pnr) {
         return bookingService.getBookingByPnr(pnr)
-                .switchIfEmpty(Mono.error(new java.util.NoSuchElementException("booking not found")));
+                .switchIfEmpty(Mono.error(ErrorCode.BOOKING_NOT_FOUND.exception()));
     }
 
-    // I added this to get all bookings done by one email id
+    // I added this to get bookings done by one email id, newest first, one page at a time
+    // pass nextCursor as before for the next (older) page
     @GetMapping("/booking/email/{email}")
-    public Flux<Booking> getBookingsByEmail(@PathVariable String email) {
-        return bookingService.getBookingHistoryByEmail(email);
+    public Mono<BookingHistoryPage> getBookingsByEmail(@PathVariable String email,
+                                                       @RequestParam(required = false) String before,
+                                                       @RequestParam(required = false) Integer limit) {
+        return bookingService.getBookingHistoryPage(email, before, limit);
     }
 }
\ No newline at end of file
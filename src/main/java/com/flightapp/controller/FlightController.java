@@ -2,21 +2,27 @@ package com.flightapp.controller;
 
 import com.flightapp.dto.request.AddFlightRequest;
 import com.flightapp.dto.repsonse.AddFlightResponse;
+import com.flightapp.dto.repsonse.BulkFlightSummary;
+import com.flightapp.dto.repsonse.FlightPage;
+import com.flightapp.dto.repsonse.FlightSeats;
+import com.flightapp.dto.repsonse.SeatUpdate;
+import com.flightapp.exception.ErrorCode;
+import com.flightapp.mapper.FlightMapper;
 import com.flightapp.model.Flight;
 import com.flightapp.service.FlightService;
-import jakarta.validation.ConstraintViolation;
-import jakarta.validation.Valid;
-import jakarta.validation.Validator;
+import com.flightapp.validation.RequestValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
-import org.springframework.validation.annotation.Validated;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.Set;
+import java.time.Duration;
+import java.util.List;
 
-@Validated
 @RestController
 @RequestMapping("/api/flight/airline/inventory")
 public class FlightController {
@@ -24,80 +30,110 @@ public class FlightController {
     @Autowired
     private FlightService flightService; // I added this to call all flight related service work
 
+    @Value("${flightapp.seats.sse-heartbeat:15s}")
+    private Duration sseHeartbeat;
+
     @Autowired
-    private Validator validator; // I added this to check request fields before saving
+    private RequestValidator requestValidator; // I added this to turn away bad requests before any service call
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public Mono<AddFlightResponse> addInventory(@Valid @RequestBody AddFlightRequest req) {
-
-        // I am first checking if flight number is already present
-        return flightService.existsByFlightNumber(req.getFlightNumber())
-                .flatMap(exists -> {
-                    if (exists) {
-                        return Mono.error(new IllegalArgumentException("flight already exists"));
-                    }
-
-                    // I am doing extra validation to show clear message if request has wrong data
-                    Set<ConstraintViolation<AddFlightRequest>> violations = validator.validate(req);
-                    if (!violations.isEmpty()) {
-                        ConstraintViolation<AddFlightRequest> v = violations.iterator().next();
-                        String msg = v.getPropertyPath() + " " + v.getMessage();
-                        return Mono.error(new IllegalArgumentException(msg));
-                    }
-
-                    // I am checking that arrival time should be after departure time
-                    try {
-                        if (req.getDepartureDateTime() != null && req.getArrivalDateTime() != null) {
-                            java.time.Instant dep = java.time.Instant.parse(req.getDepartureDateTime());
-                            java.time.Instant arr = java.time.Instant.parse(req.getArrivalDateTime());
-                            if (!arr.isAfter(dep)) {
-                                return Mono.error(new IllegalArgumentException("arrival must be after departure"));
-                            }
-                        } else {
-                            return Mono.error(new IllegalArgumentException("invalid departure/arrival datetime"));
-                        }
-                    } catch (Exception e) {
-                        return Mono.error(new IllegalArgumentException("invalid departure/arrival datetime"));
-                    }
-
-                    // I am creating flight object and copying all fields into it
-                    Flight f = new Flight();
-                    f.setAirline(req.getAirline());
-                    f.setFlightNumber(req.getFlightNumber());
-                    f.setFromPlace(req.getFromPlace());
-                    f.setToPlace(req.getToPlace());
-                    f.setDepartureDateTime(req.getDepartureDateTime());
-                    f.setArrivalDateTime(req.getArrivalDateTime());
-                    f.setPrice(req.getPrice());
-                    f.setTotalSeats(req.getTotalSeats());
-                    f.setAvailableSeats(req.getTotalSeats()); // I set available seats same as total in start
-                    f.setAircraft(req.getAircraft());
-
-                    // I am saving the flight and returning only the id to client
-                    return flightService.createFlight(f)
-                            .map(saved -> new AddFlightResponse(saved.getId()));
-                });
+    public Mono<AddFlightResponse> addInventory(@RequestBody AddFlightRequest req) {
+
+        // I am checking the request once, here, so bad data never reaches the service or mongo
+        String error = requestValidator.check(req);
+        if (error != null) {
+            return Mono.error(new IllegalArgumentException(error));
+        }
+
+        // I am checking the dates and copying all fields into a flight object
+        Flight f;
+        try {
+            f = FlightMapper.toFlight(req);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(e);
+        }
+
+        // I am saving the flight and returning only the id to client
+        // a taken flight number comes back from the unique index as "flight already exists"
+        return flightService.createFlight(f)
+                .map(saved -> new AddFlightResponse(saved.getId()));
+    }
+
+    // I added this to load a whole schedule in one upload
+    // one AddFlightRequest per line in, one result per line out, and a summary line at the end
+    @PostMapping(value = "/bulk",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Object> addInventoryInBulk(@RequestBody Flux<AddFlightRequest> requests) {
+        return Flux.defer(() -> {
+            BulkFlightSummary summary = new BulkFlightSummary();
+            return flightService.ingestFlights(requests)
+                    .doOnNext(summary::count)
+                    .<Object>map(result -> result)
+                    .concatWith(Mono.fromSupplier(() -> summary));
+        });
     }
 
     @GetMapping
-    public Flux<Flight> listAll() {
-        // I added this to show all flights in database
+    public Mono<FlightPage> listAll(@RequestParam(required = false) String after,
+                                    @RequestParam(required = false) Integer limit) {
+        // I added this to show flights one page at a time, pass nextCursor as after for the next page
+        return flightService.getFlightPage(after, limit);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Flight> streamAll() {
+        // I added this for clients that want every flight, one json per line as it is read
         return flightService.getAllFlights();
     }
 
+    @GetMapping("/search")
+    public Flux<Flight> search(@RequestParam String from,
+                               @RequestParam String to,
+                               @RequestParam(required = false) String departAfter,
+                               @RequestParam(required = false) String departBefore,
+                               @RequestParam(required = false) String sort,
+                               @RequestParam(required = false) Integer limit) {
+        // I added this so users can find flights on a route without pulling the whole list
+        return flightService.searchFlights(from, to, departAfter, departBefore, sort, limit);
+    }
+
+    // I added this so the seat count on screen updates by itself instead of polling GET /{id}
+    // ?ids=a,b gives the current seats of each flight first, then every change as it happens
+    @GetMapping(value = "/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<SeatUpdate>> streamSeats(@RequestParam List<String> ids) {
+        Flux<ServerSentEvent<SeatUpdate>> updates = flightService.watchSeats(ids)
+                .map(u -> ServerSentEvent.builder(u)
+                        .id(Long.toString(u.getVersion()))
+                        .event("seats")
+                        .build());
+        // a comment line now and then keeps proxies from closing a quiet stream
+        Flux<ServerSentEvent<SeatUpdate>> heartbeat = Flux.interval(sseHeartbeat)
+                .map(tick -> ServerSentEvent.<SeatUpdate>builder().comment("keep-alive").build());
+        // updates never complete, and an error there (bad ids) ends the merge and the heartbeat with it
+        return Flux.merge(updates, heartbeat);
+    }
+
+    @GetMapping("/{id}/seats")
+    public Mono<FlightSeats> getSeats(@PathVariable String id) {
+        // I added this so customers can see which seats are free and pick theirs when booking
+        return flightService.getSeats(id)
+                .switchIfEmpty(Mono.error(ErrorCode.FLIGHT_NOT_FOUND.exception()));
+    }
+
     @GetMapping("/{id}")
     public Mono<Flight> getById(@PathVariable String id) {
         // I am finding one flight using id and returning error if not found
         return flightService.getFlightById(id)
-                .switchIfEmpty(Mono.error(new java.util.NoSuchElementException("flight not found")));
+                .switchIfEmpty(Mono.error(ErrorCode.FLIGHT_NOT_FOUND.exception()));
     }
 
     @GetMapping(params = "flightNumber")
     public Mono<Flight> searchByFlightNumberParam(@RequestParam String flightNumber) {
         // I added this to search flight using flight number
         return flightService.findByFlightNumberMono(flightNumber)
-                .switchIfEmpty(Mono.error(new java.util.NoSuchElementException("flight not found")));
+                .switchIfEmpty(Mono.error(ErrorCode.FLIGHT_NOT_FOUND.exception()));
     }
 
 }
\ No newline at end of file
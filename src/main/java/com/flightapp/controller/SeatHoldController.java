@@ -0,0 +1,52 @@
+package com.flightapp.controller;
+
+import com.flightapp.dto.repsonse.BookingResponse;
+import com.flightapp.dto.repsonse.SeatHoldResponse;
+import com.flightapp.dto.request.HoldConfirmRequest;
+import com.flightapp.dto.request.SeatHoldRequest;
+import com.flightapp.service.SeatHoldService;
+import com.flightapp.validation.RequestValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/flight/airline/inventory")
+public class SeatHoldController {
+
+    @Autowired
+    private SeatHoldService seatHoldService; // I added this to hold seats while the customer pays
+
+    @Autowired
+    private RequestValidator requestValidator; // I added this to turn away bad requests before any seat is taken
+
+    // I added this for checkout: the seats are taken now and booked on confirm, or given back when the hold runs out
+    @PostMapping("/hold")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<SeatHoldResponse> holdSeats(@RequestBody SeatHoldRequest req) {
+        String error = requestValidator.check(req);
+        if (error != null) {
+            return Mono.error(new IllegalArgumentException(error));
+        }
+        return seatHoldService.hold(req);
+    }
+
+    // I added this to turn a hold into a booking once payment went through
+    @PostMapping("/hold/{holdId}/confirm")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<BookingResponse> confirmHold(@PathVariable String holdId, @RequestBody HoldConfirmRequest req) {
+        String error = requestValidator.check(req);
+        if (error != null) {
+            return Mono.error(new IllegalArgumentException(error));
+        }
+        return seatHoldService.confirm(holdId, req);
+    }
+
+    // I added this to give the seats back straight away when the customer leaves checkout
+    @DeleteMapping("/hold/{holdId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> releaseHold(@PathVariable String holdId) {
+        return seatHoldService.release(holdId);
+    }
+}
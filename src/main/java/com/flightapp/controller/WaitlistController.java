@@ -0,0 +1,39 @@
+package com.flightapp.controller;
+
+import com.flightapp.dto.repsonse.WaitlistResponse;
+import com.flightapp.dto.request.BookingRequest;
+import com.flightapp.service.WaitlistService;
+import com.flightapp.validation.RequestValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/flight/airline/inventory")
+public class WaitlistController {
+
+    @Autowired
+    private WaitlistService waitlistService; // I added this to queue bookings for full flights
+
+    @Autowired
+    private RequestValidator requestValidator; // I added this so a waitlist entry is checked like a booking
+
+    // I added this for customers who got "Not enough seats": same body as /book, the booking is made
+    // for them when seats come back. 202 because the booking itself happens later
+    @PostMapping("/waitlist")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public Mono<WaitlistResponse> joinWaitlist(@RequestBody BookingRequest req) {
+        String error = requestValidator.check(req);
+        if (error != null) {
+            return Mono.error(new IllegalArgumentException(error));
+        }
+        return waitlistService.join(req);
+    }
+
+    // I wrote this to check a waitlist entry; the pnr shows up here once it is promoted
+    @GetMapping("/waitlist/{id}")
+    public Mono<WaitlistResponse> getWaitlistEntry(@PathVariable String id) {
+        return waitlistService.getEntry(id);
+    }
+}
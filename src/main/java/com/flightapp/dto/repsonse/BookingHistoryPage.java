@@ -0,0 +1,19 @@
+package com.flightapp.dto.repsonse;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a traveller's booking history, newest first.
+ * nextCursor is passed back as ?before= to get older bookings, and is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingHistoryPage {
+    private List<BookingSummary> bookings;
+    private String nextCursor;
+}
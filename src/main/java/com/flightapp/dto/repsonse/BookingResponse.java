@@ -1,9 +1,12 @@
 package com.flightapp.dto.repsonse;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.util.List;
+
 /**
  * To get minimal response that will be returned for a successful booking
  * Matches the requirement: POST create -> return only the id-like field
@@ -13,4 +16,12 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 public class BookingResponse {
     private String pnr;
+
+    // the seats given to this booking, left out for flights without a seat map
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<Integer> seatNumbers;
+
+    public BookingResponse(String pnr) {
+        this.pnr = pnr;
+    }
 }
\ No newline at end of file
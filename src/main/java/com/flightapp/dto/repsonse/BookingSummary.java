@@ -0,0 +1,21 @@
+package com.flightapp.dto.repsonse;
+
+import com.flightapp.enums.BookingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Short form of a booking for the history list, only what the list shows.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSummary {
+    private String pnr;
+    private String flightId;
+    private BookingStatus status;
+    private Instant createdAt;
+}
@@ -0,0 +1,20 @@
+package com.flightapp.dto.repsonse;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of the bulk booking response stream.
+ * index points back to the position of the request in the uploaded stream,
+ * and either pnr or error is filled.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBookingResult {
+    private long index;
+    private String flightId;
+    private String pnr;
+    private String error;
+}
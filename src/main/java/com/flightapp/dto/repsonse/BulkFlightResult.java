@@ -0,0 +1,20 @@
+package com.flightapp.dto.repsonse;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of the bulk flight upload response stream.
+ * status is CREATED, DUPLICATE, INVALID or FAILED; id is only set for CREATED.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkFlightResult {
+    private long index;
+    private String flightNumber;
+    private String id;
+    private String status;
+    private String error;
+}
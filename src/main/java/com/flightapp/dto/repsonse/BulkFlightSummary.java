@@ -0,0 +1,28 @@
+package com.flightapp.dto.repsonse;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Last line of the bulk flight upload response stream, with totals per status.
+ */
+@Data
+@NoArgsConstructor
+public class BulkFlightSummary {
+    private long received;
+    private long created;
+    private long duplicates;
+    private long invalid;
+    private long failed;
+
+    // I count each result as it streams past so the totals are ready when the upload ends
+    public void count(BulkFlightResult result) {
+        received++;
+        switch (result.getStatus()) {
+            case "CREATED" -> created++;
+            case "DUPLICATE" -> duplicates++;
+            case "INVALID" -> invalid++;
+            default -> failed++;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.flightapp.dto.repsonse;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reply to a cancellation, same json as the map CancelController sends back: {"message": "..."}
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CancelResponse {
+    private String message;
+}
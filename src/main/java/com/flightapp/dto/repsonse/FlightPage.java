@@ -0,0 +1,20 @@
+package com.flightapp.dto.repsonse;
+
+import com.flightapp.model.Flight;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the flight listing.
+ * nextCursor is passed back as ?after= to get the next page, and is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightPage {
+    private List<Flight> flights;
+    private String nextCursor;
+}
@@ -0,0 +1,22 @@
+package com.flightapp.dto.repsonse;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Free seats of one flight, for picking seats before booking.
+ * Seats are numbered from 1, row by row, seatsPerRow to a row.
+ * freeSeats is null for flights stored before seat maps, those are booked by count only.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FlightSeats {
+    private String flightId;
+    private int totalSeats;
+    private int seatsPerRow;
+    private List<Integer> freeSeats;
+}
@@ -0,0 +1,27 @@
+package com.flightapp.dto.repsonse;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A seat hold: confirm it with holdId before expiresAt, after that the seats go back on sale.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SeatHoldResponse {
+    private String holdId;
+    private String flightId;
+    private int seats;
+
+    // the seats held, left out for flights without a seat map
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<Integer> seatNumbers;
+
+    private Instant expiresAt;
+}
@@ -0,0 +1,18 @@
+package com.flightapp.dto.repsonse;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Seats left on one flight, pushed to seat stream clients.
+ * version grows with every change on this node, so a client can tell newer from older values.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatUpdate {
+    private String flightId;
+    private int availableSeats;
+    private long version;
+}
@@ -0,0 +1,27 @@
+package com.flightapp.dto.repsonse;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.flightapp.enums.WaitlistStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Where a waitlisted booking stands. Poll it with the id until status is PROMOTED (pnr and seats
+ * are then filled in) or FAILED (failure says why).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WaitlistResponse {
+    private String id;
+    private String flightId;
+    private int seats;
+    private WaitlistStatus status;
+    private String pnr;
+    private List<Integer> seatNumbers;
+    private String failure;
+}
@@ -27,9 +27,11 @@ public class AddFlightRequest {
     @NotBlank(message = "arrivalDateTime must not be blank")
     private String arrivalDateTime;
 
+    @NotNull(message = "price must not be null")
     @Positive(message = "price must be > 0")
     private Float price;
 
+    @NotNull(message = "totalSeats must not be null")
     @Positive(message = "totalSeats must be > 0")
     private Integer totalSeats;
 
@@ -7,6 +7,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,4 +30,15 @@ public class BookingRequest {
 
     @NotNull(message = "mealPreference must not be null")
     private MealType mealPreference;
+
+    // optional: the seats the customer picked, one per booked seat
+    private List<Integer> seatNumbers;
+
+    // optional: true to fail instead of splitting the group when no block of seats side by side is free
+    private boolean adjacent;
+
+    // a booking without a seat choice
+    public BookingRequest(String flightId, int seats, String name, String email, Gender gender, MealType mealPreference) {
+        this(flightId, seats, name, email, gender, mealPreference, null, false);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.flightapp.dto.request;
+
+import com.flightapp.enums.Gender;
+import com.flightapp.enums.MealType;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Passenger details that turn a seat hold into a booking; flight and seats come from the hold.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldConfirmRequest {
+    @NotBlank(message = "name must not be blank")
+    private String name;
+
+    @Email(message = "email must be valid")
+    private String email;
+
+    @NotNull(message = "gender must not be null")
+    private Gender gender;
+
+    @NotNull(message = "mealPreference must not be null")
+    private MealType mealPreference;
+}
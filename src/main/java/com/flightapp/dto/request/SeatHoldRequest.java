@@ -0,0 +1,32 @@
+package com.flightapp.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Seats to hold while the customer pays. Same seat choice as BookingRequest, no passenger yet.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHoldRequest {
+    @NotBlank(message = "flightId must not be blank")
+    private String flightId;
+
+    @Min(value = 1, message = "seats must be >= 1")
+    private int seats;
+
+    // optional: the seats the customer picked, one per held seat
+    private List<Integer> seatNumbers;
+
+    // optional: true to fail instead of splitting the group when no block of seats side by side is free
+    private boolean adjacent;
+
+    // optional: how long to hold the seats, flightapp.holds.ttl when missing
+    private Integer ttlSeconds;
+}
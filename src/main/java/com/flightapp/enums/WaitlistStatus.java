@@ -0,0 +1,8 @@
+package com.flightapp.enums;
+
+public enum WaitlistStatus {
+    WAITING,
+    PROMOTING,
+    PROMOTED,
+    FAILED
+}
@@ -0,0 +1,21 @@
+package com.flightapp.exception;
+
+/**
+ * A failed business rule with its ErrorCode. It is an expected outcome, not a bug, so it carries
+ * no stack trace: filling one in for every sold-out booking was the main cost of rejecting a request.
+ * Use ErrorCode.exception() for the fixed message, or the constructor when the message has details.
+ */
+public class BusinessException extends RuntimeException {
+
+    private final ErrorCode code;
+
+    public BusinessException(ErrorCode code, String message) {
+        // no cause, no suppressed exceptions, no stack trace
+        super(message, null, false, false);
+        this.code = code;
+    }
+
+    public ErrorCode getCode() {
+        return code;
+    }
+}
@@ -0,0 +1,57 @@
+package com.flightapp.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Stable error codes sent to clients next to the message, as {"code": ..., "message": ...}.
+ * Clients should match on the code; the message is for people and may change.
+ *
+ * Business failures that happen a lot (sold out, unknown flight or pnr, late cancel) have one
+ * preallocated stackless exception per code, see exception(). The http status of each code is the
+ * one these errors already had, so existing clients see no change.
+ */
+public enum ErrorCode {
+
+    // business rules
+    NOT_ENOUGH_SEATS(HttpStatus.BAD_REQUEST, "Not enough seats"),
+    FLIGHT_NOT_FOUND(HttpStatus.NOT_FOUND, "Flight not found"),
+    FLIGHT_EXISTS(HttpStatus.BAD_REQUEST, "flight already exists"),
+    BOOKING_NOT_FOUND(HttpStatus.NOT_FOUND, "PNR not found"),
+    CANCEL_WINDOW_CLOSED(HttpStatus.BAD_REQUEST, "Cannot cancel after 24 hours"),
+    BOOKING_INCOMPLETE(HttpStatus.BAD_REQUEST, "booking createdAt missing"),
+    SEAT_UNAVAILABLE(HttpStatus.BAD_REQUEST, "Seat not available"),
+    NO_ADJACENT_SEATS(HttpStatus.BAD_REQUEST, "Not enough seats together"),
+    SEAT_MAP_BUSY(HttpStatus.CONFLICT, "Seats are changing fast, try again"),
+    WAITLIST_NOT_FOUND(HttpStatus.NOT_FOUND, "Waitlist entry not found"),
+    HOLD_NOT_FOUND(HttpStatus.NOT_FOUND, "Seat hold not found or expired"),
+
+    // everything the handler did not get a BusinessException for
+    VALIDATION_FAILED(HttpStatus.BAD_REQUEST, "validation failed"),
+    BAD_REQUEST(HttpStatus.BAD_REQUEST, "bad request"),
+    NOT_FOUND(HttpStatus.NOT_FOUND, "not found"),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "something went wrong on server");
+
+    private final HttpStatus status;
+    private final String message;
+    private final BusinessException exception;
+
+    ErrorCode(HttpStatus status, String message) {
+        this.status = status;
+        this.message = message;
+        this.exception = new BusinessException(this, message);
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    // the shared instance for this code; it has no stack trace and cannot collect suppressed
+    // exceptions, so handing the same one to every failing request is safe
+    public BusinessException exception() {
+        return exception;
+    }
+}
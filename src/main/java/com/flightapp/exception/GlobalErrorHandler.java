@@ -1,6 +1,10 @@
 package com.flightapp.exception;
 
-import org.springframework.http.HttpStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.FieldError;
@@ -10,18 +14,62 @@ import org.springframework.web.bind.support.WebExchangeBindException;
 import reactor.core.publisher.Mono;
 
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
 
 @ControllerAdvice
 @Component
 public class GlobalErrorHandler {
 
-    // I made this small helper so all error responses look same with status and message
-    private ResponseEntity<Map<String, String>> body(HttpStatus status, String message) {
+    private static final Logger log = LoggerFactory.getLogger(GlobalErrorHandler.class);
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry; // I added this to count how often each kind of error is sent back
+
+    // counters already registered, per outcome and exception type, so an error only looks one up
+    private final Map<CounterKey, Counter> counters = new ConcurrentHashMap<>();
+
+    private record CounterKey(String outcome, Class<?> exception) {
+    }
+
+    // I made this small helper so all error responses look same with status, code and message
+    private ResponseEntity<Map<String, String>> body(ErrorCode code, String message) {
         Map<String, String> m = new HashMap<>();
+        m.put("code", code.name());
         m.put("message", message);
-        return ResponseEntity.status(status).body(m);
+        return ResponseEntity.status(code.getStatus()).body(m);
+    }
+
+    // one counter per outcome, flightapp.errors{outcome, exception}
+    private void count(String outcome, Throwable ex) {
+        if (meterRegistry == null) return;
+        counters.computeIfAbsent(new CounterKey(outcome, ex.getClass()), k -> Counter.builder("flightapp.errors")
+                        .tag("outcome", k.outcome())
+                        .tag("exception", k.exception().getSimpleName())
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    // I added this for the router functions, controller advice only covers annotated controllers
+    // so they hand their errors here and get the same status, body and counters
+    public Mono<ResponseEntity<Map<String, String>>> handle(Throwable ex) {
+        if (ex instanceof BusinessException e) return handleBusiness(e);
+        if (ex instanceof WebExchangeBindException e) return handleBindException(e);
+        if (ex instanceof IllegalArgumentException e) return handleIllegalArg(e);
+        if (ex instanceof IllegalStateException e) return handleIllegalState(e);
+        if (ex instanceof NoSuchElementException e) return handleNotFound(e);
+        if (ex instanceof Exception e) return handleAny(e);
+        // errors (out of memory and the like) are not ours to answer
+        return Mono.error(ex);
+    }
+
+    @ExceptionHandler(BusinessException.class)
+    public Mono<ResponseEntity<Map<String, String>>> handleBusiness(BusinessException ex) {
+        // a broken business rule is a normal answer, so nothing is logged here
+        count(ex.getCode().name().toLowerCase(Locale.ROOT), ex);
+        return Mono.just(body(ex.getCode(), ex.getMessage()));
     }
 
     @ExceptionHandler(WebExchangeBindException.class)
@@ -29,32 +77,38 @@ public class GlobalErrorHandler {
         // I am taking first validation error so user gets simple message
         FieldError fe = ex.getFieldErrors().isEmpty() ? null : ex.getFieldErrors().get(0);
         String msg = fe != null ? fe.getField() + " " + fe.getDefaultMessage() : "validation failed";
-        return Mono.just(body(HttpStatus.BAD_REQUEST, msg));
+        count("validation", ex);
+        return Mono.just(body(ErrorCode.VALIDATION_FAILED, msg));
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
     public Mono<ResponseEntity<Map<String, String>>> handleIllegalArg(IllegalArgumentException ex) {
-        // I am treating illegal argument as bad request
-        return Mono.just(body(HttpStatus.BAD_REQUEST, ex.getMessage()));
+        // I am treating illegal argument as bad request, these come from checks on the request data
+        count("bad_request", ex);
+        return Mono.just(body(ErrorCode.VALIDATION_FAILED, ex.getMessage()));
     }
 
     @ExceptionHandler(IllegalStateException.class)
     public Mono<ResponseEntity<Map<String, String>>> handleIllegalState(IllegalStateException ex) {
         // I am treating illegal state also as bad request
-        return Mono.just(body(HttpStatus.BAD_REQUEST, ex.getMessage()));
+        count("rejected", ex);
+        return Mono.just(body(ErrorCode.BAD_REQUEST, ex.getMessage()));
     }
 
     @ExceptionHandler(NoSuchElementException.class)
     public Mono<ResponseEntity<Map<String, String>>> handleNotFound(NoSuchElementException ex) {
         // I am returning not found when service cannot find the data
-        return Mono.just(body(HttpStatus.NOT_FOUND, ex.getMessage()));
+        count("not_found", ex);
+        return Mono.just(body(ErrorCode.NOT_FOUND, ex.getMessage()));
     }
 
     @ExceptionHandler(Exception.class)
     public Mono<ResponseEntity<Map<String, String>>> handleAny(Exception ex) {
-        // I am printing this so developer can see error in console
-        ex.printStackTrace();
+        // logged through slf4j; the console appender is async (logback-spring.xml) so this never
+        // blocks the event loop on a stderr write
+        log.error("unhandled error", ex);
+        count("server_error", ex);
         // sending a simple message so user does not see internal details
-        return Mono.just(body(HttpStatus.INTERNAL_SERVER_ERROR, "something went wrong on server"));
+        return Mono.just(body(ErrorCode.INTERNAL_ERROR, ErrorCode.INTERNAL_ERROR.getMessage()));
     }
-}
\ No newline at end of file
+}
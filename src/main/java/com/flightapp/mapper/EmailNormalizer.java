@@ -0,0 +1,17 @@
+package com.flightapp.mapper;
+
+import java.util.Locale;
+
+/**
+ * One spelling per email address, so "Ravi@X.com " and "ravi@x.com" are the same traveller.
+ * Used when a booking is stored and when history is looked up.
+ */
+public final class EmailNormalizer {
+
+    private EmailNormalizer() {
+    }
+
+    public static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
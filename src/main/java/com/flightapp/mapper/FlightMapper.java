@@ -0,0 +1,49 @@
+package com.flightapp.mapper;
+
+import com.flightapp.dto.request.AddFlightRequest;
+import com.flightapp.model.Flight;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Turns an add-flight request into a Flight document.
+ * Shared by the single add endpoint and the bulk upload so both apply the same rules.
+ */
+public final class FlightMapper {
+
+    private FlightMapper() {
+    }
+
+    public static Flight toFlight(AddFlightRequest req) {
+        // I am checking that arrival time should be after departure time
+        if (req.getDepartureDateTime() == null || req.getArrivalDateTime() == null) {
+            throw new IllegalArgumentException("invalid departure/arrival datetime");
+        }
+        Instant dep;
+        Instant arr;
+        try {
+            dep = Instant.parse(req.getDepartureDateTime());
+            arr = Instant.parse(req.getArrivalDateTime());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("invalid departure/arrival datetime");
+        }
+        if (!arr.isAfter(dep)) {
+            throw new IllegalArgumentException("arrival must be after departure");
+        }
+
+        // I am creating flight object and copying all fields into it
+        Flight f = new Flight();
+        f.setAirline(req.getAirline());
+        f.setFlightNumber(req.getFlightNumber());
+        f.setFromPlace(req.getFromPlace());
+        f.setToPlace(req.getToPlace());
+        f.setDepartureDateTime(dep); // parsed once here, stored as a date from now on
+        f.setArrivalDateTime(arr);
+        f.setPrice(req.getPrice());
+        f.setTotalSeats(req.getTotalSeats());
+        f.setAvailableSeats(req.getTotalSeats()); // I set available seats same as total in start
+        f.setAircraft(req.getAircraft());
+        return f;
+    }
+}
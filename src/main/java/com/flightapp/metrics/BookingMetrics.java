@@ -0,0 +1,57 @@
+package com.flightapp.metrics;
+
+import com.flightapp.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts booking and cancel outcomes so success rates and rejection reasons can be graphed:
+ * flightapp.bookings{outcome} and flightapp.cancels{outcome}.
+ * Without a meter registry (plain unit tests) every call does nothing.
+ */
+@Component
+public class BookingMetrics {
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry; // I added this so the counters show up in /actuator/prometheus
+
+    // counters already registered, per outcome, so a booking only looks one up
+    private final Map<String, Counter> bookings = new ConcurrentHashMap<>();
+    private final Map<String, Counter> cancels = new ConcurrentHashMap<>();
+
+    // wraps a booking so its outcome is counted once it finishes
+    public <T> Mono<T> booking(Mono<T> booking) {
+        return booking
+                .doOnSuccess(r -> count(bookings, "flightapp.bookings", "booked"))
+                .doOnError(err -> count(bookings, "flightapp.bookings", bookingFailure(err)));
+    }
+
+    // cancelled, already_cancelled, not_found, too_late or invalid
+    public void cancel(String outcome) {
+        count(cancels, "flightapp.cancels", outcome);
+    }
+
+    private void count(Map<String, Counter> counters, String name, String outcome) {
+        if (meterRegistry == null) return;
+        counters.computeIfAbsent(outcome, o -> Counter.builder(name)
+                        .tag("outcome", o)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    // the error code for business failures (not_enough_seats, flight_not_found ...)
+    private static String bookingFailure(Throwable err) {
+        if (err instanceof BusinessException be) return be.getCode().name().toLowerCase(Locale.ROOT);
+        if (err instanceof IllegalArgumentException) return "invalid";
+        if (err instanceof DuplicateKeyException) return "pnr_clash";
+        return "error";
+    }
+}
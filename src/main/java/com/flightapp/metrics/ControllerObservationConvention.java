@@ -0,0 +1,34 @@
+package com.flightapp.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.reactive.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+
+/**
+ * Adds a controller tag to the http.server.requests timer, so latency can be split by
+ * FlightController, BookingController and CancelController without listing their uris.
+ * Requests served by router functions (flightapp.routes.functional) get "router", the rest
+ * that did not reach a handler (404s) get "none".
+ */
+@Component
+public class ControllerObservationConvention extends DefaultServerRequestObservationConvention {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        Object handler = context.getAttributes().get(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        String controller;
+        if (handler instanceof HandlerMethod method) {
+            controller = method.getBeanType().getSimpleName();
+        } else if (handler instanceof HandlerFunction) {
+            controller = "router";
+        } else {
+            controller = "none";
+        }
+        return super.getLowCardinalityKeyValues(context).and(KeyValue.of("controller", controller));
+    }
+}
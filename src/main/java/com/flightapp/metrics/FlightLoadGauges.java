@@ -0,0 +1,71 @@
+package com.flightapp.metrics;
+
+import com.flightapp.service.SeatInventory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * flightapp.flight.load.factor{flight}: share of seats sold (0..1) per flight, read from the
+ * in-memory seat counters. Only the fullest flights are published so the series count stays
+ * bounded; a flight that drops out of the top list disappears from the scrape.
+ * With flightapp.inventory.enabled=false there are no counters and so no gauges.
+ */
+@Component
+public class FlightLoadGauges {
+
+    @Autowired
+    private SeatInventory seatInventory; // I added this to read the live seat counts
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry; // I added this to register the gauges
+
+    @Value("${flightapp.metrics.load-factor.top-flights:100}")
+    private int topFlights;
+
+    @Value("${flightapp.metrics.load-factor.refresh:15s}")
+    private Duration refreshInterval;
+
+    private MultiGauge gauge;
+    private volatile Disposable refresher;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (meterRegistry == null || topFlights <= 0) return;
+
+        gauge = MultiGauge.builder("flightapp.flight.load.factor")
+                .description("share of seats sold, for the fullest flights")
+                .register(meterRegistry);
+        refresher = Flux.interval(Duration.ZERO, refreshInterval)
+                .onBackpressureDrop()
+                .subscribe(tick -> refresh());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.dispose();
+        }
+    }
+
+    void refresh() {
+        List<MultiGauge.Row<?>> rows = seatInventory.loadFactors().entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .limit(topFlights)
+                .<MultiGauge.Row<?>>map(e -> MultiGauge.Row.of(Tags.of("flight", e.getKey()), e.getValue()))
+                .toList();
+        gauge.register(rows, true);
+    }
+}
@@ -0,0 +1,54 @@
+package com.flightapp.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Scannable;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor metrics (executor.active, executor.queued, executor.completed ...) for the Reactor
+ * schedulers, tagged with the scheduler name. Shows when boundedElastic or parallel work queues up.
+ * Only schedulers created after startup are covered; the shared ones are created lazily on first use.
+ */
+@Component
+public class ReactorSchedulerMetrics {
+
+    private static final String DECORATOR_KEY = "flightapp.scheduler.metrics";
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry; // I added this to register the executor meters
+
+    @Value("${flightapp.metrics.reactor-schedulers.enabled:true}")
+    private boolean enabled;
+
+    // one executor per worker, so every scheduler numbers its executors
+    private final Map<String, AtomicInteger> executorIds = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        if (!enabled || meterRegistry == null) return;
+
+        Schedulers.addExecutorServiceDecorator(DECORATOR_KEY, (scheduler, executor) -> {
+            String schedulerName = Scannable.from(scheduler)
+                    .scanOrDefault(Scannable.Attr.NAME, scheduler.getClass().getSimpleName());
+            int id = executorIds.computeIfAbsent(schedulerName, k -> new AtomicInteger()).getAndIncrement();
+            return ExecutorServiceMetrics.monitor(meterRegistry, executor, schedulerName + "-" + id,
+                    Tags.of("reactor.scheduler", schedulerName));
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        Schedulers.removeExecutorServiceDecorator(DECORATOR_KEY);
+    }
+}
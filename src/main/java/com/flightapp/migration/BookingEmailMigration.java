@@ -0,0 +1,69 @@
+package com.flightapp.migration;
+
+import com.flightapp.mapper.EmailNormalizer;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Rewrites the email of old bookings to the trimmed lower case form new bookings are stored with,
+ * so history lookups by the normalized email find them.
+ * Streams only documents with an upper case letter or surrounding spaces, and writes them back
+ * in unordered bulk batches. Safe to run on every startup: a fixed document no longer matches.
+ */
+@Component
+public class BookingEmailMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingEmailMigration.class);
+
+    private static final String EMAIL = "email";
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Value("${flightapp.migration.booking-emails.enabled:true}")
+    private boolean enabled;
+
+    @Value("${flightapp.migration.booking-emails.batch-size:500}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!enabled) return;
+        migrate().subscribe(
+                n -> { if (n > 0) log.info("normalized email of {} bookings", n); },
+                err -> log.warn("booking email migration failed, it will retry on next start", err));
+    }
+
+    // gives back how many documents were changed
+    public Mono<Long> migrate() {
+        Bson notNormalized = Filters.regex(EMAIL, "[A-Z]|^\\s|\\s$");
+
+        return mongoTemplate.getCollection("bookings").flatMap(bookings ->
+                Flux.from(bookings.find(notNormalized)
+                                .projection(Projections.include(EMAIL))
+                                .batchSize(batchSize))
+                        .<WriteModel<Document>>map(doc -> new UpdateOneModel<>(
+                                Filters.eq("_id", doc.get("_id")),
+                                Updates.set(EMAIL, EmailNormalizer.normalize(doc.getString(EMAIL)))))
+                        .buffer(batchSize)
+                        .concatMap(batch -> Mono.from(bookings.bulkWrite(batch, new BulkWriteOptions().ordered(false))))
+                        .map(result -> (long) result.getModifiedCount())
+                        .reduce(0L, Long::sum));
+    }
+}
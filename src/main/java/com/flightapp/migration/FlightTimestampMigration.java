@@ -0,0 +1,93 @@
+package com.flightapp.migration;
+
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Converts departureDateTime / arrivalDateTime of old flight documents from ISO strings to mongo dates.
+ * Streams only the documents that still have a string, and writes them back in unordered bulk batches.
+ * Safe to run on every startup: once converted a document no longer matches the filter.
+ */
+@Component
+public class FlightTimestampMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightTimestampMigration.class);
+
+    private static final String DEPARTURE = "departureDateTime";
+    private static final String ARRIVAL = "arrivalDateTime";
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Value("${flightapp.migration.flight-timestamps.enabled:true}")
+    private boolean enabled;
+
+    @Value("${flightapp.migration.flight-timestamps.batch-size:500}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!enabled) return;
+        migrate().subscribe(
+                n -> { if (n > 0) log.info("converted timestamps of {} flights", n); },
+                err -> log.warn("flight timestamp migration failed, it will retry on next start", err));
+    }
+
+    // gives back how many documents were changed
+    public Mono<Long> migrate() {
+        Bson stillString = Filters.or(Filters.type(DEPARTURE, BsonType.STRING), Filters.type(ARRIVAL, BsonType.STRING));
+
+        return mongoTemplate.getCollection("flights").flatMap(flights ->
+                Flux.from(flights.find(stillString)
+                                .projection(Projections.include(DEPARTURE, ARRIVAL))
+                                .batchSize(batchSize))
+                        .<WriteModel<Document>>handle((doc, sink) -> {
+                            WriteModel<Document> update = toUpdate(doc);
+                            if (update != null) sink.next(update);
+                        })
+                        .buffer(batchSize)
+                        .concatMap(batch -> Mono.from(flights.bulkWrite(batch, new BulkWriteOptions().ordered(false))))
+                        .map(result -> (long) result.getModifiedCount())
+                        .reduce(0L, Long::sum));
+    }
+
+    private WriteModel<Document> toUpdate(Document doc) {
+        List<Bson> sets = new ArrayList<>(2);
+        try {
+            for (String field : new String[]{DEPARTURE, ARRIVAL}) {
+                Object value = doc.get(field);
+                if (value instanceof String iso) {
+                    sets.add(Updates.set(field, Date.from(Instant.parse(iso))));
+                }
+            }
+        } catch (DateTimeParseException e) {
+            // I am leaving a broken value as it is so one bad document does not stop the batch
+            log.warn("flight {} has an unreadable timestamp, skipped", doc.get("_id"));
+            return null;
+        }
+        return sets.isEmpty() ? null : new UpdateOneModel<>(Filters.eq("_id", doc.get("_id")), Updates.combine(sets));
+    }
+}
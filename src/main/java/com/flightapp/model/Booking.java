@@ -8,9 +8,12 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
+import java.util.List;
 
 /**
  * Booking document stored in Mongo.
@@ -20,21 +23,26 @@ import java.time.Instant;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "bookings")
+// booking history: one email, newest first, paged by _id
+@CompoundIndex(name = "email_history_idx", def = "{'email': 1, '_id': -1}")
 public class Booking {
     @Id
     private String id;        // internal Mongo id
 
-    private String pnr;      // generated PNR (returned to client)
+    @Indexed(unique = true)
+    private String pnr;      // generated PNR (returned to client), unique in mongo
     private String flightId; // reference to flight.id
     private int seatsBooked;
+    private List<Integer> seatNumbers; // seats given to this booking, null for bookings made without a seat map
 
     // passenger info captured at booking time
     private String name;
-    private String email;
+    private String email;    // stored trimmed and lower case, see EmailNormalizer
     private Gender gender;
     private MealType mealPreference;
-    private BookingStatus status;   // new field
+    private BookingStatus status;   // BOOKED, then CANCELLED; cancelled bookings are kept for history
 
 
     private Instant createdAt;
+    private Instant cancelledAt;    // set together with status CANCELLED
 }
@@ -1,28 +1,50 @@
 
 package com.flightapp.model;
 // lombok imports
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Document(collection="flights")
+// route search filters on from/to and a departure window, sorted by departure or by price
+@CompoundIndexes({
+        @CompoundIndex(name = "route_departure_idx", def = "{'fromPlace': 1, 'toPlace': 1, 'departureDateTime': 1}"),
+        @CompoundIndex(name = "route_price_idx", def = "{'fromPlace': 1, 'toPlace': 1, 'price': 1}")
+})
 public class Flight {
     @Id
     private String id;
 
     private String airline;       // airline name
-    private String flightNumber;  // unique flight number
+    @Indexed(unique = true)
+    private String flightNumber;  // unique flight number, enforced by mongo
     private String fromPlace;
     private String toPlace;
-    private String departureDateTime; // ISO string for now
-    private String arrivalDateTime;
+    private Instant departureDateTime; // stored as a mongo date so time windows are index range scans
+    private Instant arrivalDateTime;
     private float price; // use float as requested
     private int totalSeats;
     private int availableSeats;
+    // bumped on every availableSeats write, so a seat count event that arrives late can be told from a newer one
+    @JsonIgnore
+    private long seatsVersion;
     private String aircraft;
+
+    // taken seats as a bitset, see SeatMap; null on flights stored before seat maps, which are booked by count only
+    @JsonIgnore
+    private byte[] seatMap;
+    // bumped on every seat map write; the compare-and-set guard when the seat inventory is off
+    @JsonIgnore
+    private long seatMapVersion;
 }
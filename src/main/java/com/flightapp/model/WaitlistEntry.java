@@ -0,0 +1,48 @@
+package com.flightapp.model;
+
+import com.flightapp.enums.Gender;
+import com.flightapp.enums.MealType;
+import com.flightapp.enums.WaitlistStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A booking waiting for seats on a full flight, stored in Mongo.
+ * Entries of one flight are served oldest first; the id is an ObjectId made when the entry is
+ * added, so id order is join order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "waitlist")
+// the queue of one flight: waiting entries in join order, straight from the index
+@CompoundIndex(name = "flight_queue_idx", def = "{'flightId': 1, 'status': 1, '_id': 1}")
+public class WaitlistEntry {
+    @Id
+    private String id;
+
+    private String flightId;
+    private int seats;
+    private boolean adjacent;   // only take seats side by side, like BookingRequest.adjacent
+
+    // passenger info, copied into the booking on promotion
+    private String name;
+    private String email;       // stored trimmed and lower case, see EmailNormalizer
+    private Gender gender;
+    private MealType mealPreference;
+
+    private WaitlistStatus status;  // WAITING, PROMOTING while a booking is being made, then PROMOTED or FAILED
+    private String pnr;             // the booking made on promotion
+    private List<Integer> seatNumbers;
+    private String failure;         // why the entry could not be booked, set with FAILED
+
+    private Instant createdAt;
+    private Instant promotedAt;
+}
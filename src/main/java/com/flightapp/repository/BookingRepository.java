@@ -2,15 +2,17 @@
 package com.flightapp.repository;
 
 import com.flightapp.model.Booking;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface BookingRepository extends ReactiveMongoRepository<Booking, String> {
+public interface BookingRepository extends ReactiveMongoRepository<Booking, String>, BookingRepositoryCustom {
 
     // find a booking by PNR (unique)
     Mono<Booking> findByPnr(String pnr);
 
-    // find bookings by email (possibly many)
-    Flux<Booking> findByEmail(String email);
+    // every pnr and nothing else, used to fill the bloom filter at startup
+    @Query(value = "{}", fields = "{ 'pnr': 1 }")
+    Flux<Booking> streamPnrs();
 }
@@ -0,0 +1,19 @@
+package com.flightapp.repository;
+
+import com.flightapp.model.Booking;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+// booking status changes that must run as one atomic operation on the mongo side
+public interface BookingRepositoryCustom {
+
+    // flips a booking made at or after createdAfter to CANCELLED, gives back the cancelled booking,
+    // or empty when the pnr is unknown, already cancelled or too old
+    Mono<Booking> cancelIfActive(String pnr, Instant createdAfter, Instant cancelledAt);
+
+    // up to limit bookings of one email with id less than beforeId (or the newest when null), newest first.
+    // only id, pnr, flightId, status and createdAt are filled in
+    Flux<Booking> findHistoryPage(String email, String beforeId, int limit);
+}
@@ -0,0 +1,54 @@
+package com.flightapp.repository;
+
+import com.flightapp.enums.BookingStatus;
+import com.flightapp.model.Booking;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Cancel done as a single findAndModify: the status check, the 24 hour rule and the
+ * status change are all decided by mongo in one step, so two cancels of the same pnr
+ * can never both succeed. Also the keyset paged, projected booking history.
+ */
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "id");
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate; // I added this because the derived queries cannot do findAndModify
+
+    @Override
+    public Mono<Booking> cancelIfActive(String pnr, Instant createdAfter, Instant cancelledAt) {
+        // "not CANCELLED" instead of "BOOKED" so old bookings saved without a status can still be cancelled
+        Query query = Query.query(Criteria.where("pnr").is(pnr)
+                .and("status").ne(BookingStatus.CANCELLED)
+                .and("createdAt").gte(createdAfter));
+        Update update = new Update()
+                .set("status", BookingStatus.CANCELLED)
+                .set("cancelledAt", cancelledAt);
+        return mongoTemplate.findAndModify(query, update, RETURN_NEW, Booking.class);
+    }
+
+    @Override
+    public Flux<Booking> findHistoryPage(String email, String beforeId, int limit) {
+        // email equality plus _id range and sort all come from the {email: 1, _id: -1} index,
+        // so any page costs the same and mongo never sorts in memory
+        Query query = Query.query(Criteria.where("email").is(email));
+        if (beforeId != null) {
+            query.addCriteria(Criteria.where("id").lt(beforeId));
+        }
+        query.with(NEWEST_FIRST).limit(limit);
+        query.fields().include("pnr", "flightId", "status", "createdAt");
+        return mongoTemplate.find(query, Booking.class);
+    }
+}
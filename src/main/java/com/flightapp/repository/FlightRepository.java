@@ -2,10 +2,22 @@
 package com.flightapp.repository;
 
 import com.flightapp.model.Flight;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 // simple reactive repo for flights
-public interface FlightRepository extends ReactiveMongoRepository<Flight, String> {
+public interface FlightRepository extends ReactiveMongoRepository<Flight, String>, FlightRepositoryCustom {
     Mono<Flight> findByFlightNumber(String flightNo);
+
+    // one $in query for a whole chunk of a bulk upload, only the flight number comes back
+    @Query(value = "{ 'flightNumber': { $in: ?0 } }", fields = "{ 'flightNumber': 1 }")
+    Flux<Flight> findFlightNumbersIn(Collection<String> flightNumbers);
+
+    // every flight number and nothing else, used to fill the bloom filter at startup
+    @Query(value = "{}", fields = "{ 'flightNumber': 1 }")
+    Flux<Flight> streamFlightNumbers();
 }
@@ -0,0 +1,33 @@
+package com.flightapp.repository;
+
+import com.flightapp.model.Flight;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import reactor.core.publisher.Mono;
+
+// seat updates that must run as one atomic operation on the mongo side
+public interface FlightRepositoryCustom {
+
+    // takes seats only when enough are left, gives back the updated flight or empty
+    Mono<Flight> decrementSeats(String flightId, int seats);
+
+    // puts seats back, gives back the updated flight or empty when flight is missing
+    Mono<Flight> incrementSeats(String flightId, int seats);
+
+    // writes the seat map as it is now, for the write-behind flush
+    Mono<Boolean> saveSeatMap(String flightId, byte[] seatMap);
+
+    // writes the seat map only if nobody wrote it since expectedVersion was read; false when someone did
+    Mono<Boolean> compareAndSetSeatMap(String flightId, long expectedVersion, byte[] seatMap);
+
+    // up to limit flights with id greater than afterId (or from the start when null), in id order
+    Flux<Flight> findPageAfter(String afterId, int limit);
+
+    // every flight in id order, fetched from the server batchSize documents at a time
+    Flux<Flight> streamAll(int batchSize);
+
+    // flights on one route departing inside [departAfter, departBefore], sorted by "price" or "departure"
+    Flux<Flight> searchRoute(String fromPlace, String toPlace, Instant departAfter, Instant departBefore,
+                             String sortBy, int limit);
+}
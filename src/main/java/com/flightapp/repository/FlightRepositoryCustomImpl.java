@@ -0,0 +1,103 @@
+package com.flightapp.repository;
+
+import com.flightapp.model.Flight;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Seat counter updates done with a single findAndModify so two bookings
+ * on the same flight can never overwrite each other, seat map writes guarded
+ * by a version, plus the _id ordered reads used for keyset paging and streaming.
+ */
+public class FlightRepositoryCustomImpl implements FlightRepositoryCustom {
+
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+    private static final Sort BY_ID = Sort.by(Sort.Direction.ASC, "id");
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate; // I added this because the derived queries cannot do $inc
+
+    @Override
+    public Mono<Flight> decrementSeats(String flightId, int seats) {
+        // I am guarding on availableSeats >= seats inside the same update so mongo decides it atomically
+        Query query = Query.query(Criteria.where("id").is(flightId).and("availableSeats").gte(seats));
+        Update update = new Update().inc("availableSeats", -seats).inc("seatsVersion", 1L);
+        return mongoTemplate.findAndModify(query, update, RETURN_NEW, Flight.class);
+    }
+
+    @Override
+    public Mono<Flight> incrementSeats(String flightId, int seats) {
+        Query query = Query.query(Criteria.where("id").is(flightId));
+        Update update = new Update().inc("availableSeats", seats).inc("seatsVersion", 1L);
+        return mongoTemplate.findAndModify(query, update, RETURN_NEW, Flight.class);
+    }
+
+    @Override
+    public Mono<Boolean> saveSeatMap(String flightId, byte[] seatMap) {
+        Query query = Query.query(Criteria.where("id").is(flightId));
+        Update update = new Update().set("seatMap", seatMap).inc("seatMapVersion", 1);
+        return mongoTemplate.updateFirst(query, update, Flight.class)
+                .map(result -> result.getMatchedCount() > 0);
+    }
+
+    @Override
+    public Mono<Boolean> compareAndSetSeatMap(String flightId, long expectedVersion, byte[] seatMap) {
+        // the version in the filter makes this a compare-and-set: a writer that read an older map matches nothing.
+        // flights saved before seat maps have no version field, which reads as 0
+        Criteria version = expectedVersion == 0
+                ? Criteria.where("seatMapVersion").in(0L, null)
+                : Criteria.where("seatMapVersion").is(expectedVersion);
+        Query query = Query.query(Criteria.where("id").is(flightId).andOperator(version));
+        Update update = new Update().set("seatMap", seatMap).inc("seatMapVersion", 1);
+        return mongoTemplate.updateFirst(query, update, Flight.class)
+                .map(result -> result.getModifiedCount() > 0);
+    }
+
+    @Override
+    public Flux<Flight> findPageAfter(String afterId, int limit) {
+        // keyset paging: _id > cursor walks the _id index, so page 1000 costs the same as page 1
+        Query query = new Query();
+        if (afterId != null) {
+            query.addCriteria(Criteria.where("id").gt(afterId));
+        }
+        query.with(BY_ID).limit(limit);
+        return mongoTemplate.find(query, Flight.class);
+    }
+
+    @Override
+    public Flux<Flight> streamAll(int batchSize) {
+        Query query = new Query().with(BY_ID).cursorBatchSize(batchSize);
+        return mongoTemplate.find(query, Flight.class);
+    }
+
+    @Override
+    public Flux<Flight> searchRoute(String fromPlace, String toPlace, Instant departAfter, Instant departBefore,
+                                    String sortBy, int limit) {
+        return mongoTemplate.find(routeQuery(fromPlace, toPlace, departAfter, departBefore, sortBy, limit), Flight.class);
+    }
+
+    // kept separate so the explain-plan test can check the exact same query
+    static Query routeQuery(String fromPlace, String toPlace, Instant departAfter, Instant departBefore,
+                            String sortBy, int limit) {
+        // equality on from/to first, then the range on departure, which is the order of route_departure_idx
+        Criteria criteria = Criteria.where("fromPlace").is(fromPlace).and("toPlace").is(toPlace);
+        if (departAfter != null || departBefore != null) {
+            Criteria window = criteria.and("departureDateTime");
+            if (departAfter != null) window.gte(departAfter);
+            if (departBefore != null) window.lte(departBefore);
+        }
+        Sort sort = "price".equals(sortBy)
+                ? Sort.by("price").and(Sort.by("departureDateTime"))
+                : Sort.by("departureDateTime");
+        return Query.query(criteria).with(sort).limit(limit);
+    }
+}
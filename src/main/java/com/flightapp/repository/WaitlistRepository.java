@@ -0,0 +1,7 @@
+package com.flightapp.repository;
+
+import com.flightapp.model.WaitlistEntry;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface WaitlistRepository extends ReactiveMongoRepository<WaitlistEntry, String>, WaitlistRepositoryCustom {
+}
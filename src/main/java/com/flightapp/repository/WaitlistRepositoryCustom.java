@@ -0,0 +1,28 @@
+package com.flightapp.repository;
+
+import com.flightapp.model.WaitlistEntry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+// waitlist queue reads and status changes; every change checks the current status so two nodes
+// can never promote the same entry
+public interface WaitlistRepositoryCustom {
+
+    // up to limit WAITING entries of one flight, oldest first
+    Flux<WaitlistEntry> findWaiting(String flightId, int limit);
+
+    // WAITING -> PROMOTING, true when this caller got the entry
+    Mono<Boolean> claim(String id);
+
+    // PROMOTING -> WAITING, for an entry that has to wait for more seats
+    Mono<Boolean> unclaim(String id);
+
+    // PROMOTING -> PROMOTED with the booking that was made
+    Mono<Boolean> markPromoted(String id, String pnr, List<Integer> seatNumbers, Instant promotedAt);
+
+    // PROMOTING -> FAILED, for an entry that can never be booked
+    Mono<Boolean> markFailed(String id, String failure);
+}
@@ -0,0 +1,69 @@
+package com.flightapp.repository;
+
+import com.flightapp.enums.WaitlistStatus;
+import com.flightapp.model.WaitlistEntry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Status changes are single updateFirst calls filtered on the status they leave, so mongo decides
+ * which node gets an entry. The queue read is served by the {flightId, status, _id} index.
+ */
+public class WaitlistRepositoryCustomImpl implements WaitlistRepositoryCustom {
+
+    private static final Sort OLDEST_FIRST = Sort.by(Sort.Direction.ASC, "id");
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate; // I added this because the derived queries cannot do conditional updates
+
+    @Override
+    public Flux<WaitlistEntry> findWaiting(String flightId, int limit) {
+        Query query = Query.query(Criteria.where("flightId").is(flightId)
+                .and("status").is(WaitlistStatus.WAITING));
+        query.with(OLDEST_FIRST).limit(limit);
+        return mongoTemplate.find(query, WaitlistEntry.class);
+    }
+
+    @Override
+    public Mono<Boolean> claim(String id) {
+        return move(id, WaitlistStatus.WAITING, new Update().set("status", WaitlistStatus.PROMOTING));
+    }
+
+    @Override
+    public Mono<Boolean> unclaim(String id) {
+        return move(id, WaitlistStatus.PROMOTING, new Update().set("status", WaitlistStatus.WAITING));
+    }
+
+    @Override
+    public Mono<Boolean> markPromoted(String id, String pnr, List<Integer> seatNumbers, Instant promotedAt) {
+        Update update = new Update()
+                .set("status", WaitlistStatus.PROMOTED)
+                .set("pnr", pnr)
+                .set("seatNumbers", seatNumbers)
+                .set("promotedAt", promotedAt);
+        return move(id, WaitlistStatus.PROMOTING, update);
+    }
+
+    @Override
+    public Mono<Boolean> markFailed(String id, String failure) {
+        Update update = new Update()
+                .set("status", WaitlistStatus.FAILED)
+                .set("failure", failure);
+        return move(id, WaitlistStatus.PROMOTING, update);
+    }
+
+    private Mono<Boolean> move(String id, WaitlistStatus from, Update update) {
+        Query query = Query.query(Criteria.where("id").is(id).and("status").is(from));
+        return mongoTemplate.updateFirst(query, update, WaitlistEntry.class)
+                .map(result -> result.getModifiedCount() > 0);
+    }
+}
@@ -0,0 +1,118 @@
+package com.flightapp.router;
+
+import com.flightapp.dto.repsonse.CancelResponse;
+import com.flightapp.dto.request.BookingRequest;
+import com.flightapp.exception.ErrorCode;
+import com.flightapp.exception.GlobalErrorHandler;
+import com.flightapp.service.BookingService;
+import com.flightapp.service.CancelService;
+import com.flightapp.service.FlightService;
+import com.flightapp.validation.RequestValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Handler functions behind InventoryRouter: booking, booking lookup, cancel and flight lookup.
+ * They do what BookingController, CancelController and FlightController do for the same paths,
+ * but write the result object straight into the response, with no argument resolvers and no maps.
+ * Controller advice does not cover router functions, so errors go through GlobalErrorHandler.handle
+ * and come back with the same status and body as from the controllers.
+ */
+@Component
+@ConditionalOnProperty(name = "flightapp.routes.functional", havingValue = "true")
+public class InventoryHandler {
+
+    @Autowired
+    private FlightService flightService; // I added this for booking and flight lookups
+
+    @Autowired
+    private BookingService bookingService; // I added this to fetch bookings by pnr
+
+    @Autowired
+    private CancelService cancelService; // I added this for cancellations
+
+    @Autowired
+    private RequestValidator requestValidator; // I added this to turn away bad requests before any service call
+
+    @Autowired
+    private GlobalErrorHandler errorHandler; // I added this so errors look the same as from the controllers
+
+    // POST /book
+    public Mono<ServerResponse> book(ServerRequest request) {
+        return request.bodyToMono(BookingRequest.class)
+                .flatMap(req -> {
+                    String error = requestValidator.check(req);
+                    if (error != null) {
+                        return Mono.<ServerResponse>error(new IllegalArgumentException(error));
+                    }
+                    return flightService.bookTicket(
+                                    req.getFlightId(),
+                                    req.getSeats(),
+                                    req.getName(),
+                                    req.getEmail(),
+                                    req.getGender(),
+                                    req.getMealPreference(),
+                                    req.getSeatNumbers(),
+                                    req.isAdjacent())
+                            .flatMap(booked -> json(HttpStatus.CREATED).bodyValue(booked));
+                })
+                // an empty body never reaches flatMap, the validator has the message for it
+                .switchIfEmpty(Mono.defer(() -> Mono.error(
+                        new IllegalArgumentException(requestValidator.check((BookingRequest) null)))))
+                .onErrorResume(this::error);
+    }
+
+    // GET /booking/{pnr}
+    public Mono<ServerResponse> getBooking(ServerRequest request) {
+        return bookingService.getBookingByPnr(request.pathVariable("pnr"))
+                .switchIfEmpty(Mono.error(ErrorCode.BOOKING_NOT_FOUND.exception()))
+                .flatMap(booking -> json(HttpStatus.OK).bodyValue(booking))
+                .onErrorResume(this::error);
+    }
+
+    // DELETE /booking/{pnr}
+    public Mono<ServerResponse> cancel(ServerRequest request) {
+        String pnr = request.pathVariable("pnr");
+        if (!isValidPnr(pnr)) {
+            return error(new IllegalArgumentException("Invalid PNR"));
+        }
+        return cancelService.cancelBooking(pnr)
+                .flatMap(msg -> json(HttpStatus.OK).bodyValue(new CancelResponse(msg)))
+                .onErrorResume(this::error);
+    }
+
+    // GET /{id}
+    public Mono<ServerResponse> getFlight(ServerRequest request) {
+        return flightService.getFlightById(request.pathVariable("id"))
+                .switchIfEmpty(Mono.error(ErrorCode.FLIGHT_NOT_FOUND.exception()))
+                .flatMap(flight -> json(HttpStatus.OK).bodyValue(flight))
+                .onErrorResume(this::error);
+    }
+
+    private static ServerResponse.BodyBuilder json(HttpStatus status) {
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON);
+    }
+
+    private Mono<ServerResponse> error(Throwable ex) {
+        return errorHandler.handle(ex)
+                .flatMap(e -> ServerResponse.status(e.getStatusCode())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(e.getBody()));
+    }
+
+    // same rule as CancelController (^[A-Z0-9\-]{3,20}$) without building a regex matcher per call
+    static boolean isValidPnr(String pnr) {
+        if (pnr == null || pnr.length() < 3 || pnr.length() > 20) return false;
+        for (int i = 0; i < pnr.length(); i++) {
+            char c = pnr.charAt(i);
+            if (!((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-')) return false;
+        }
+        return true;
+    }
+}
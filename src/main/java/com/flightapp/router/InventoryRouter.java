@@ -0,0 +1,35 @@
+package com.flightapp.router;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.DELETE;
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RequestPredicates.path;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Functional routes for the busiest inventory endpoints, switched on with flightapp.routes.functional=true.
+ * Router functions are matched before request mappings, so these paths are served by InventoryHandler
+ * and the controller methods for them stay idle; every other endpoint still goes to the controllers.
+ * RoutingBenchmark compares the two.
+ */
+@Configuration
+@ConditionalOnProperty(name = "flightapp.routes.functional", havingValue = "true")
+public class InventoryRouter {
+
+    static final String BASE = "/api/flight/airline/inventory";
+
+    @Bean
+    public RouterFunction<ServerResponse> inventoryRoutes(InventoryHandler handler) {
+        return route(POST(BASE + "/book"), handler::book)
+                .andRoute(GET(BASE + "/booking/{pnr}"), handler::getBooking)
+                .andRoute(DELETE(BASE + "/booking/{pnr}"), handler::cancel)
+                // /search is a FlightController endpoint that /{id} would otherwise swallow
+                .andRoute(GET(BASE + "/{id}").and(path(BASE + "/search").negate()), handler::getFlight);
+    }
+}
@@ -1,29 +1,113 @@
 package com.flightapp.service;
 
+import com.flightapp.cache.BookingCache;
+import com.flightapp.cache.KnownKeys;
+import com.flightapp.dto.repsonse.BookingHistoryPage;
+import com.flightapp.dto.repsonse.BookingSummary;
+import com.flightapp.dto.repsonse.BulkBookingResult;
+import com.flightapp.dto.request.BookingRequest;
+import com.flightapp.mapper.EmailNormalizer;
 import com.flightapp.model.Booking;
 import com.flightapp.repository.BookingRepository;
+import com.flightapp.validation.RequestValidator;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @Service
 public class BookingService {
 
     @Autowired
     private BookingRepository bookingRepository; // I added this to talk to database for booking data
 
+    @Autowired
+    private BookingCache bookingCache; // I added this so repeated status checks are served from memory
+
+    @Autowired
+    private KnownKeys knownKeys; // I added this so made up pnrs are turned away without a query
+
+    @Autowired
+    private FlightService flightService; // I added this so bulk bookings reuse the normal booking flow
+
+    @Autowired
+    private RequestValidator requestValidator; // I added this to check each line of a bulk upload
+
+    // how many flights are booked in parallel inside one bulk upload
+    @Value("${flightapp.bulk.booking-concurrency:8}")
+    private int bulkConcurrency;
+
+    @Value("${flightapp.history.default-page-size:20}")
+    private int defaultHistoryPageSize;
+
+    @Value("${flightapp.history.max-page-size:100}")
+    private int maxHistoryPageSize;
+
     public Mono<Booking> getBookingByPnr(String pnr) {
         // I am returning one booking using pnr
         // if not found repository gives empty so controller can send not found
-        return bookingRepository.findByPnr(pnr);
+        // recent bookings come from the cache, everything else from mongo
+        if (!knownKeys.mightHavePnr(pnr)) return Mono.empty();
+        return bookingCache.byPnr(pnr);
+    }
+
+    public Mono<BookingHistoryPage> getBookingHistoryPage(String email, String before, Integer limit) {
+        if (email == null || email.isBlank()) {
+            return Mono.error(new IllegalArgumentException("email must not be blank"));
+        }
+        if (before != null && !ObjectId.isValid(before)) {
+            return Mono.error(new IllegalArgumentException("invalid cursor"));
+        }
+        int size = limit == null ? defaultHistoryPageSize : Math.max(1, Math.min(limit, maxHistoryPageSize));
+
+        // I am asking for one extra booking only to know whether an older page exists
+        return bookingRepository.findHistoryPage(EmailNormalizer.normalize(email), before, size + 1)
+                .collectList()
+                .map(found -> {
+                    boolean more = found.size() > size;
+                    List<Booking> page = more ? found.subList(0, size) : found;
+                    List<BookingSummary> summaries = page.stream()
+                            .map(b -> new BookingSummary(b.getPnr(), b.getFlightId(), b.getStatus(), b.getCreatedAt()))
+                            .toList();
+                    return new BookingHistoryPage(summaries, more ? page.get(size - 1).getId() : null);
+                });
     }
 
-    public Flux<Booking> getBookingHistoryByEmail(String email) {
-        // I am returning all bookings for given email
-        // if no bookings then empty flux is returned
-        return bookingRepository.findByEmail(email);
+    public Flux<BulkBookingResult> bookAll(Flux<BookingRequest> requests) {
+        // I am splitting the stream into a fixed number of lanes by flightId.
+        // one flight always lands in the same lane so its bookings stay in order,
+        // and a hot flight only holds up its own lane, not the whole upload.
+        // the lane count equals the flatMap concurrency so groupBy can never stall.
+        return requests.index()
+                .groupBy(item -> lane(item.getT2().getFlightId()))
+                .flatMap(lane -> lane.concatMap(item -> bookOne(item.getT1(), item.getT2())), bulkConcurrency);
     }
 
-    // I kept place for your other booking methods like book or cancel
-}
\ No newline at end of file
+    private int lane(String flightId) {
+        return flightId == null ? 0 : Math.floorMod(flightId.hashCode(), bulkConcurrency);
+    }
+
+    private Mono<BulkBookingResult> bookOne(long index, BookingRequest req) {
+        // a bad line only fails itself, the rest of the upload carries on
+        String error = requestValidator.check(req);
+        if (error != null) {
+            return Mono.just(new BulkBookingResult(index, req.getFlightId(), null, error));
+        }
+
+        return flightService.bookTicket(
+                        req.getFlightId(),
+                        req.getSeats(),
+                        req.getName(),
+                        req.getEmail(),
+                        req.getGender(),
+                        req.getMealPreference(),
+                        req.getSeatNumbers(),
+                        req.isAdjacent())
+                .map(res -> new BulkBookingResult(index, req.getFlightId(), res.getPnr(), null))
+                .onErrorResume(err -> Mono.just(new BulkBookingResult(index, req.getFlightId(), null, err.getMessage())));
+    }
+}
@@ -1,59 +1,107 @@
 package com.flightapp.service;
 
-import com.flightapp.model.Booking;
+import com.flightapp.bus.ChangeBus;
+import com.flightapp.bus.ChangeEvent;
+import com.flightapp.cache.BookingCache;
+import com.flightapp.cache.FlightCache;
+import com.flightapp.cache.KnownKeys;
+import com.flightapp.enums.BookingStatus;
+import com.flightapp.exception.ErrorCode;
+import com.flightapp.metrics.BookingMetrics;
 import com.flightapp.repository.BookingRepository;
-import com.flightapp.repository.FlightRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.NoSuchElementException;
 
 @Service
 public class CancelService {
 
+    private static final Duration CANCEL_WINDOW = Duration.ofHours(24);
+    private static final String CANCELLED = "Booking cancelled";
+
     @Autowired
     private BookingRepository bookingRepository; // I added this to get booking details using pnr
 
     @Autowired
-    private FlightRepository flightRepository; // I added this to update flight seat count during cancel
+    private SeatInventory seatInventory; // I added this to give seats back during cancel
 
-    public Mono<String> cancelBooking(String pnr) {
+    @Autowired
+    private FlightCache flightCache; // I added this to keep the cached seat count in step with the cancel
 
-        // I am first checking if booking exists for given pnr
-        return bookingRepository.findByPnr(pnr)
-                .flatMap(booking -> {
+    @Autowired
+    private SeatAvailabilityPublisher seatPublisher; // I added this so seat stream clients see the seats come back
 
-                    // I am checking createdAt because cancel rule depends on booking time
-                    Instant created = booking.getCreatedAt();
-                    if (created == null) {
-                        return Mono.error(new IllegalStateException("booking createdAt missing"));
-                    }
+    @Autowired
+    private BookingCache bookingCache; // I added this so a status check sees the cancel straight away
 
-                    Instant now = Instant.now();
+    @Autowired
+    private ChangeBus changeBus; // I added this so other nodes drop their cached copy of the booking
 
-                    // I am applying 24 hour cancel rule
-                    if (Duration.between(created, now).toHours() > 24) {
-                        return Mono.error(new IllegalStateException("Cannot cancel after 24 hours"));
-                    }
+    @Autowired
+    private KnownKeys knownKeys; // I added this so made up pnrs get not found without a query
+
+    @Autowired
+    private BookingMetrics bookingMetrics; // I added this to count cancels and why they were turned down
 
-                    // I am fetching the flight linked with this booking to restore seats
-                    return flightRepository.findById(booking.getFlightId())
-                            .switchIfEmpty(Mono.error(new NoSuchElementException("Flight not found")))
-                            .flatMap(flight -> {
-                                // I am adding seats back to available seats
-                                flight.setAvailableSeats(
-                                        flight.getAvailableSeats() + booking.getSeatsBooked()
-                                );
-                                return flightRepository.save(flight);
+    @Autowired
+    private WaitlistService waitlistService; // I added this so freed seats go to the waitlist without anyone retrying
+
+    public Mono<String> cancelBooking(String pnr) {
+
+        // a pnr the bloom filter has never seen was never booked
+        if (!knownKeys.mightHavePnr(pnr)) {
+            bookingMetrics.cancel("not_found");
+            return Mono.error(ErrorCode.BOOKING_NOT_FOUND.exception());
+        }
+
+        Instant now = Instant.now();
+
+        // I am flipping the booking to CANCELLED in one atomic step, the 24 hour rule is part of the query.
+        // the booking stays in mongo so history keeps it; only the winner of a double cancel gets it back
+        return bookingRepository.cancelIfActive(pnr, now.minus(CANCEL_WINDOW), now)
+                .flatMap(cancelled -> {
+                    // the booking cache is memory only, so it is updated alongside the seat release
+                    Mono<Void> cache = Mono.fromRunnable(() -> {
+                        bookingCache.put(cancelled);
+                        changeBus.publish(ChangeEvent.booking(ChangeEvent.Operation.UPDATED, cancelled.getId(), cancelled.getPnr()));
+                    });
+                    Mono<Void> seats = seatInventory.release(cancelled.getFlightId(), cancelled.getSeatsBooked(), cancelled.getSeatNumbers())
+                            .doOnNext(left -> {
+                                flightCache.patchSeats(cancelled.getFlightId(), left);
+                                seatPublisher.publish(cancelled.getFlightId(), left);
+                                waitlistService.seatsFreed(cancelled.getFlightId());
                             })
-                            // after updating seats I am removing the booking
-                            .then(bookingRepository.delete(booking))
-                            .thenReturn("Booking cancelled");
+                            .then();
+                    bookingMetrics.cancel("cancelled");
+                    return Mono.when(seats, cache).thenReturn(CANCELLED);
                 })
+                // nothing matched, so I read the booking once to tell the caller why
+                .switchIfEmpty(Mono.defer(() -> explain(pnr, now)));
+    }
+
+    private Mono<String> explain(String pnr, Instant now) {
+        return bookingRepository.findByPnr(pnr)
                 // I am sending not found error when no booking exists for pnr
-                .switchIfEmpty(Mono.error(new NoSuchElementException("PNR not found")));
+                .switchIfEmpty(Mono.defer(() -> {
+                    bookingMetrics.cancel("not_found");
+                    return Mono.error(ErrorCode.BOOKING_NOT_FOUND.exception());
+                }))
+                .flatMap(booking -> {
+                    // cancelling twice is fine, the seats were given back the first time
+                    if (booking.getStatus() == BookingStatus.CANCELLED) {
+                        bookingMetrics.cancel("already_cancelled");
+                        return Mono.just(CANCELLED);
+                    }
+                    Instant created = booking.getCreatedAt();
+                    if (created == null) {
+                        bookingMetrics.cancel("invalid");
+                        return Mono.error(ErrorCode.BOOKING_INCOMPLETE.exception());
+                    }
+                    bookingMetrics.cancel("too_late");
+                    return Mono.error(ErrorCode.CANCEL_WINDOW_CLOSED.exception());
+                });
     }
-}
\ No newline at end of file
+}
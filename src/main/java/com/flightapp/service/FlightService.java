@@ -1,21 +1,51 @@
 
 package com.flightapp.service;
 
+import com.flightapp.bus.ChangeBus;
+import com.flightapp.bus.ChangeEvent;
+import com.flightapp.cache.BookingCache;
+import com.flightapp.cache.FlightCache;
+import com.flightapp.cache.KnownKeys;
 import com.flightapp.dto.repsonse.BookingResponse;
+import com.flightapp.dto.repsonse.BulkFlightResult;
+import com.flightapp.dto.repsonse.FlightPage;
+import com.flightapp.dto.repsonse.FlightSeats;
+import com.flightapp.dto.repsonse.SeatUpdate;
+import com.flightapp.dto.request.AddFlightRequest;
 import com.flightapp.enums.BookingStatus;
 import com.flightapp.enums.Gender;
 import com.flightapp.enums.MealType;
+import com.flightapp.exception.ErrorCode;
+import com.flightapp.mapper.EmailNormalizer;
+import com.flightapp.mapper.FlightMapper;
+import com.flightapp.metrics.BookingMetrics;
 import com.flightapp.model.Booking;
 import com.flightapp.model.Flight;
 import com.flightapp.repository.BookingRepository;
 import com.flightapp.repository.FlightRepository;
+import com.flightapp.validation.RequestValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.bson.types.ObjectId;
 import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
 
 import java.time.Instant;
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class FlightService {
@@ -26,34 +56,279 @@ public class FlightService {
     @Autowired
     private BookingRepository bookingRepository; // I added this to save booking info
 
+    @Autowired
+    private SeatInventory seatInventory; // I added this so seat counts are decided in memory
+
+    @Autowired
+    private FlightCache flightCache; // I added this so single flight lookups mostly skip mongo
+
+    @Autowired
+    private BookingCache bookingCache; // I added this so the first status check after booking skips mongo
+
+    @Autowired
+    private SeatAvailabilityPublisher seatPublisher; // I added this to push seat changes to the seat stream
+
+    @Autowired
+    private ChangeBus changeBus; // I added this to tell other nodes about new flights and bookings
+
+    @Autowired
+    private KnownKeys knownKeys; // I added this to answer lookups for unknown flight numbers without mongo
+
+    @Autowired
+    private BookingMetrics bookingMetrics; // I added this to count bookings by outcome
+
+    @Autowired
+    private RequestValidator requestValidator; // I added this to check each line of a bulk flight upload
+
+    @Autowired
+    private PnrGenerator pnrGenerator; // I added this so pnr creation is cheap and shared by all threads
+
+    // how many fresh pnrs to try when one is already taken
+    @Value("${flightapp.pnr.max-retries:5}")
+    private int pnrRetries;
+
+    // how many uploaded flights share one duplicate check and one batched insert
+    @Value("${flightapp.bulk.flight-chunk-size:500}")
+    private int ingestChunkSize;
+
+    @Value("${flightapp.listing.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${flightapp.listing.max-page-size:500}")
+    private int maxPageSize;
+
+    @Value("${flightapp.search.default-limit:20}")
+    private int defaultSearchLimit;
+
+    @Value("${flightapp.search.max-limit:100}")
+    private int maxSearchLimit;
+
+    // most flights one seat stream client may watch
+    @Value("${flightapp.seats.max-watched-flights:50}")
+    private int maxWatchedFlights;
+
+    // documents per driver batch when streaming the whole catalog
+    @Value("${flightapp.listing.stream-batch-size:256}")
+    private int streamBatchSize;
+
     public Mono<Flight> createFlight(Flight flight) {
         // I am making sure available seats has proper value if someone passed zero
         if (flight.getAvailableSeats() == 0) {
             flight.setAvailableSeats(flight.getTotalSeats());
         }
-        return flightRepository.save(flight);
+        withEmptySeatMap(flight);
+        // the unique index on flightNumber decides duplicates, so this is a single write
+        knownKeys.addFlightNumber(flight.getFlightNumber());
+        return flightRepository.insert(flight)
+                .doOnNext(this::flightCreated)
+                .doOnNext(flightCache::put)
+                .onErrorMap(DuplicateKeyException.class, e -> ErrorCode.FLIGHT_EXISTS.exception());
+    }
+
+    public Flux<BulkFlightResult> ingestFlights(Flux<AddFlightRequest> requests) {
+        // I am validating and mapping every line first, then working chunk by chunk.
+        // chunks run one after another so a flight number repeated across chunks is still caught.
+        return requests.index()
+                .map(item -> prepare(item.getT1(), item.getT2()))
+                .buffer(ingestChunkSize)
+                .concatMap(this::ingestChunk);
+    }
+
+    // one uploaded line after validation: either flight or error is set
+    private record IngestRow(long index, String flightNumber, Flight flight, String error) {
+    }
+
+    private IngestRow prepare(long index, AddFlightRequest req) {
+        String error = requestValidator.check(req);
+        if (error != null) {
+            return new IngestRow(index, req.getFlightNumber(), null, error);
+        }
+        try {
+            return new IngestRow(index, req.getFlightNumber(), FlightMapper.toFlight(req), null);
+        } catch (IllegalArgumentException e) {
+            return new IngestRow(index, req.getFlightNumber(), null, e.getMessage());
+        }
+    }
+
+    private Flux<BulkFlightResult> ingestChunk(List<IngestRow> rows) {
+        Set<String> numbers = new HashSet<>();
+        for (IngestRow row : rows) {
+            // numbers the bloom filter has never seen cannot be taken, so mongo is not asked about them
+            if (row.flight() != null && knownKeys.mightHaveFlightNumber(row.flightNumber())) {
+                numbers.add(row.flightNumber());
+            }
+        }
+
+        // I am asking mongo once per chunk which of these flight numbers are already taken
+        Mono<Set<String>> taken = numbers.isEmpty()
+                ? Mono.just(new HashSet<>())
+                : flightRepository.findFlightNumbersIn(numbers).map(Flight::getFlightNumber).collect(HashSet::new, Set::add);
+
+        return taken.flatMapMany(seen -> {
+            List<BulkFlightResult> results = new ArrayList<>(rows.size());
+            List<IngestRow> fresh = new ArrayList<>();
+
+            for (IngestRow row : rows) {
+                if (row.error() != null) {
+                    results.add(new BulkFlightResult(row.index(), row.flightNumber(), null, "INVALID", row.error()));
+                } else if (!seen.add(row.flightNumber())) {
+                    // already in mongo or earlier in this upload
+                    results.add(new BulkFlightResult(row.index(), row.flightNumber(), null, "DUPLICATE", "flight already exists"));
+                } else {
+                    fresh.add(row);
+                }
+            }
+
+            if (fresh.isEmpty()) {
+                return Flux.fromIterable(results);
+            }
+
+            // I am writing all new flights of the chunk in one batched insert
+            return insertChunk(fresh)
+                    .collectList()
+                    .flatMapIterable(created -> {
+                        results.addAll(created);
+                        // I am giving the chunk back in upload order
+                        results.sort(Comparator.comparingLong(BulkFlightResult::getIndex));
+                        return results;
+                    });
+        });
+    }
+
+    private Flux<BulkFlightResult> insertChunk(List<IngestRow> fresh) {
+        List<Flight> toInsert = new ArrayList<>(fresh.size());
+        for (IngestRow row : fresh) {
+            // ids are set here so after a partial failure I can tell which flights got in
+            row.flight().setId(new ObjectId().toHexString());
+            withEmptySeatMap(row.flight());
+            knownKeys.addFlightNumber(row.flightNumber());
+            toInsert.add(row.flight());
+        }
+
+        // insert gives the flights back in the order they were sent
+        return flightRepository.insert(toInsert)
+                .doOnNext(this::flightCreated)
+                .index()
+                .map(saved -> created(fresh.get(saved.getT1().intValue()).index(), saved.getT2()))
+                .onErrorResume(DuplicateKeyException.class, e -> insertOneByOne(fresh))
+                .onErrorResume(err -> Flux.fromIterable(fresh)
+                        .map(row -> failed(row, "FAILED", err.getMessage())));
+    }
+
+    private Flux<BulkFlightResult> insertOneByOne(List<IngestRow> fresh) {
+        // another writer took a flight number after my $in check, and the batch stopped there.
+        // I keep the flights that already got in and insert the rest one at a time.
+        List<String> ids = fresh.stream().map(row -> row.flight().getId()).toList();
+        return flightRepository.findAllById(ids)
+                .map(Flight::getId)
+                .collect(HashSet<String>::new, Set::add)
+                .flatMapMany(stored -> Flux.fromIterable(fresh).concatMap(row -> {
+                    if (stored.contains(row.flight().getId())) {
+                        flightCreated(row.flight());
+                        return Mono.just(created(row.index(), row.flight()));
+                    }
+                    return flightRepository.insert(row.flight())
+                            .doOnNext(this::flightCreated)
+                            .map(f -> created(row.index(), f))
+                            .onErrorResume(DuplicateKeyException.class,
+                                    e -> Mono.just(failed(row, "DUPLICATE", "flight already exists")))
+                            .onErrorResume(err -> Mono.just(failed(row, "FAILED", err.getMessage())));
+                }));
+    }
+
+    // new flights start with every seat free, so they are booked by seat number from the first booking
+    private static void withEmptySeatMap(Flight flight) {
+        if (flight.getSeatMap() == null) {
+            flight.setSeatMap(SeatMap.emptyBytes(flight.getTotalSeats()));
+        }
+    }
+
+    private static BulkFlightResult created(long index, Flight f) {
+        return new BulkFlightResult(index, f.getFlightNumber(), f.getId(), "CREATED", null);
+    }
+
+    private static BulkFlightResult failed(IngestRow row, String status, String error) {
+        return new BulkFlightResult(row.index(), row.flightNumber(), null, status, error);
     }
 
     public Mono<Boolean> existsByFlightNumber(String flightNumber) {
-        // I am checking if flight number already exists
+        // I am checking if flight number already exists, a definite miss needs no query
+        if (!knownKeys.mightHaveFlightNumber(flightNumber)) return Mono.just(false);
         return flightRepository.findByFlightNumber(flightNumber)
                 .map(f -> true)
                 .defaultIfEmpty(false);
     }
 
     public Flux<Flight> getAllFlights() {
-        // I am fetching all flights from database
-        return flightRepository.findAll();
+        // I am streaming all flights in id order; limitRate keeps demand to one driver batch at a time
+        // so a slow client slows the cursor down instead of filling memory
+        return flightRepository.streamAll(streamBatchSize)
+                .limitRate(streamBatchSize)
+                .map(seatInventory::withLiveSeats);
+    }
+
+    public Mono<FlightPage> getFlightPage(String after, Integer limit) {
+        if (after != null && !ObjectId.isValid(after)) {
+            return Mono.error(new IllegalArgumentException("invalid cursor"));
+        }
+        int size = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+
+        // I am asking for one extra flight only to know whether another page exists
+        return flightRepository.findPageAfter(after, size + 1)
+                .map(seatInventory::withLiveSeats)
+                .collectList()
+                .map(found -> {
+                    if (found.size() <= size) {
+                        return new FlightPage(found, null);
+                    }
+                    List<Flight> page = found.subList(0, size);
+                    return new FlightPage(page, page.get(size - 1).getId());
+                });
+    }
+
+    public Flux<Flight> searchFlights(String fromPlace, String toPlace, String departAfter, String departBefore,
+                                      String sortBy, Integer limit) {
+        // I am checking the inputs here so a bad request never reaches mongo
+        if (fromPlace == null || fromPlace.isBlank() || toPlace == null || toPlace.isBlank()) {
+            return Flux.error(new IllegalArgumentException("from and to must not be blank"));
+        }
+        String sort = sortBy == null ? "departure" : sortBy;
+        if (!sort.equals("departure") && !sort.equals("price")) {
+            return Flux.error(new IllegalArgumentException("sort must be price or departure"));
+        }
+        Instant after;
+        Instant before;
+        try {
+            after = departAfter == null ? null : Instant.parse(departAfter);
+            before = departBefore == null ? null : Instant.parse(departBefore);
+        } catch (java.time.format.DateTimeParseException e) {
+            return Flux.error(new IllegalArgumentException("invalid departure window"));
+        }
+        int size = limit == null ? defaultSearchLimit : Math.max(1, Math.min(limit, maxSearchLimit));
+
+        return flightRepository.searchRoute(fromPlace, toPlace, after, before, sort, size)
+                .map(seatInventory::withLiveSeats);
     }
 
     public Mono<Flight> getFlightById(String id) {
-        // I am fetching flight using id
-        return flightRepository.findById(id);
+        // I am fetching flight using id, through the cache
+        return flightCache.byId(id)
+                .map(seatInventory::withLiveSeats);
+    }
+
+    public Mono<FlightSeats> getSeats(String id) {
+        // free seat numbers straight from the seat map, so they are as fresh as the seat count
+        return seatInventory.seatMap(id)
+                .map(map -> new FlightSeats(id, map.seats(), map.seatsPerRow(), map.freeSeats()))
+                .switchIfEmpty(Mono.defer(() -> getFlightById(id)
+                        .map(f -> new FlightSeats(id, f.getTotalSeats(), 0, null))));
     }
 
     public Mono<Flight> findByFlightNumberMono(String flightNumber) {
-        // I am fetching one flight using flight number
-        return flightRepository.findByFlightNumber(flightNumber);
+        // I am fetching one flight using flight number, through the cache
+        if (!knownKeys.mightHaveFlightNumber(flightNumber)) return Mono.empty();
+        return flightCache.byFlightNumber(flightNumber)
+                .map(seatInventory::withLiveSeats);
     }
 
     public Mono<BookingResponse> bookTicket(String flightId,
@@ -62,49 +337,181 @@ public class FlightService {
                                             String email,
                                             Gender gender,
                                             MealType mealPreference) {
+        return bookTicket(flightId, seats, name, email, gender, mealPreference, null, false);
+    }
 
-        // I am checking if flight exists first
-        return flightRepository.findById(flightId)
-                .switchIfEmpty(Mono.error(new java.util.NoSuchElementException("Flight not found")))
-                .flatMap(flight -> {
-
-                    // I am checking seat count rules
-                    if (seats <= 0) return Mono.error(new IllegalArgumentException("seats must be > 0"));
-                    if (flight.getAvailableSeats() < seats) return Mono.error(new IllegalStateException("Not enough seats"));
-
-                    // I am reducing available seats after booking
-                    flight.setAvailableSeats(flight.getAvailableSeats() - seats);
-
-                    return flightRepository.save(flight)
-                            .flatMap(savedFlight -> {
-
-                                // I am creating new booking object here
-                                Booking booking = new Booking();
-                                booking.setPnr(generatePnr());
-                                booking.setFlightId(savedFlight.getId());
-                                booking.setSeatsBooked(seats);
-                                booking.setName(name);
-                                booking.setEmail(email);
-                                booking.setGender(gender);
-                                booking.setMealPreference(mealPreference);
-                                booking.setCreatedAt(Instant.now());
-                                booking.setStatus(BookingStatus.BOOKED);
-
-                                // I am saving the booking and returning only the pnr
-                                return bookingRepository.save(booking)
-                                        .map(b -> new BookingResponse(b.getPnr()));
-                            });
-                });
+    // seatNumbers picks the seats (one per booked seat); without it the seats are chosen here, side by side
+    // when possible, and adjacentOnly makes the booking fail rather than split the group
+    public Mono<BookingResponse> bookTicket(String flightId,
+                                            int seats,
+                                            String name,
+                                            String email,
+                                            Gender gender,
+                                            MealType mealPreference,
+                                            List<Integer> seatNumbers,
+                                            boolean adjacentOnly) {
+
+        // every booking, including the early rejections, is counted by outcome
+        return bookingMetrics.booking(reserveAndSave(flightId, seats, name, email, gender, mealPreference,
+                seatNumbers, adjacentOnly));
     }
 
-    private String generatePnr() {
-        // I made this small helper to generate a simple 6 character pnr
-        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-        Random rnd = new Random();
-        StringBuilder sb = new StringBuilder(6);
-        for (int i = 0; i < 6; i++) {
-            sb.append(chars.charAt(rnd.nextInt(chars.length())));
+    private Mono<BookingResponse> reserveAndSave(String flightId,
+                                                 int seats,
+                                                 String name,
+                                                 String email,
+                                                 Gender gender,
+                                                 MealType mealPreference,
+                                                 List<Integer> seatNumbers,
+                                                 boolean adjacentOnly) {
+        return holdSeats(flightId, seats, seatNumbers, adjacentOnly)
+                .flatMap(reserved -> saveBooking(flightId, seats, reserved.seatNumbers(),
+                        name, email, gender, mealPreference));
+    }
+
+    // takes the seats without booking them; book them later with bookHeld or give them back with releaseSeats
+    public Mono<SeatInventory.Reservation> holdSeats(String flightId,
+                                                     int seats,
+                                                     List<Integer> seatNumbers,
+                                                     boolean adjacentOnly) {
+
+        // I am checking seat count rules before touching the database
+        if (seats <= 0) return Mono.error(new IllegalArgumentException("seats must be > 0"));
+        List<Integer> wanted = seatNumbers == null || seatNumbers.isEmpty() ? null : seatNumbers;
+        if (wanted != null && wanted.size() != seats) {
+            return Mono.error(new IllegalArgumentException("seatNumbers must list one seat per booked seat"));
+        }
+        if (wanted != null && new HashSet<>(wanted).size() != wanted.size()) {
+            return Mono.error(new IllegalArgumentException("seatNumbers must not repeat a seat"));
         }
-        return sb.toString();
+
+        // I am taking the seats from the seat inventory so parallel bookings cannot oversell or share a seat
+        return seatInventory.reserve(flightId, seats, wanted, adjacentOnly)
+                .doOnNext(reserved -> seatsChanged(flightId, reserved.left()));
+    }
+
+    // books seats already taken with holdSeats
+    public Mono<BookingResponse> bookHeld(String flightId,
+                                          int seats,
+                                          List<Integer> seatNumbers,
+                                          String name,
+                                          String email,
+                                          Gender gender,
+                                          MealType mealPreference) {
+        return bookingMetrics.booking(saveBooking(flightId, seats, seatNumbers, name, email, gender, mealPreference));
+    }
+
+    // gives back seats taken with holdSeats, gives the seat count after
+    public Mono<Integer> releaseSeats(String flightId, int seats, List<Integer> seatNumbers) {
+        return seatInventory.release(flightId, seats, seatNumbers)
+                .doOnNext(back -> seatsChanged(flightId, back));
+    }
+
+    private Mono<BookingResponse> saveBooking(String flightId,
+                                              int seats,
+                                              List<Integer> seatNumbers,
+                                              String name,
+                                              String email,
+                                              Gender gender,
+                                              MealType mealPreference) {
+
+        // I am creating new booking object here
+        Booking booking = new Booking();
+        booking.setFlightId(flightId);
+        booking.setSeatsBooked(seats);
+        booking.setSeatNumbers(seatNumbers);
+        booking.setName(name);
+        booking.setEmail(EmailNormalizer.normalize(email));
+        booking.setGender(gender);
+        booking.setMealPreference(mealPreference);
+        booking.setCreatedAt(Instant.now());
+        booking.setStatus(BookingStatus.BOOKED);
+
+        // I am saving the booking and returning only the pnr
+        // if the booking cannot be saved I give the seats back so they are not lost
+        // a new pnr is drawn on every attempt, the unique index tells me when one is taken
+        return Mono.defer(() -> {
+                    booking.setPnr(pnrGenerator.next());
+                    // added before the write so a status check right after booking is never turned away
+                    knownKeys.addPnr(booking.getPnr());
+                    return bookingRepository.save(booking);
+                })
+                .retryWhen(Retry.max(pnrRetries)
+                        .filter(DuplicateKeyException.class::isInstance)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .doOnNext(saved -> {
+                    bookingCache.put(saved);
+                    changeBus.publish(ChangeEvent.booking(ChangeEvent.Operation.CREATED, saved.getId(), saved.getPnr()));
+                })
+                .map(b -> new BookingResponse(b.getPnr(), b.getSeatNumbers()))
+                .onErrorResume(err -> releaseSeats(flightId, seats, seatNumbers)
+                        .then(Mono.<BookingResponse>error(err)));
+    }
+
+    private void flightCreated(Flight f) {
+        seatInventory.register(f);
+        changeBus.publish(ChangeEvent.flight(ChangeEvent.Operation.CREATED, f.getId(), f.getFlightNumber(), f.getAvailableSeats(),
+                f.getSeatsVersion()));
+    }
+
+    // cached flight and seat stream both learn the new count at once
+    private void seatsChanged(String flightId, int availableSeats) {
+        flightCache.patchSeats(flightId, availableSeats);
+        seatPublisher.publish(flightId, availableSeats);
+    }
+
+    public Flux<SeatUpdate> watchSeats(Collection<String> flightIds) {
+        Set<String> ids = Set.copyOf(flightIds);
+        if (ids.isEmpty() || ids.size() > maxWatchedFlights) {
+            return Flux.error(new IllegalArgumentException("watch between 1 and " + maxWatchedFlights + " flights"));
+        }
+
+        return Flux.defer(() -> {
+            // live changes are subscribed first so nothing is missed while the snapshot is read
+            Flux<SeatUpdate> live = seatPublisher.updates().filter(u -> ids.contains(u.getFlightId()));
+
+            // version is read before the seats, so a change that lands meanwhile wins over the snapshot
+            Flux<SeatUpdate> snapshot = Flux.fromIterable(ids).flatMap(id -> {
+                long version = seatPublisher.currentVersion();
+                return getFlightById(id).map(f -> new SeatUpdate(id, f.getAvailableSeats(), version));
+            });
+
+            Map<String, Long> sent = new ConcurrentHashMap<>();
+            return latestPerFlight(Flux.merge(live, snapshot))
+                    .filter(u -> sent.merge(u.getFlightId(), u.getVersion(), Math::max) == u.getVersion());
+        });
+    }
+
+    // per flight only the newest value waits for a slow client, older ones are replaced.
+    // values are handed out only when the client asks, so nothing queues up ahead of it
+    private static Flux<SeatUpdate> latestPerFlight(Flux<SeatUpdate> updates) {
+        return Flux.create(sink -> {
+            Map<String, SeatUpdate> waiting = new ConcurrentHashMap<>();
+            AtomicInteger draining = new AtomicInteger();
+            AtomicBoolean done = new AtomicBoolean();
+            Runnable drain = () -> {
+                if (draining.getAndIncrement() != 0) return;
+                do {
+                    Iterator<String> it = waiting.keySet().iterator();
+                    while (sink.requestedFromDownstream() > 0 && it.hasNext()) {
+                        SeatUpdate u = waiting.remove(it.next());
+                        if (u != null) sink.next(u);
+                    }
+                    if (done.get() && waiting.isEmpty()) sink.complete();
+                } while (draining.decrementAndGet() != 0);
+            };
+            Disposable upstream = updates.subscribe(
+                    u -> {
+                        waiting.merge(u.getFlightId(), u, (old, now) -> now.getVersion() >= old.getVersion() ? now : old);
+                        drain.run();
+                    },
+                    sink::error,
+                    () -> {
+                        done.set(true);
+                        drain.run();
+                    });
+            sink.onRequest(n -> drain.run());
+            sink.onDispose(upstream);
+        });
     }
 }
@@ -0,0 +1,125 @@
+package com.flightapp.service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Deadlines for many short lived items, checked by one caller ticking advance() instead of a
+ * timer per item. Time is cut into ticks; an item goes into bucket (deadline tick % wheel size)
+ * with the number of full turns left, and each tick only looks at its own bucket.
+ * Scheduling is O(1) from any thread, one tick costs the size of one bucket.
+ *
+ * An item expires on the first tick at or after its deadline, so up to one tick late.
+ * cancel() and expiry race on one flag, so an item is either cancelled or expired, never both.
+ * Cancelled items are dropped when their bucket next comes round, not straight away.
+ *
+ * Times are System.nanoTime() values.
+ */
+public final class HashedTimingWheel<T> {
+
+    public static final class Timeout<T> {
+        private final T item;
+        private final long deadline;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private long rounds; // only touched by advance()
+
+        public Timeout(T item, long deadline) {
+            this.item = item;
+            this.deadline = deadline;
+        }
+
+        public T item() {
+            return item;
+        }
+
+        // true when this call stopped the item from expiring; false when it already expired or was cancelled
+        public boolean cancel() {
+            return done.compareAndSet(false, true);
+        }
+
+        public boolean isDone() {
+            return done.get();
+        }
+    }
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final int mask;
+    private final ArrayDeque<Timeout<T>>[] buckets;
+
+    // scheduled since the last advance(); moved into their buckets by the ticking thread
+    private final Queue<Timeout<T>> added = new ConcurrentLinkedQueue<>();
+
+    // the next tick to run
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(Duration tick, int wheelSize, long startNanos) {
+        if (tick.toNanos() <= 0) throw new IllegalArgumentException("tick must be > 0");
+        if (wheelSize < 1 || wheelSize > 1 << 20) throw new IllegalArgumentException("wheelSize must be 1..1048576");
+        this.tickNanos = tick.toNanos();
+        this.startNanos = startNanos;
+        // a power of two so the bucket is a mask instead of a division
+        int size = wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+        this.mask = size - 1;
+        this.buckets = new ArrayDeque[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+    }
+
+    public Timeout<T> schedule(T item, long deadlineNanos) {
+        Timeout<T> timeout = new Timeout<>(item, deadlineNanos);
+        schedule(timeout);
+        return timeout;
+    }
+
+    // for callers that must store the timeout somewhere before it can expire
+    public void schedule(Timeout<T> timeout) {
+        added.add(timeout);
+    }
+
+    // runs every tick that has started by now and gives back the items that expired, oldest tick first
+    public synchronized List<T> advance(long nowNanos) {
+        List<T> expired = new ArrayList<>();
+        place();
+        while (startNanos + tick * tickNanos <= nowNanos) {
+            ArrayDeque<Timeout<T>> bucket = buckets[(int) (tick & mask)];
+            Iterator<Timeout<T>> it = bucket.iterator();
+            while (it.hasNext()) {
+                Timeout<T> t = it.next();
+                if (t.isDone()) {
+                    it.remove();
+                } else if (t.rounds <= 0) {
+                    it.remove();
+                    if (t.cancel()) {
+                        expired.add(t.item);
+                    }
+                } else {
+                    t.rounds--;
+                }
+            }
+            tick++;
+        }
+        return expired;
+    }
+
+    private void place() {
+        Timeout<T> t;
+        while ((t = added.poll()) != null) {
+            if (t.isDone()) continue;
+            long sinceStart = t.deadline - startNanos;
+            // the first tick starting at or after the deadline, never one that has already run
+            long deadlineTick = sinceStart <= 0 ? 0 : (sinceStart + tickNanos - 1) / tickNanos;
+            if (deadlineTick < tick) deadlineTick = tick;
+            t.rounds = (deadlineTick - tick) / buckets.length;
+            buckets[(int) (deadlineTick & mask)].add(t);
+        }
+    }
+}
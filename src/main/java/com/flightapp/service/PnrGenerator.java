@@ -0,0 +1,37 @@
+package com.flightapp.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Makes 6 character PNRs from A-Z and 0-9.
+ * One random long below 36^6 is drawn from ThreadLocalRandom (no shared lock between threads)
+ * and written straight into the 6 output chars, so there is no StringBuilder or per-char lookup.
+ * Uniqueness is guaranteed by the unique pnr index; callers retry on a duplicate key.
+ */
+@Component
+public class PnrGenerator {
+
+    static final int LENGTH = 6;
+    static final long SPACE = 36L * 36 * 36 * 36 * 36 * 36; // 2_176_782_336 possible PNRs
+
+    private static final char[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".toCharArray();
+
+    public String next() {
+        return encode(nextValue());
+    }
+
+    long nextValue() {
+        return ThreadLocalRandom.current().nextLong(SPACE);
+    }
+
+    static String encode(long value) {
+        char[] out = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            out[i] = ALPHABET[(int) (value % 36)];
+            value /= 36;
+        }
+        return new String(out);
+    }
+}
@@ -0,0 +1,52 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.repsonse.SeatUpdate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fan-out of seat count changes to everyone watching the seat stream.
+ * Bookings and cancels publish the seat count they ended with; nothing is stored or replayed here.
+ *
+ * The sink is best effort: a subscriber that is not asking for more misses the value.
+ * Watchers avoid that by asking for everything and keeping only the latest value per flight.
+ */
+@Component
+public class SeatAvailabilityPublisher {
+
+    private final Sinks.Many<SeatUpdate> sink = Sinks.many().multicast().directBestEffort();
+
+    private final AtomicLong version = new AtomicLong();
+
+    // a sink accepts one emitter at a time, so updates are queued and whichever caller finds the
+    // queue idle emits for everyone; nobody waits on a lock
+    private final Queue<SeatUpdate> queued = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger emitting = new AtomicInteger();
+
+    public void publish(String flightId, int availableSeats) {
+        queued.offer(new SeatUpdate(flightId, availableSeats, version.incrementAndGet()));
+        if (emitting.getAndIncrement() != 0) return;
+        do {
+            SeatUpdate u;
+            while ((u = queued.poll()) != null) {
+                sink.tryEmitNext(u);
+            }
+        } while (emitting.decrementAndGet() != 0);
+    }
+
+    public Flux<SeatUpdate> updates() {
+        return sink.asFlux();
+    }
+
+    // read this before reading a seat count for a snapshot, any later change will carry a bigger version
+    public long currentVersion() {
+        return version.get();
+    }
+}
@@ -0,0 +1,192 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.repsonse.BookingResponse;
+import com.flightapp.dto.repsonse.SeatHoldResponse;
+import com.flightapp.dto.request.HoldConfirmRequest;
+import com.flightapp.dto.request.SeatHoldRequest;
+import com.flightapp.exception.ErrorCode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Seats held for a short time while the customer pays, then confirmed into a booking or given back.
+ *
+ * A hold takes its seats from the seat inventory straight away, exactly like a booking, so nobody
+ * else can book them. Expiry is one HashedTimingWheel ticked on a timer: no timer per hold and no
+ * polling of stored holds. The holds that expire on a tick are given back in one release per flight,
+ * and the waitlist of that flight is told seats came back.
+ *
+ * Holds live in memory on the node that made them, like the seat counters, so confirm and release
+ * must reach the same node. Holds still open at shutdown are given back before the inventory's
+ * last flush.
+ */
+@Service
+public class SeatHoldService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatHoldService.class);
+
+    @Autowired
+    private FlightService flightService; // I added this to take, book and give back the seats the same way bookings do
+
+    @Autowired
+    private WaitlistService waitlistService; // I added this so seats of expired holds go to the waitlist
+
+    @Value("${flightapp.holds.ttl:10m}")
+    private Duration defaultTtl = Duration.ofMinutes(10);
+
+    @Value("${flightapp.holds.max-ttl:30m}")
+    private Duration maxTtl = Duration.ofMinutes(30);
+
+    // expiry is checked once per tick, so a hold ends up to one tick late
+    @Value("${flightapp.holds.tick:1s}")
+    private Duration tick = Duration.ofSeconds(1);
+
+    // buckets in the wheel; with 1s ticks 512 covers 8.5 minutes per turn
+    @Value("${flightapp.holds.wheel-size:512}")
+    private int wheelSize = 512;
+
+    private record Hold(String flightId,
+                        int seats,
+                        List<Integer> seatNumbers,
+                        Instant expiresAt,
+                        HashedTimingWheel.Timeout<String> timeout) {
+    }
+
+    // open holds by id
+    private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+
+    private volatile HashedTimingWheel<String> wheel;
+
+    private volatile Disposable ticker;
+
+    @PostConstruct
+    public void init() {
+        wheel = new HashedTimingWheel<>(tick, wheelSize, System.nanoTime());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // onBackpressureDrop so a slow release just skips ticks; the next tick catches up on all of them
+        ticker = Flux.interval(tick)
+                .onBackpressureDrop()
+                .concatMap(t -> expire(System.nanoTime())
+                        .onErrorResume(err -> {
+                            log.warn("could not give back expired seat holds", err);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.dispose();
+        }
+        // every open hold is cancelled and given back, so no seats stay taken by holds nobody can confirm
+        List<String> open = new ArrayList<>();
+        holds.forEach((id, hold) -> {
+            if (hold.timeout().cancel()) open.add(id);
+        });
+        giveBack(open).block(Duration.ofSeconds(10));
+    }
+
+    public Mono<SeatHoldResponse> hold(SeatHoldRequest req) {
+        Duration ttl = defaultTtl;
+        if (req.getTtlSeconds() != null) {
+            ttl = Duration.ofSeconds(req.getTtlSeconds());
+            if (ttl.isNegative() || ttl.isZero() || ttl.compareTo(maxTtl) > 0) {
+                return Mono.error(new IllegalArgumentException(
+                        "ttlSeconds must be between 1 and " + maxTtl.toSeconds()));
+            }
+        }
+        Duration holdFor = ttl;
+        return flightService.holdSeats(req.getFlightId(), req.getSeats(), req.getSeatNumbers(), req.isAdjacent())
+                .map(reserved -> {
+                    String id = new ObjectId().toHexString();
+                    long now = System.nanoTime();
+                    Instant expiresAt = Instant.now().plus(holdFor);
+                    // in the map before the wheel can see the id, so an expiry always finds its hold
+                    HashedTimingWheel.Timeout<String> timeout = new HashedTimingWheel.Timeout<>(id, now + holdFor.toNanos());
+                    holds.put(id, new Hold(req.getFlightId(), req.getSeats(), reserved.seatNumbers(), expiresAt, timeout));
+                    wheel.schedule(timeout);
+                    return new SeatHoldResponse(id, req.getFlightId(), req.getSeats(), reserved.seatNumbers(), expiresAt);
+                });
+    }
+
+    public Mono<BookingResponse> confirm(String holdId, HoldConfirmRequest passenger) {
+        Hold hold = take(holdId);
+        if (hold == null) return Mono.error(ErrorCode.HOLD_NOT_FOUND.exception());
+        // the seats are already taken; if the booking cannot be saved they go back like any failed booking
+        return flightService.bookHeld(hold.flightId(), hold.seats(), hold.seatNumbers(),
+                passenger.getName(), passenger.getEmail(), passenger.getGender(), passenger.getMealPreference());
+    }
+
+    public Mono<Void> release(String holdId) {
+        Hold hold = take(holdId);
+        if (hold == null) return Mono.error(ErrorCode.HOLD_NOT_FOUND.exception());
+        return flightService.releaseSeats(hold.flightId(), hold.seats(), hold.seatNumbers())
+                .doOnNext(left -> waitlistService.seatsFreed(hold.flightId()))
+                .then();
+    }
+
+    public int openHolds() {
+        return holds.size();
+    }
+
+    // runs the wheel up to now and gives back the holds that ran out, one release per flight
+    Mono<Void> expire(long nowNanos) {
+        return giveBack(wheel.advance(nowNanos));
+    }
+
+    // the hold, when this caller won it from the wheel; null when it is unknown or already expired
+    private Hold take(String holdId) {
+        Hold hold = holdId == null ? null : holds.get(holdId);
+        if (hold == null || !hold.timeout().cancel()) return null;
+        holds.remove(holdId);
+        return hold;
+    }
+
+    private Mono<Void> giveBack(List<String> ids) {
+        if (ids.isEmpty()) return Mono.empty();
+        // per flight: seat count and seat numbers of every hold that ended
+        Map<String, Hold> perFlight = new HashMap<>();
+        for (String id : ids) {
+            Hold hold = holds.remove(id);
+            if (hold == null) continue;
+            perFlight.merge(hold.flightId(), hold, SeatHoldService::combine);
+        }
+        return Flux.fromIterable(perFlight.values())
+                .flatMap(batch -> flightService.releaseSeats(batch.flightId(), batch.seats(), batch.seatNumbers())
+                        .doOnNext(left -> waitlistService.seatsFreed(batch.flightId())))
+                .then();
+    }
+
+    private static Hold combine(Hold a, Hold b) {
+        List<Integer> seatNumbers = null;
+        if (a.seatNumbers() != null || b.seatNumbers() != null) {
+            seatNumbers = new ArrayList<>();
+            if (a.seatNumbers() != null) seatNumbers.addAll(a.seatNumbers());
+            if (b.seatNumbers() != null) seatNumbers.addAll(b.seatNumbers());
+        }
+        return new Hold(a.flightId(), a.seats() + b.seats(), seatNumbers, a.expiresAt(), null);
+    }
+}
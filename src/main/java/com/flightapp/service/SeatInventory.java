@@ -0,0 +1,431 @@
+package com.flightapp.service;
+
+import com.flightapp.bus.ChangeBus;
+import com.flightapp.bus.ChangeEvent;
+import com.flightapp.exception.BusinessException;
+import com.flightapp.exception.ErrorCode;
+import com.flightapp.model.Flight;
+import com.flightapp.repository.FlightRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Keeps availableSeats of every flight in memory so bookings and cancels are decided
+ * with a CAS on a counter instead of a mongo round trip.
+ * Seat changes are collected as per-flight deltas and written behind with $inc on a timer.
+ *
+ * When flightapp.inventory.enabled=false (for example several app nodes sharing one mongo)
+ * every call goes straight to the atomic update on FlightRepository instead.
+ *
+ * With several nodes and the change bus, a counter is reset to the stored value when another
+ * write lands and this node has nothing left to write for that flight. Every seat count write
+ * bumps the flight's seatsVersion, so an event older than what this node already wrote or saw
+ * (our own flush coming back late through a change stream, say) is ignored. Nodes still decide
+ * bookings on their own counters between flushes, so only the disabled mode is strict.
+ *
+ * Flights with a seat map (every flight created since seat maps exist) also get seat numbers.
+ * The count is taken first, then the seats are claimed on the SeatMap, and the count goes back
+ * when the seats cannot be had. Enabled, the maps live here and are written behind with the counters;
+ * they are never rebased, so like the counters they are only exact with one node.
+ * Disabled, every claim reads the stored map and writes it back with a compare-and-set on its version.
+ */
+@Component
+public class SeatInventory {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatInventory.class);
+
+    @Autowired
+    private FlightRepository flightRepository; // I added this to load counters and write the deltas back
+
+    @Autowired
+    private ChangeBus changeBus; // I added this to tell other nodes about every seat count written to mongo
+
+    @Value("${flightapp.inventory.enabled:true}")
+    private boolean enabled;
+
+    @Value("${flightapp.inventory.flush-interval:1s}")
+    private Duration flushInterval;
+
+    // live seat counters, one per flight
+    private final Map<String, AtomicInteger> seats = new ConcurrentHashMap<>();
+
+    // total seats per loaded flight, for the load factor gauges
+    private final Map<String, Integer> totals = new ConcurrentHashMap<>();
+
+    // seat changes not yet written to mongo (or being written right now), one per flight.
+    // a booking or cancel adds its change here before it touches the counter, so rebase() never
+    // misses a change that is under way
+    private final Map<String, AtomicInteger> pending = new ConcurrentHashMap<>();
+
+    // newest seatsVersion of each flight this node has written or seen
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    // live seat maps of loaded flights that have one
+    private final Map<String, SeatMap> maps = new ConcurrentHashMap<>();
+
+    // flights whose seat map changed since it was last written
+    private final Set<String> dirtyMaps = ConcurrentHashMap.newKeySet();
+
+    // initialised as well so an inventory built by hand (tests, benchmarks) can still read seat maps
+    @Value("${flightapp.seats.per-row:6}")
+    private int seatsPerRow = 6;
+
+    // how often a claim on a stored seat map is tried again after losing the compare-and-set
+    private static final int SEAT_MAP_ATTEMPTS = 8;
+
+    // seats left on the flight after a booking, and the seat numbers it got (null without a seat map)
+    public record Reservation(int left, List<Integer> seatNumbers) {
+    }
+
+    private volatile Disposable flusher;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+
+        // I am loading every flight once at startup; putIfAbsent so a counter already
+        // created by an early booking is never replaced with an older value
+        flightRepository.findAll()
+                .doOnNext(this::register)
+                .count()
+                .subscribe(n -> log.info("seat inventory loaded {} flights", n),
+                        err -> log.warn("seat inventory preload failed, flights will load on first use", err));
+
+        // onBackpressureDrop so a slow flush just skips ticks instead of piling them up
+        flusher = Flux.interval(flushInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> flush())
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flusher != null) {
+            flusher.dispose();
+        }
+        // I am writing whatever is left so a clean shutdown never loses seat changes
+        flush().block(Duration.ofSeconds(10));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void register(Flight flight) {
+        if (flight.getId() != null) {
+            seats.putIfAbsent(flight.getId(), new AtomicInteger(flight.getAvailableSeats()));
+            totals.putIfAbsent(flight.getId(), flight.getTotalSeats());
+            seen(flight);
+            registerMap(flight);
+        }
+    }
+
+    private void registerMap(Flight flight) {
+        if (flight.getSeatMap() != null) {
+            maps.computeIfAbsent(flight.getId(), k -> readMap(flight));
+        }
+    }
+
+    private SeatMap readMap(Flight flight) {
+        return SeatMap.fromBytes(flight.getSeatMap(), flight.getTotalSeats(), seatsPerRow);
+    }
+
+    // takes seats and gives back how many are left, or fails with "Not enough seats"
+    public Mono<Integer> reserve(String flightId, int count) {
+        return reserve(flightId, count, null, false).map(Reservation::left);
+    }
+
+    // takes seats and picks their numbers: the wanted ones when given, otherwise a block side by side,
+    // otherwise (unless adjacentOnly) the lowest free seats
+    public Mono<Reservation> reserve(String flightId, int count, List<Integer> wanted, boolean adjacentOnly) {
+        if (!enabled) {
+            return flightRepository.decrementSeats(flightId, count)
+                    .doOnNext(this::announce)
+                    .switchIfEmpty(Mono.defer(() -> notReserved(flightId)))
+                    .flatMap(saved -> {
+                        if (saved.getSeatMap() == null) {
+                            return Mono.just(new Reservation(saved.getAvailableSeats(), null));
+                        }
+                        return changeStored(saved, map -> pick(map, count, wanted, adjacentOnly),
+                                notPicked(wanted, adjacentOnly), SEAT_MAP_ATTEMPTS)
+                                .map(seatNumbers -> new Reservation(saved.getAvailableSeats(), seatNumbers))
+                                // no seat numbers, so the count goes back as well
+                                .onErrorResume(err -> flightRepository.incrementSeats(flightId, count)
+                                        .doOnNext(this::announce)
+                                        .then(Mono.error(err)));
+                    });
+        }
+        return counter(flightId).flatMap(c -> {
+            AtomicInteger delta = pendingFor(flightId);
+            delta.addAndGet(-count);
+            int left = take(c, count);
+            if (left < 0) {
+                delta.addAndGet(count);
+                return Mono.error(ErrorCode.NOT_ENOUGH_SEATS.exception());
+            }
+            List<Integer> seatNumbers = null;
+            SeatMap map = maps.get(flightId);
+            if (map != null) {
+                seatNumbers = pick(map, count, wanted, adjacentOnly);
+                if (seatNumbers == null) {
+                    c.addAndGet(count);
+                    delta.addAndGet(count);
+                    return Mono.error(notPicked(wanted, adjacentOnly));
+                }
+                dirtyMaps.add(flightId);
+            }
+            return Mono.just(new Reservation(left, seatNumbers));
+        });
+    }
+
+    // puts seats back and gives back how many are left now
+    public Mono<Integer> release(String flightId, int count) {
+        return release(flightId, count, null);
+    }
+
+    // puts seats back, and frees their seat numbers when the booking had some
+    public Mono<Integer> release(String flightId, int count, List<Integer> seatNumbers) {
+        boolean numbered = seatNumbers != null && !seatNumbers.isEmpty();
+        if (!enabled) {
+            return flightRepository.incrementSeats(flightId, count)
+                    .doOnNext(this::announce)
+                    .switchIfEmpty(Mono.error(ErrorCode.FLIGHT_NOT_FOUND.exception()))
+                    .flatMap(saved -> {
+                        if (!numbered || saved.getSeatMap() == null) {
+                            return Mono.just(saved.getAvailableSeats());
+                        }
+                        return changeStored(saved, map -> {
+                                    map.release(seatNumbers);
+                                    return seatNumbers;
+                                }, ErrorCode.SEAT_MAP_BUSY.exception(), SEAT_MAP_ATTEMPTS)
+                                .thenReturn(saved.getAvailableSeats());
+                    });
+        }
+        return counter(flightId).map(c -> {
+            pendingFor(flightId).addAndGet(count);
+            int left = c.addAndGet(count);
+            SeatMap map = maps.get(flightId);
+            if (map != null && numbered) {
+                map.release(seatNumbers);
+                dirtyMaps.add(flightId);
+            }
+            return left;
+        });
+    }
+
+    // the seat map of a flight as it is now, or empty when the flight has none
+    public Mono<SeatMap> seatMap(String flightId) {
+        if (!enabled) {
+            return flightRepository.findById(flightId)
+                    .switchIfEmpty(Mono.error(ErrorCode.FLIGHT_NOT_FOUND.exception()))
+                    .filter(f -> f.getSeatMap() != null)
+                    .map(this::readMap);
+        }
+        return counter(flightId).mapNotNull(c -> maps.get(flightId));
+    }
+
+    // claims on the map, or null when the seats cannot be had
+    private static List<Integer> pick(SeatMap map, int count, List<Integer> wanted, boolean adjacentOnly) {
+        if (wanted != null) {
+            return map.claim(wanted) ? wanted : null;
+        }
+        List<Integer> block = map.claimAdjacent(count);
+        if (block != null || adjacentOnly) {
+            return block;
+        }
+        return map.claimAny(count);
+    }
+
+    private static BusinessException notPicked(List<Integer> wanted, boolean adjacentOnly) {
+        if (wanted != null) return ErrorCode.SEAT_UNAVAILABLE.exception();
+        if (adjacentOnly) return ErrorCode.NO_ADJACENT_SEATS.exception();
+        return ErrorCode.NOT_ENOUGH_SEATS.exception();
+    }
+
+    // applies a change to the stored seat map and writes it back only if nobody else wrote it meanwhile;
+    // on a lost race the map is read again and the change redone, a few times at most
+    private Mono<List<Integer>> changeStored(Flight flight, Function<SeatMap, List<Integer>> change,
+                                             BusinessException failure, int attempts) {
+        SeatMap map = readMap(flight);
+        List<Integer> changed = change.apply(map);
+        if (changed == null) {
+            return Mono.error(failure);
+        }
+        return flightRepository.compareAndSetSeatMap(flight.getId(), flight.getSeatMapVersion(), map.toBytes())
+                .flatMap(written -> {
+                    if (written) {
+                        return Mono.just(changed);
+                    }
+                    if (attempts <= 1) {
+                        return Mono.error(ErrorCode.SEAT_MAP_BUSY.exception());
+                    }
+                    return flightRepository.findById(flight.getId())
+                            .switchIfEmpty(Mono.error(ErrorCode.FLIGHT_NOT_FOUND.exception()))
+                            .flatMap(fresh -> changeStored(fresh, change, failure, attempts - 1));
+                });
+    }
+
+    // live seat count if this flight is loaded, otherwise -1
+    public int available(String flightId) {
+        AtomicInteger c = enabled ? seats.get(flightId) : null;
+        return c == null ? -1 : c.get();
+    }
+
+    // copies the live counter onto a flight read from mongo, which may still miss unflushed deltas
+    public Flight withLiveSeats(Flight flight) {
+        int live = available(flight.getId());
+        if (live >= 0) {
+            flight.setAvailableSeats(live);
+        }
+        return flight;
+    }
+
+    // share of seats sold per loaded flight, from the live counters (empty when disabled)
+    public Map<String, Double> loadFactors() {
+        Map<String, Double> factors = new HashMap<>();
+        seats.forEach((id, c) -> {
+            Integer total = totals.get(id);
+            if (total != null && total > 0) {
+                factors.put(id, (total - c.get()) / (double) total);
+            }
+        });
+        return factors;
+    }
+
+    public Mono<Void> flush() {
+        return Mono.when(flushCounts(), flushMaps());
+    }
+
+    private Mono<Void> flushMaps() {
+        return Flux.fromIterable(dirtyMaps)
+                .flatMap(flightId -> {
+                    // unmarked before the snapshot, so a change made while writing marks the flight again
+                    dirtyMaps.remove(flightId);
+                    SeatMap map = maps.get(flightId);
+                    if (map == null) return Mono.<Void>empty();
+                    return flightRepository.saveSeatMap(flightId, map.toBytes())
+                            .then()
+                            .onErrorResume(err -> {
+                                dirtyMaps.add(flightId);
+                                return Mono.empty();
+                            });
+                }, 16)
+                .then();
+    }
+
+    private Mono<Void> flushCounts() {
+        return Flux.fromIterable(pending.entrySet())
+                .flatMap(e -> {
+                    // the delta stays pending until mongo has it, so a failed write is simply retried
+                    // next tick and rebase() can see that this flight still has a write on the way
+                    int delta = e.getValue().get();
+                    if (delta == 0) return Mono.<Void>empty();
+                    return flightRepository.incrementSeats(e.getKey(), delta)
+                            .doOnNext(saved -> {
+                                // the version first, so once rebase() sees nothing pending it also
+                                // knows which events are older than this write
+                                seen(saved);
+                                e.getValue().addAndGet(-delta);
+                                announce(saved);
+                            })
+                            .then()
+                            .onErrorResume(err -> Mono.empty());
+                }, 16)
+                .then();
+    }
+
+    // another write changed the stored seat count. when this node has nothing pending for the flight
+    // and the write is newer than any it knows, the stored value already holds every change, so the
+    // counter is set to it. the counter is read before the pending check and only set if it has not
+    // moved since, so a booking that starts meanwhile is never overwritten
+    public void rebase(String flightId, int storedSeats, long seatsVersion) {
+        if (!enabled) return;
+        AtomicInteger c = seats.get(flightId);
+        if (c == null) return;
+        int current = c.get();
+        AtomicInteger waiting = pending.get(flightId);
+        if (waiting != null && waiting.get() != 0) return;
+        if (!newer(flightId, seatsVersion)) return;
+        c.compareAndSet(current, storedSeats);
+    }
+
+    private void seen(Flight flight) {
+        if (flight.getId() != null) {
+            versions.merge(flight.getId(), flight.getSeatsVersion(), Math::max);
+        }
+    }
+
+    // true, and remembered, when this version is newer than every one seen for the flight
+    private boolean newer(String flightId, long seatsVersion) {
+        boolean[] newer = new boolean[1];
+        versions.compute(flightId, (id, known) -> {
+            newer[0] = known == null || seatsVersion > known;
+            return newer[0] ? seatsVersion : known;
+        });
+        return newer[0];
+    }
+
+    private void announce(Flight saved) {
+        changeBus.publish(ChangeEvent.flight(ChangeEvent.Operation.UPDATED,
+                saved.getId(), saved.getFlightNumber(), saved.getAvailableSeats(), saved.getSeatsVersion()));
+    }
+
+    private Mono<AtomicInteger> counter(String flightId) {
+        AtomicInteger c = seats.get(flightId);
+        if (c != null) {
+            return Mono.just(c);
+        }
+        // first time we see this flight on this node, so I load it once
+        return flightRepository.findById(flightId)
+                .switchIfEmpty(Mono.error(ErrorCode.FLIGHT_NOT_FOUND.exception()))
+                .map(f -> {
+                    totals.putIfAbsent(flightId, f.getTotalSeats());
+                    seen(f);
+                    registerMap(f);
+                    return seats.computeIfAbsent(flightId, k -> new AtomicInteger(f.getAvailableSeats()));
+                });
+    }
+
+    private AtomicInteger pendingFor(String flightId) {
+        return pending.computeIfAbsent(flightId, k -> new AtomicInteger());
+    }
+
+    // CAS loop: returns seats left after taking, or -1 when there were not enough
+    private static int take(AtomicInteger counter, int count) {
+        while (true) {
+            int current = counter.get();
+            if (current < count) {
+                return -1;
+            }
+            if (counter.compareAndSet(current, current - count)) {
+                return current - count;
+            }
+        }
+    }
+
+    private <T> Mono<T> notReserved(String flightId) {
+        // the conditional update matched nothing, so I only look up the flight to pick the right error
+        return flightRepository.existsById(flightId)
+                .flatMap(exists -> Mono.<T>error(exists
+                        ? ErrorCode.NOT_ENOUGH_SEATS.exception()
+                        : ErrorCode.FLIGHT_NOT_FOUND.exception()));
+    }
+}
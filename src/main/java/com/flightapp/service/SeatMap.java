@@ -0,0 +1,244 @@
+package com.flightapp.service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Which seats of one flight are taken, one bit per seat in an AtomicLongArray (a set bit is a taken seat).
+ * Seats are numbered from 1, and seat n is bit (n - 1) % 64 of word (n - 1) / 64. Rows are seatsPerRow
+ * seats long and "adjacent" means next to each other in one row.
+ *
+ * Every claim is a compareAndSet on the word(s) holding the seats, so bookings never lock and two
+ * bookings can never get the same seat. A claim that needs two words rolls the first back when the
+ * second is lost. Bits past the last seat are kept set, so searches never hand them out.
+ *
+ * Stored in mongo as Flight.seatMap, the words as little endian longs, 8 bytes per 64 seats.
+ */
+public final class SeatMap {
+
+    private final int seats;
+    private final int seatsPerRow;
+    private final AtomicLongArray words;
+
+    // per group size n, the seats a block of n may start at without leaving its row or the plane.
+    // built once per size on first use; plain array publication is fine since rebuilding gives the same masks
+    private final long[][] blockStarts;
+
+    public SeatMap(int seats, int seatsPerRow) {
+        if (seats < 0) throw new IllegalArgumentException("seats must be >= 0");
+        if (seatsPerRow < 1 || seatsPerRow > 64) throw new IllegalArgumentException("seatsPerRow must be 1..64");
+        this.seats = seats;
+        this.seatsPerRow = seatsPerRow;
+        this.words = new AtomicLongArray(wordCount(seats));
+        this.blockStarts = new long[seatsPerRow + 1][];
+        int tail = seats % 64;
+        if (tail != 0) {
+            words.set(words.length() - 1, -1L << tail);
+        }
+    }
+
+    // a map as written by toBytes; missing bytes (a flight that grew) read as free seats
+    public static SeatMap fromBytes(byte[] bytes, int seats, int seatsPerRow) {
+        SeatMap map = new SeatMap(seats, seatsPerRow);
+        ByteBuffer in = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        for (int w = 0; w < map.words.length() && in.remaining() >= Long.BYTES; w++) {
+            map.words.set(w, map.words.get(w) | in.getLong());
+        }
+        return map;
+    }
+
+    // the stored form of a flight with every seat free
+    public static byte[] emptyBytes(int seats) {
+        return new byte[wordCount(seats) * Long.BYTES];
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer out = ByteBuffer.allocate(words.length() * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int w = 0; w < words.length(); w++) {
+            out.putLong(words.get(w));
+        }
+        return out.array();
+    }
+
+    public int seats() {
+        return seats;
+    }
+
+    public int seatsPerRow() {
+        return seatsPerRow;
+    }
+
+    public boolean exists(int seat) {
+        return seat >= 1 && seat <= seats;
+    }
+
+    public boolean isTaken(int seat) {
+        int bit = seat - 1;
+        return (words.get(bit >>> 6) & (1L << bit)) != 0;
+    }
+
+    public int freeCount() {
+        int taken = 0;
+        for (int w = 0; w < words.length(); w++) {
+            taken += Long.bitCount(words.get(w));
+        }
+        return words.length() * 64 - taken;
+    }
+
+    public List<Integer> freeSeats() {
+        List<Integer> free = new ArrayList<>();
+        for (int w = 0; w < words.length(); w++) {
+            long bits = ~words.get(w);
+            while (bits != 0) {
+                free.add(w * 64 + Long.numberOfTrailingZeros(bits) + 1);
+                bits &= bits - 1;
+            }
+        }
+        return free;
+    }
+
+    // takes exactly these seats or none of them; false when one is taken (or does not exist)
+    public boolean claim(List<Integer> wanted) {
+        for (int i = 0; i < wanted.size(); i++) {
+            int seat = wanted.get(i);
+            if (!exists(seat) || !claimBits((seat - 1) >>> 6, 1L << (seat - 1))) {
+                release(wanted.subList(0, i));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // takes n seats side by side in one row, the first such block from the front, or null when there is none
+    public List<Integer> claimAdjacent(int n) {
+        if (n < 1 || n > seatsPerRow) return null;
+        long[] starts = blockStarts(n);
+        while (true) {
+            int start = findBlock(n, starts);
+            if (start < 0) return null;
+            if (claimRange(start, n)) {
+                List<Integer> block = new ArrayList<>(n);
+                for (int i = 0; i < n; i++) block.add(start + i + 1);
+                return block;
+            }
+            // another booking got part of that block first, so look again
+        }
+    }
+
+    // takes the n lowest free seats wherever they are, or none when fewer than n are free
+    public List<Integer> claimAny(int n) {
+        List<Integer> got = new ArrayList<>(n);
+        for (int w = 0; w < words.length() && got.size() < n; w++) {
+            while (true) {
+                long current = words.get(w);
+                long free = ~current;
+                long pick = 0;
+                for (int need = n - got.size(); need > 0 && free != 0; need--) {
+                    long lowest = free & -free;
+                    pick |= lowest;
+                    free ^= lowest;
+                }
+                if (pick == 0) break;
+                if (words.compareAndSet(w, current, current | pick)) {
+                    while (pick != 0) {
+                        got.add(w * 64 + Long.numberOfTrailingZeros(pick) + 1);
+                        pick &= pick - 1;
+                    }
+                    break;
+                }
+            }
+        }
+        if (got.size() < n) {
+            release(got);
+            return null;
+        }
+        return got;
+    }
+
+    public void release(List<Integer> taken) {
+        for (int seat : taken) {
+            if (!exists(seat)) continue;
+            int bit = seat - 1;
+            long mask = 1L << bit;
+            int w = bit >>> 6;
+            while (true) {
+                long current = words.get(w);
+                if (words.compareAndSet(w, current, current & ~mask)) break;
+            }
+        }
+    }
+
+    // first seat index (0 based) where n free seats in a row begin, or -1.
+    // per word: a bit survives in runs only when it and the next n - 1 seats are free, the next
+    // word's low bits filling in at the top, then only allowed block starts are kept
+    private int findBlock(int n, long[] starts) {
+        int last = words.length() - 1;
+        for (int w = 0; w <= last; w++) {
+            long free = ~words.get(w);
+            long nextFree = w < last ? ~words.get(w + 1) : 0;
+            long runs = free;
+            for (int k = 1; k < n && runs != 0; k++) {
+                runs &= (free >>> k) | (nextFree << (64 - k));
+            }
+            runs &= starts[w];
+            if (runs != 0) {
+                return w * 64 + Long.numberOfTrailingZeros(runs);
+            }
+        }
+        return -1;
+    }
+
+    private long[] blockStarts(int n) {
+        long[] starts = blockStarts[n];
+        if (starts == null) {
+            starts = new long[words.length()];
+            for (int row = 0; row < seats; row += seatsPerRow) {
+                int rowEnd = Math.min(row + seatsPerRow, seats);
+                for (int s = row; s + n <= rowEnd; s++) {
+                    starts[s >>> 6] |= 1L << s;
+                }
+            }
+            blockStarts[n] = starts;
+        }
+        return starts;
+    }
+
+    // claims seats [start, start + n) which lie in at most two words
+    private boolean claimRange(int start, int n) {
+        int w = start >>> 6;
+        int bit = start & 63;
+        int inFirst = Math.min(n, 64 - bit);
+        long firstMask = bits(inFirst) << bit;
+        if (!claimBits(w, firstMask)) return false;
+        if (inFirst == n) return true;
+        if (claimBits(w + 1, bits(n - inFirst))) return true;
+        clearBits(w, firstMask);
+        return false;
+    }
+
+    private boolean claimBits(int w, long mask) {
+        while (true) {
+            long current = words.get(w);
+            if ((current & mask) != 0) return false;
+            if (words.compareAndSet(w, current, current | mask)) return true;
+        }
+    }
+
+    private void clearBits(int w, long mask) {
+        while (true) {
+            long current = words.get(w);
+            if (words.compareAndSet(w, current, current & ~mask)) return;
+        }
+    }
+
+    private static long bits(int count) {
+        return count == 64 ? -1L : (1L << count) - 1;
+    }
+
+    private static int wordCount(int seats) {
+        return (seats + 63) >>> 6;
+    }
+}
@@ -0,0 +1,239 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.repsonse.BookingResponse;
+import com.flightapp.dto.repsonse.WaitlistResponse;
+import com.flightapp.dto.request.BookingRequest;
+import com.flightapp.enums.WaitlistStatus;
+import com.flightapp.exception.BusinessException;
+import com.flightapp.exception.ErrorCode;
+import com.flightapp.mapper.EmailNormalizer;
+import com.flightapp.model.WaitlistEntry;
+import com.flightapp.repository.WaitlistRepository;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * FIFO waitlist per flight, so a sold out customer waits on the server instead of retrying the booking.
+ *
+ * Entries are stored in mongo. When seats come back (a cancel) or someone joins, the flight is queued
+ * for a promotion run; runs are taken in batches and each flight runs at most once at a time.
+ * A run books the oldest waiting entry through FlightService, then the next, and stops at the first
+ * one the free seats cannot cover, so later, smaller requests never jump the queue.
+ *
+ * The oldest entries of each flight (up to head-size) are kept in memory between runs, so most
+ * promotions cost no queue read. Each entry is claimed in mongo (WAITING -> PROMOTING) before it is
+ * booked, so with several nodes a stale head just skips entries another node already took.
+ * An entry left PROMOTING by a node that died mid booking is not picked up again.
+ */
+@Service
+public class WaitlistService {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistService.class);
+
+    @Autowired
+    private WaitlistRepository waitlistRepository; // I added this to keep the queue in mongo
+
+    @Autowired
+    private FlightService flightService; // I added this so a promotion books exactly like a normal booking
+
+    // entries of one flight held in memory
+    @Value("${flightapp.waitlist.head-size:32}")
+    private int headSize = 32;
+
+    // flights whose head is kept between runs, past this a head is dropped when its run ends
+    @Value("${flightapp.waitlist.max-cached-flights:1000}")
+    private int maxCachedFlights = 1000;
+
+    // flights collected into one promotion batch, and how long a batch waits to fill up
+    @Value("${flightapp.waitlist.batch-size:64}")
+    private int batchSize = 64;
+
+    @Value("${flightapp.waitlist.batch-window:200ms}")
+    private Duration batchWindow = Duration.ofMillis(200);
+
+    @Value("${flightapp.seats.per-row:6}")
+    private int seatsPerRow = 6;
+
+    // oldest waiting entries per flight, in join order
+    private final Map<String, Deque<WaitlistEntry>> heads = new ConcurrentHashMap<>();
+
+    // flights queued for a run that has not started yet, so a burst of cancels asks for one run
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+
+    private final Sinks.Many<String> runs = Sinks.many().unicast().onBackpressureBuffer();
+
+    private volatile Disposable promoter;
+
+    private enum Outcome { PROMOTED, SKIPPED, WAIT }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // concatMap between batches and distinct flights within one, so a flight never runs twice at once
+        promoter = runs.asFlux()
+                .bufferTimeout(batchSize, batchWindow)
+                .concatMap(batch -> Flux.fromIterable(new LinkedHashSet<>(batch))
+                        .flatMap(flightId -> promote(flightId)
+                                .onErrorResume(err -> {
+                                    log.warn("waitlist promotion failed for flight {}", flightId, err);
+                                    return Mono.just(0);
+                                })))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (promoter != null) {
+            promoter.dispose();
+        }
+    }
+
+    public Mono<WaitlistResponse> join(BookingRequest req) {
+        if (req.getSeatNumbers() != null && !req.getSeatNumbers().isEmpty()) {
+            return Mono.error(new IllegalArgumentException("seatNumbers cannot be picked on the waitlist"));
+        }
+        // a request no free seats could ever cover would hold up everyone behind it
+        if (req.isAdjacent() && req.getSeats() > seatsPerRow) {
+            return Mono.error(ErrorCode.NO_ADJACENT_SEATS.exception());
+        }
+        return flightService.getFlightById(req.getFlightId())
+                .switchIfEmpty(Mono.error(ErrorCode.FLIGHT_NOT_FOUND.exception()))
+                .flatMap(flight -> {
+                    if (req.getSeats() > flight.getTotalSeats()) {
+                        return Mono.error(ErrorCode.NOT_ENOUGH_SEATS.exception());
+                    }
+                    WaitlistEntry entry = new WaitlistEntry();
+                    entry.setId(new ObjectId().toHexString());
+                    entry.setFlightId(flight.getId());
+                    entry.setSeats(req.getSeats());
+                    entry.setAdjacent(req.isAdjacent());
+                    entry.setName(req.getName());
+                    entry.setEmail(EmailNormalizer.normalize(req.getEmail()));
+                    entry.setGender(req.getGender());
+                    entry.setMealPreference(req.getMealPreference());
+                    entry.setStatus(WaitlistStatus.WAITING);
+                    entry.setCreatedAt(Instant.now());
+                    return waitlistRepository.insert(entry);
+                })
+                // seats may already be free, so the new entry gets a run straight away
+                .doOnNext(saved -> seatsFreed(saved.getFlightId()))
+                .map(WaitlistService::toResponse);
+    }
+
+    public Mono<WaitlistResponse> getEntry(String id) {
+        return waitlistRepository.findById(id)
+                .map(WaitlistService::toResponse)
+                .switchIfEmpty(Mono.error(ErrorCode.WAITLIST_NOT_FOUND.exception()));
+    }
+
+    // called after seats of a flight came back; only queues a run, the booking work happens later
+    public void seatsFreed(String flightId) {
+        if (queued.add(flightId)) {
+            emit(flightId);
+        }
+    }
+
+    // synchronized because a sink accepts one emitter at a time; the work inside is only a hand-off
+    private synchronized void emit(String flightId) {
+        runs.tryEmitNext(flightId);
+    }
+
+    // one run for one flight, gives the number of entries booked
+    Mono<Integer> promote(String flightId) {
+        // removed before the run starts, so seats freed from now on ask for another run
+        queued.remove(flightId);
+        Deque<WaitlistEntry> head = heads.computeIfAbsent(flightId, id -> new ArrayDeque<>());
+        return promoteFrom(flightId, head, 0)
+                .doFinally(signal -> {
+                    if (head.isEmpty() || heads.size() > maxCachedFlights) {
+                        heads.remove(flightId);
+                    }
+                });
+    }
+
+    private Mono<Integer> promoteFrom(String flightId, Deque<WaitlistEntry> head, int promoted) {
+        Mono<WaitlistEntry> next = head.isEmpty()
+                ? refill(flightId, head)
+                : Mono.just(head.peekFirst());
+        return next
+                .flatMap(entry -> promoteOne(entry).flatMap(outcome -> {
+                    if (outcome == Outcome.WAIT) {
+                        return Mono.just(promoted);
+                    }
+                    head.pollFirst();
+                    return promoteFrom(flightId, head, outcome == Outcome.PROMOTED ? promoted + 1 : promoted);
+                }))
+                .defaultIfEmpty(promoted);
+    }
+
+    private Mono<WaitlistEntry> refill(String flightId, Deque<WaitlistEntry> head) {
+        return waitlistRepository.findWaiting(flightId, headSize)
+                .collectList()
+                .flatMap(loaded -> {
+                    head.addAll(loaded);
+                    return Mono.justOrEmpty(head.peekFirst());
+                });
+    }
+
+    private Mono<Outcome> promoteOne(WaitlistEntry entry) {
+        return waitlistRepository.claim(entry.getId())
+                .flatMap(claimed -> {
+                    // another node got it first, or it is no longer waiting
+                    if (!claimed) return Mono.just(Outcome.SKIPPED);
+                    return flightService.bookTicket(entry.getFlightId(), entry.getSeats(), entry.getName(),
+                                    entry.getEmail(), entry.getGender(), entry.getMealPreference(), null, entry.isAdjacent())
+                            .flatMap(booked -> markPromoted(entry, booked))
+                            .onErrorResume(err -> {
+                                if (mustWait(err)) {
+                                    return waitlistRepository.unclaim(entry.getId()).thenReturn(Outcome.WAIT);
+                                }
+                                return waitlistRepository.markFailed(entry.getId(), err.getMessage())
+                                        .thenReturn(Outcome.SKIPPED);
+                            });
+                });
+    }
+
+    // the booking is made by now, so failing to record it leaves the entry PROMOTING rather than booking it twice
+    private Mono<Outcome> markPromoted(WaitlistEntry entry, BookingResponse booked) {
+        return waitlistRepository.markPromoted(entry.getId(), booked.getPnr(), booked.getSeatNumbers(), Instant.now())
+                .onErrorResume(err -> {
+                    log.warn("waitlist entry {} was booked as {} but could not be marked promoted",
+                            entry.getId(), booked.getPnr(), err);
+                    return Mono.just(true);
+                })
+                .thenReturn(Outcome.PROMOTED);
+    }
+
+    // the seats are not there yet; anything else means this entry can never be booked
+    private static boolean mustWait(Throwable err) {
+        if (!(err instanceof BusinessException business)) return false;
+        ErrorCode code = business.getCode();
+        return code == ErrorCode.NOT_ENOUGH_SEATS
+                || code == ErrorCode.NO_ADJACENT_SEATS
+                || code == ErrorCode.SEAT_MAP_BUSY;
+    }
+
+    private static WaitlistResponse toResponse(WaitlistEntry e) {
+        return new WaitlistResponse(e.getId(), e.getFlightId(), e.getSeats(), e.getStatus(),
+                e.getPnr(), e.getSeatNumbers(), e.getFailure());
+    }
+}
@@ -0,0 +1,86 @@
+package com.flightapp.validation;
+
+/**
+ * The @Email check written out by hand: local part and domain of the address split at the last '@'.
+ * Follows Hibernate Validator's rules for the usual dot-atom addresses (name.surname+tag@mail.example.com),
+ * including null and "" counting as valid. Quoted local parts and [ip] domains are not accepted;
+ * nobody books tickets with those.
+ */
+final class EmailRule {
+
+    private static final int MAX_LOCAL_PART = 64;
+    private static final int MAX_DOMAIN = 255;
+    private static final int MAX_LABEL = 63;
+
+    private static final String LOCAL_SPECIALS = "!#$%&'*+/=?^_`{|}~-";
+
+    private EmailRule() {
+    }
+
+    static boolean isValid(String email) {
+        if (email == null || email.isEmpty()) {
+            return true;
+        }
+        int at = email.lastIndexOf('@');
+        if (at < 0) {
+            return false;
+        }
+        return isValidLocalPart(email, 0, at) && isValidDomain(email, at + 1, email.length());
+    }
+
+    // dot separated atoms, no empty atom (so no leading, trailing or double dots)
+    private static boolean isValidLocalPart(String s, int from, int to) {
+        if (to - from == 0 || to - from > MAX_LOCAL_PART) {
+            return false;
+        }
+        boolean atomStart = true;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c == '.') {
+                if (atomStart) return false;
+                atomStart = true;
+            } else if (isLetterOrDigit(c) || LOCAL_SPECIALS.indexOf(c) >= 0) {
+                atomStart = false;
+            } else {
+                return false;
+            }
+        }
+        return !atomStart;
+    }
+
+    // dot separated labels, each at most 63 long and not starting or ending with a hyphen.
+    // the annotation allows the same special characters here as in the local part
+    private static boolean isValidDomain(String s, int from, int to) {
+        if (to - from == 0 || to - from > MAX_DOMAIN) {
+            return false;
+        }
+        int labelStart = from;
+        for (int i = from; i <= to; i++) {
+            if (i == to || s.charAt(i) == '.') {
+                if (!isValidLabel(s, labelStart, i)) return false;
+                labelStart = i + 1;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isValidLabel(String s, int from, int to) {
+        int len = to - from;
+        if (len == 0 || len > MAX_LABEL) {
+            return false;
+        }
+        if (s.charAt(from) == '-' || s.charAt(to - 1) == '-') {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (!isLetterOrDigit(c) && LOCAL_SPECIALS.indexOf(c) < 0) return false;
+        }
+        return true;
+    }
+
+    // ascii letters and digits, plus everything from \u0080 up like the annotation's pattern
+    private static boolean isLetterOrDigit(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c >= '\u0080';
+    }
+}
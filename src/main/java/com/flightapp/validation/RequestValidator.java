@@ -0,0 +1,128 @@
+package com.flightapp.validation;
+
+import com.flightapp.dto.request.AddFlightRequest;
+import com.flightapp.dto.request.BookingRequest;
+import com.flightapp.dto.request.HoldConfirmRequest;
+import com.flightapp.dto.request.SeatHoldRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Checks the request bodies (flights, bookings, seat holds) before anything else happens, in the
+ * same order every time, and stops at the first problem.
+ *
+ * The rules are the ones declared with annotations on the request classes, written out once as
+ * plain getter calls, so a request is checked without Bean Validation's reflection and
+ * violation objects. The error text keeps the old "field message" format.
+ * RequestValidatorTest compares these rules against Bean Validation, so keep both in step.
+ */
+@Component
+public class RequestValidator {
+
+    // one check on one field; returns the error text or null when fine
+    private interface Rule<T> {
+        String check(T req);
+    }
+
+    private static final List<Rule<AddFlightRequest>> FLIGHT_RULES = List.of(
+            notBlank("airline", AddFlightRequest::getAirline),
+            notBlank("flightNumber", AddFlightRequest::getFlightNumber),
+            notBlank("fromPlace", AddFlightRequest::getFromPlace),
+            notBlank("toPlace", AddFlightRequest::getToPlace),
+            notBlank("departureDateTime", AddFlightRequest::getDepartureDateTime),
+            notBlank("arrivalDateTime", AddFlightRequest::getArrivalDateTime),
+            notNull("price", AddFlightRequest::getPrice),
+            positive("price", "price must be > 0", AddFlightRequest::getPrice),
+            notNull("totalSeats", AddFlightRequest::getTotalSeats),
+            positive("totalSeats", "totalSeats must be > 0", AddFlightRequest::getTotalSeats),
+            notBlank("aircraft", AddFlightRequest::getAircraft)
+    );
+
+    private static final List<Rule<BookingRequest>> BOOKING_RULES = List.of(
+            notBlank("flightId", BookingRequest::getFlightId),
+            req -> req.getSeats() >= 1 ? null : error("seats", "seats must be >= 1"),
+            notBlank("name", BookingRequest::getName),
+            req -> EmailRule.isValid(req.getEmail()) ? null : error("email", "email must be valid"),
+            notNull("gender", BookingRequest::getGender),
+            notNull("mealPreference", BookingRequest::getMealPreference)
+    );
+
+    private static final List<Rule<SeatHoldRequest>> HOLD_RULES = List.of(
+            notBlank("flightId", SeatHoldRequest::getFlightId),
+            req -> req.getSeats() >= 1 ? null : error("seats", "seats must be >= 1")
+    );
+
+    private static final List<Rule<HoldConfirmRequest>> CONFIRM_RULES = List.of(
+            notBlank("name", HoldConfirmRequest::getName),
+            req -> EmailRule.isValid(req.getEmail()) ? null : error("email", "email must be valid"),
+            notNull("gender", HoldConfirmRequest::getGender),
+            notNull("mealPreference", HoldConfirmRequest::getMealPreference)
+    );
+
+    // first problem with the flight request, or null when it is fine
+    public String check(AddFlightRequest req) {
+        return firstError(FLIGHT_RULES, req);
+    }
+
+    // first problem with the booking request, or null when it is fine
+    public String check(BookingRequest req) {
+        return firstError(BOOKING_RULES, req);
+    }
+
+    // first problem with the seat hold request, or null when it is fine
+    public String check(SeatHoldRequest req) {
+        return firstError(HOLD_RULES, req);
+    }
+
+    // first problem with the passenger details of a hold confirmation, or null when they are fine
+    public String check(HoldConfirmRequest req) {
+        return firstError(CONFIRM_RULES, req);
+    }
+
+    private static <T> String firstError(List<Rule<T>> rules, T req) {
+        if (req == null) {
+            return "request body is missing";
+        }
+        for (int i = 0; i < rules.size(); i++) {
+            String error = rules.get(i).check(req);
+            if (error != null) {
+                return error;
+            }
+        }
+        return null;
+    }
+
+    private static <T> Rule<T> notBlank(String field, Function<T, String> getter) {
+        String error = error(field, field + " must not be blank");
+        return req -> isBlank(getter.apply(req)) ? error : null;
+    }
+
+    private static <T> Rule<T> notNull(String field, Function<T, Object> getter) {
+        String error = error(field, field + " must not be null");
+        return req -> getter.apply(req) == null ? error : null;
+    }
+
+    // like @Positive: null passes (a missing number is not negative)
+    private static <T> Rule<T> positive(String field, String message, Function<T, Number> getter) {
+        String error = error(field, message);
+        return req -> {
+            Number n = getter.apply(req);
+            return n == null || n.doubleValue() > 0 ? null : error;
+        };
+    }
+
+    // same as @NotBlank: null, empty, or only characters that String.trim() removes
+    private static boolean isBlank(String s) {
+        if (s == null) return true;
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) > ' ') return false;
+        }
+        return true;
+    }
+
+    private static String error(String field, String message) {
+        return field + " " + message;
+    }
+}
@@ -0,0 +1,46 @@
+package com.flightapp.benchmark;
+
+import com.flightapp.dto.request.AddFlightRequest;
+import com.flightapp.mapper.FlightMapper;
+import com.flightapp.model.Flight;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AddFlightRequest to Flight, which is mostly the two Instant.parse calls.
+ * Runs once per row on bulk upload, so it is worth watching.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlightMapperBenchmark {
+
+    private final AddFlightRequest request = new AddFlightRequest(
+            "IndiGo", "6E-201", "DEL", "BOM",
+            "2026-05-01T06:30:00Z", "2026-05-01T08:45:00Z",
+            5400f, 180, "A320");
+
+    @Benchmark
+    public Flight toFlight() {
+        return FlightMapper.toFlight(request);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FlightMapperBenchmark.class.getSimpleName()).build()).run();
+    }
+}
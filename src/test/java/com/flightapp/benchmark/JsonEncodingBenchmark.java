@@ -0,0 +1,80 @@
+package com.flightapp.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.flightapp.enums.BookingStatus;
+import com.flightapp.enums.Gender;
+import com.flightapp.enums.MealType;
+import com.flightapp.model.Booking;
+import com.flightapp.model.Flight;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson encoding of the Flight and Booking lists the search and history endpoints return.
+ * The mapper is built the way Spring Boot builds it (java time module, ISO dates).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonEncodingBenchmark {
+
+    @Param({"10", "100"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private List<Flight> flights;
+    private List<Booking> bookings;
+
+    @Setup
+    public void setUp() {
+        mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        Instant dep = Instant.parse("2026-05-01T06:30:00Z");
+        flights = new ArrayList<>(size);
+        bookings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            flights.add(new Flight("f" + i, "IndiGo", "6E-" + (100 + i), "DEL", "BOM",
+                    dep.plusSeconds(i * 600L), dep.plusSeconds(i * 600L + 8100), 5400f + i, 180, 180 - i, 0L, "A320", null, 0L));
+            bookings.add(new Booking("b" + i, "PNR" + (100 + i), "f" + i, 1 + i % 4, List.of(1 + i), "Asha", "asha@example.com",
+                    Gender.FEMALE, MealType.VEG, BookingStatus.BOOKED, dep.minusSeconds(i), null));
+        }
+    }
+
+    @Benchmark
+    public byte[] flightList() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(flights);
+    }
+
+    @Benchmark
+    public byte[] bookingList() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(bookings);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsonEncodingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,104 @@
+package com.flightapp.benchmark;
+
+import com.flightapp.dto.request.AddFlightRequest;
+import com.flightapp.dto.request.BookingRequest;
+import com.flightapp.enums.Gender;
+import com.flightapp.enums.MealType;
+import com.flightapp.validation.RequestValidator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request checks before the service is called: Bean Validation (what the controllers used to run)
+ * against the hand written RequestValidator, for good requests and for rejected ones.
+ * Rejected traffic is where Bean Validation is slowest, it builds violation objects and messages.
+ * Run with -prof gc to compare allocation as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestValidationBenchmark {
+
+    private Validator validator;
+    private final RequestValidator requestValidator = new RequestValidator();
+    private BookingRequest valid;
+    private BookingRequest invalid;
+    private AddFlightRequest validFlight;
+    private AddFlightRequest invalidFlight;
+
+    @Setup
+    public void setUp() {
+        // same interpolator Spring Boot falls back to when there is no EL on the classpath
+        validator = Validation.byDefaultProvider()
+                .configure()
+                .messageInterpolator(new ParameterMessageInterpolator())
+                .buildValidatorFactory()
+                .getValidator();
+        valid = new BookingRequest("f1", 2, "Asha", "asha@example.com", Gender.FEMALE, MealType.VEG);
+        invalid = new BookingRequest("f1", 0, "", "asha@example.com", Gender.FEMALE, MealType.VEG);
+        validFlight = new AddFlightRequest("IndiGo", "6E-201", "DEL", "BOM",
+                "2026-05-01T06:30:00Z", "2026-05-01T08:45:00Z", 5400f, 180, "A320");
+        invalidFlight = new AddFlightRequest("IndiGo", "6E-201", "DEL", "BOM",
+                "2026-05-01T06:30:00Z", "2026-05-01T08:45:00Z", -1f, 0, "A320");
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BookingRequest>> beanValidationBookingValid() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BookingRequest>> beanValidationBookingRejected() {
+        return validator.validate(invalid);
+    }
+
+    @Benchmark
+    public String requestValidatorBookingValid() {
+        return requestValidator.check(valid);
+    }
+
+    @Benchmark
+    public String requestValidatorBookingRejected() {
+        return requestValidator.check(invalid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<AddFlightRequest>> beanValidationFlightRejected() {
+        return validator.validate(invalidFlight);
+    }
+
+    @Benchmark
+    public String requestValidatorFlightValid() {
+        return requestValidator.check(validFlight);
+    }
+
+    @Benchmark
+    public String requestValidatorFlightRejected() {
+        return requestValidator.check(invalidFlight);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RequestValidationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,185 @@
+package com.flightapp.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightapp.controller.BookingController;
+import com.flightapp.controller.CancelController;
+import com.flightapp.controller.FlightController;
+import com.flightapp.dto.repsonse.BookingResponse;
+import com.flightapp.dto.request.BookingRequest;
+import com.flightapp.enums.BookingStatus;
+import com.flightapp.enums.Gender;
+import com.flightapp.enums.MealType;
+import com.flightapp.exception.GlobalErrorHandler;
+import com.flightapp.model.Booking;
+import com.flightapp.model.Flight;
+import com.flightapp.router.InventoryHandler;
+import com.flightapp.router.InventoryRouter;
+import com.flightapp.service.BookingService;
+import com.flightapp.service.CancelService;
+import com.flightapp.service.FlightService;
+import com.flightapp.validation.RequestValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * The same four calls (book, booking by pnr, cancel, flight by id) through the annotated controllers
+ * and through InventoryRouter, on a mock server with stubbed services, so only dispatch, argument
+ * handling and json writing differ. Compare ops/ms, and gc.alloc.rate.norm from -prof gc.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoutingBenchmark {
+
+    private static final String BASE = "/api/flight/airline/inventory";
+
+    private WebTestClient controllers;
+    private WebTestClient router;
+    private byte[] bookingJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        // stubOnly: the mocks do not record calls, which would pile up over millions of invocations
+        FlightService flightService = mock(FlightService.class, withSettings().stubOnly());
+        BookingService bookingService = mock(BookingService.class, withSettings().stubOnly());
+        CancelService cancelService = mock(CancelService.class, withSettings().stubOnly());
+
+        Instant dep = Instant.parse("2026-05-01T06:30:00Z");
+        Flight flight = new Flight("f1", "IndiGo", "6E-201", "DEL", "BOM",
+                dep, dep.plusSeconds(8100), 5400f, 180, 120, 0L, "A320", null, 0L);
+        Booking booking = new Booking("b1", "PNR100", "f1", 2, List.of(13, 14), "Asha", "asha@example.com",
+                Gender.FEMALE, MealType.VEG, BookingStatus.BOOKED, dep.minusSeconds(86400), null);
+        when(flightService.bookTicket(any(), anyInt(), any(), any(), any(), any(), any(), anyBoolean()))
+                .thenReturn(Mono.just(new BookingResponse("PNR100", List.of(13, 14))));
+        when(flightService.getFlightById(any())).thenReturn(Mono.just(flight));
+        when(bookingService.getBookingByPnr(any())).thenReturn(Mono.just(booking));
+        when(cancelService.cancelBooking(any())).thenReturn(Mono.just("Booking cancelled"));
+
+        RequestValidator validator = new RequestValidator();
+        GlobalErrorHandler errorHandler = new GlobalErrorHandler();
+
+        BookingController bookingController = new BookingController();
+        ReflectionTestUtils.setField(bookingController, "flightService", flightService);
+        ReflectionTestUtils.setField(bookingController, "bookingService", bookingService);
+        ReflectionTestUtils.setField(bookingController, "requestValidator", validator);
+        CancelController cancelController = new CancelController();
+        ReflectionTestUtils.setField(cancelController, "cancelService", cancelService);
+        FlightController flightController = new FlightController();
+        ReflectionTestUtils.setField(flightController, "flightService", flightService);
+        ReflectionTestUtils.setField(flightController, "requestValidator", validator);
+        controllers = WebTestClient.bindToController(bookingController, cancelController, flightController)
+                .controllerAdvice(errorHandler)
+                .build();
+
+        InventoryHandler handler = new InventoryHandler();
+        ReflectionTestUtils.setField(handler, "flightService", flightService);
+        ReflectionTestUtils.setField(handler, "bookingService", bookingService);
+        ReflectionTestUtils.setField(handler, "cancelService", cancelService);
+        ReflectionTestUtils.setField(handler, "requestValidator", validator);
+        ReflectionTestUtils.setField(handler, "errorHandler", errorHandler);
+        router = WebTestClient.bindToRouterFunction(new InventoryRouter().inventoryRoutes(handler)).build();
+
+        // encoded once so the client side costs the same on both sides
+        bookingJson = new ObjectMapper().writeValueAsBytes(new BookingRequest(
+                "f1", 2, "Asha", "asha@example.com", Gender.FEMALE, MealType.VEG));
+    }
+
+    private byte[] book(WebTestClient client) {
+        return client.post().uri(BASE + "/book")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(bookingJson)
+                .exchange()
+                .expectBody().returnResult().getResponseBodyContent();
+    }
+
+    private byte[] getBooking(WebTestClient client) {
+        return client.get().uri(BASE + "/booking/PNR100")
+                .exchange()
+                .expectBody().returnResult().getResponseBodyContent();
+    }
+
+    private byte[] cancel(WebTestClient client) {
+        return client.delete().uri(BASE + "/booking/PNR100")
+                .exchange()
+                .expectBody().returnResult().getResponseBodyContent();
+    }
+
+    private byte[] getFlight(WebTestClient client) {
+        return client.get().uri(BASE + "/f1")
+                .exchange()
+                .expectBody().returnResult().getResponseBodyContent();
+    }
+
+    @Benchmark
+    public byte[] bookController() {
+        return book(controllers);
+    }
+
+    @Benchmark
+    public byte[] bookRouter() {
+        return book(router);
+    }
+
+    @Benchmark
+    public byte[] getBookingController() {
+        return getBooking(controllers);
+    }
+
+    @Benchmark
+    public byte[] getBookingRouter() {
+        return getBooking(router);
+    }
+
+    @Benchmark
+    public byte[] cancelController() {
+        return cancel(controllers);
+    }
+
+    @Benchmark
+    public byte[] cancelRouter() {
+        return cancel(router);
+    }
+
+    @Benchmark
+    public byte[] getFlightController() {
+        return getFlight(controllers);
+    }
+
+    @Benchmark
+    public byte[] getFlightRouter() {
+        return getFlight(router);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RoutingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,141 @@
+package com.flightapp.bus;
+
+import com.flightapp.cache.BookingCache;
+import com.flightapp.cache.FlightCache;
+import com.flightapp.cache.KnownKeys;
+import com.flightapp.model.Booking;
+import com.flightapp.model.Flight;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.service.SeatAvailabilityPublisher;
+import com.flightapp.service.SeatInventory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * I wire two "nodes" to one in-process bus and check that a write on one is applied on the other.
+ */
+class ChangeListenerTest {
+
+    FlightRepository flightRepository;
+    BookingRepository bookingRepository;
+
+    Sinks.Many<ChangeEvent> wire;
+    LocalChangeBus busA;
+    LocalChangeBus busB;
+
+    SeatInventory inventoryB;
+    FlightCache flightCacheB;
+    BookingCache bookingCacheB;
+    SeatAvailabilityPublisher publisherB;
+    ChangeListener listenerB;
+
+    @BeforeEach
+    void setUp() {
+        flightRepository = Mockito.mock(FlightRepository.class);
+        bookingRepository = Mockito.mock(BookingRepository.class);
+
+        wire = Sinks.many().multicast().directBestEffort();
+        busA = new LocalChangeBus(wire);
+        busB = new LocalChangeBus(wire);
+
+        inventoryB = new SeatInventory();
+        ReflectionTestUtils.setField(inventoryB, "flightRepository", flightRepository);
+        ReflectionTestUtils.setField(inventoryB, "changeBus", busB);
+        ReflectionTestUtils.setField(inventoryB, "enabled", true);
+
+        flightCacheB = new FlightCache();
+        ReflectionTestUtils.setField(flightCacheB, "flightRepository", flightRepository);
+        ReflectionTestUtils.setField(flightCacheB, "enabled", true);
+        ReflectionTestUtils.setField(flightCacheB, "maxSize", 100L);
+        ReflectionTestUtils.setField(flightCacheB, "ttl", Duration.ofMinutes(5));
+        flightCacheB.init();
+
+        bookingCacheB = new BookingCache();
+        ReflectionTestUtils.setField(bookingCacheB, "bookingRepository", bookingRepository);
+        ReflectionTestUtils.setField(bookingCacheB, "enabled", true);
+        ReflectionTestUtils.setField(bookingCacheB, "maxSize", 100L);
+        ReflectionTestUtils.setField(bookingCacheB, "ttl", Duration.ofMinutes(5));
+        bookingCacheB.init();
+
+        publisherB = new SeatAvailabilityPublisher();
+
+        listenerB = new ChangeListener();
+        ReflectionTestUtils.setField(listenerB, "changeBus", busB);
+        ReflectionTestUtils.setField(listenerB, "flightCache", flightCacheB);
+        ReflectionTestUtils.setField(listenerB, "bookingCache", bookingCacheB);
+        ReflectionTestUtils.setField(listenerB, "knownKeys", new KnownKeys());
+        ReflectionTestUtils.setField(listenerB, "seatInventory", inventoryB);
+        ReflectionTestUtils.setField(listenerB, "seatPublisher", publisherB);
+        listenerB.start();
+    }
+
+    private Flight flight(String id, int seats) {
+        Flight f = new Flight();
+        f.setId(id);
+        f.setFlightNumber("AI-" + id);
+        f.setAvailableSeats(seats);
+        return f;
+    }
+
+    @Test
+    void seatWriteOnA_updatesCounterCacheAndStreamOnB() {
+        inventoryB.register(flight("F1", 50));
+        Mockito.when(flightRepository.findById("F1")).thenReturn(Mono.just(flight("F1", 50)));
+        flightCacheB.byId("F1").block();
+
+        StepVerifier.create(publisherB.updates().take(1))
+                .then(() -> busA.publish(ChangeEvent.flight(ChangeEvent.Operation.UPDATED, "F1", "AI-F1", 42, 1L)))
+                .expectNextMatches(u -> u.getFlightId().equals("F1") && u.getAvailableSeats() == 42)
+                .verifyComplete();
+
+        assertEquals(42, inventoryB.available("F1"));
+        assertEquals(42, flightCacheB.byId("F1").block().getAvailableSeats());
+    }
+
+    @Test
+    void pendingLocalSeats_blockRebase() {
+        inventoryB.register(flight("F2", 50));
+        inventoryB.reserve("F2", 2).block(); // B now owes mongo -2
+
+        busA.publish(ChangeEvent.flight(ChangeEvent.Operation.UPDATED, "F2", "AI-F2", 40, 1L));
+
+        // B keeps its own counter until its delta is written, otherwise those 2 seats would be handed out again
+        assertEquals(48, inventoryB.available("F2"));
+    }
+
+    @Test
+    void cancelOnA_dropsCachedBookingOnB() {
+        Booking b = new Booking();
+        b.setPnr("PNR001");
+        bookingCacheB.put(b);
+
+        busA.publish(ChangeEvent.booking(ChangeEvent.Operation.UPDATED, "b1", "PNR001"));
+
+        Mockito.when(bookingRepository.findByPnr("PNR001")).thenReturn(Mono.empty());
+        StepVerifier.create(bookingCacheB.byPnr("PNR001")).verifyComplete();
+        Mockito.verify(bookingRepository).findByPnr("PNR001");
+    }
+
+    @Test
+    void ownEvents_areSkipped() {
+        Booking b = new Booking();
+        b.setPnr("PNR002");
+        bookingCacheB.put(b);
+
+        busB.publish(ChangeEvent.booking(ChangeEvent.Operation.UPDATED, "b2", "PNR002"));
+
+        // still cached, B already applied its own write
+        StepVerifier.create(bookingCacheB.byPnr("PNR002")).expectNextCount(1).verifyComplete();
+        Mockito.verifyNoInteractions(bookingRepository);
+    }
+}
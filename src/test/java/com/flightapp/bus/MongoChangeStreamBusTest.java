@@ -0,0 +1,78 @@
+package com.flightapp.bus;
+
+import com.flightapp.model.Booking;
+import com.flightapp.model.Flight;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FlightRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * I check the change stream bus against a real mongo. The testcontainers mongo runs as a
+ * single node replica set, which is all change streams need.
+ */
+@DataMongoTest(properties = "flightapp.bus.type=mongo")
+@Import(MongoChangeStreamBus.class)
+@Testcontainers(disabledWithoutDocker = true)
+class MongoChangeStreamBusTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    MongoChangeStreamBus bus;
+
+    @Autowired
+    FlightRepository flightRepository;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Test
+    void writesFromAnyNode_arriveAsEvents() {
+        Flight f = new Flight();
+        f.setFlightNumber("CS-1");
+        f.setTotalSeats(10);
+        f.setAvailableSeats(10);
+
+        Booking b = new Booking();
+        b.setPnr("CS0001");
+
+        StepVerifier.create(bus.events().take(3))
+                // give the cursors a moment to open before writing
+                .thenAwait(Duration.ofMillis(500))
+                .then(() -> {
+                    Flight saved = flightRepository.insert(f).block();
+                    flightRepository.incrementSeats(saved.getId(), -3).block();
+                    bookingRepository.insert(b).block();
+                })
+                // flights and bookings are separate cursors, so only the order within flights is fixed
+                .recordWith(ArrayList::new)
+                .expectNextCount(3)
+                .consumeRecordedWith(events -> {
+                    List<ChangeEvent> flights = events.stream().filter(e -> e.getType() == ChangeEvent.Type.FLIGHT).toList();
+                    assertEquals(2, flights.size());
+                    assertEquals(ChangeEvent.Operation.CREATED, flights.get(0).getOperation());
+                    assertEquals("CS-1", flights.get(0).getKey());
+                    assertEquals(ChangeEvent.Operation.UPDATED, flights.get(1).getOperation());
+                    assertEquals(7, flights.get(1).getAvailableSeats());
+                    assertTrue(events.stream().anyMatch(e -> e.getType() == ChangeEvent.Type.BOOKING && "CS0001".equals(e.getKey())));
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,101 @@
+package com.flightapp.cache;
+
+import com.flightapp.enums.BookingStatus;
+import com.flightapp.model.Booking;
+import com.flightapp.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingCacheTest {
+
+    private BookingRepository bookingRepository;
+    private BookingCache bookingCache;
+
+    @BeforeEach
+    void setup() {
+        bookingRepository = Mockito.mock(BookingRepository.class);
+
+        bookingCache = new BookingCache();
+        ReflectionTestUtils.setField(bookingCache, "bookingRepository", bookingRepository);
+        ReflectionTestUtils.setField(bookingCache, "enabled", true);
+        ReflectionTestUtils.setField(bookingCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(bookingCache, "ttl", Duration.ofMinutes(5));
+        bookingCache.init();
+    }
+
+    private Booking booking(String pnr) {
+        Booking b = new Booking();
+        b.setId("b-" + pnr);
+        b.setPnr(pnr);
+        b.setFlightId("f1");
+        b.setSeatsBooked(2);
+        b.setStatus(BookingStatus.BOOKED);
+        b.setCreatedAt(Instant.now());
+        return b;
+    }
+
+    @Test
+    void savedBooking_isServedWithoutMongo() {
+        bookingCache.put(booking("ABC123"));
+
+        StepVerifier.create(bookingCache.byPnr("ABC123"))
+                .expectNextMatches(b -> b.getSeatsBooked() == 2)
+                .verifyComplete();
+
+        Mockito.verifyNoInteractions(bookingRepository);
+        assertEquals(1, bookingCache.stats().hitCount());
+    }
+
+    @Test
+    void miss_loadsOnceThenHits() {
+        Mockito.when(bookingRepository.findByPnr("ABC123")).thenReturn(Mono.just(booking("ABC123")));
+
+        bookingCache.byPnr("ABC123").block();
+        bookingCache.byPnr("ABC123").block();
+
+        Mockito.verify(bookingRepository, Mockito.times(1)).findByPnr("ABC123");
+    }
+
+    @Test
+    void unknownPnr_isNotRemembered() {
+        Mockito.when(bookingRepository.findByPnr("NOPE00")).thenReturn(Mono.empty());
+
+        StepVerifier.create(bookingCache.byPnr("NOPE00")).verifyComplete();
+        StepVerifier.create(bookingCache.byPnr("NOPE00")).verifyComplete();
+
+        Mockito.verify(bookingRepository, Mockito.times(2)).findByPnr("NOPE00");
+    }
+
+    @Test
+    void invalidate_sendsNextLookupToMongo() {
+        bookingCache.put(booking("ABC123"));
+        bookingCache.invalidate("ABC123");
+        Mockito.when(bookingRepository.findByPnr("ABC123")).thenReturn(Mono.empty());
+
+        StepVerifier.create(bookingCache.byPnr("ABC123")).verifyComplete();
+        Mockito.verify(bookingRepository).findByPnr("ABC123");
+    }
+
+    @Test
+    void cachedBooking_cannotBeChangedByCaller() {
+        Booking original = booking("ABC123");
+        bookingCache.put(original);
+        original.setSeatsBooked(9);
+
+        Booking first = bookingCache.byPnr("ABC123").block();
+        first.setSeatsBooked(7);
+
+        StepVerifier.create(bookingCache.byPnr("ABC123"))
+                .expectNextMatches(b -> b.getSeatsBooked() == 2)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,129 @@
+package com.flightapp.cache;
+
+import com.flightapp.model.Flight;
+import com.flightapp.repository.FlightRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightCacheTest {
+
+    private FlightRepository flightRepository;
+    private FlightCache flightCache;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setup() {
+        flightRepository = Mockito.mock(FlightRepository.class);
+        registry = new SimpleMeterRegistry();
+
+        flightCache = new FlightCache();
+        ReflectionTestUtils.setField(flightCache, "flightRepository", flightRepository);
+        ReflectionTestUtils.setField(flightCache, "meterRegistry", registry);
+        ReflectionTestUtils.setField(flightCache, "enabled", true);
+        ReflectionTestUtils.setField(flightCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(flightCache, "ttl", Duration.ofMinutes(5));
+        flightCache.init();
+    }
+
+    private Flight flight(String id, String number, int seats) {
+        Flight f = new Flight();
+        f.setId(id);
+        f.setFlightNumber(number);
+        f.setTotalSeats(100);
+        f.setAvailableSeats(seats);
+        return f;
+    }
+
+    @Test
+    void byId_secondLookupIsServedFromCache() {
+        Mockito.when(flightRepository.findById("f1")).thenReturn(Mono.just(flight("f1", "AI1", 50)));
+
+        StepVerifier.create(flightCache.byId("f1")).expectNextMatches(f -> f.getAvailableSeats() == 50).verifyComplete();
+        StepVerifier.create(flightCache.byId("f1")).expectNextMatches(f -> f.getAvailableSeats() == 50).verifyComplete();
+
+        Mockito.verify(flightRepository, Mockito.times(1)).findById("f1");
+        assertEquals(1, flightCache.stats().hitCount());
+        assertEquals(1, flightCache.stats().missCount());
+        // caffeine's binder registers function counters, read from the cache stats
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "flights").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void byId_unknownFlightIsNotCached() {
+        Mockito.when(flightRepository.findById("nope")).thenReturn(Mono.empty());
+
+        StepVerifier.create(flightCache.byId("nope")).verifyComplete();
+        StepVerifier.create(flightCache.byId("nope")).verifyComplete();
+
+        Mockito.verify(flightRepository, Mockito.times(2)).findById("nope");
+    }
+
+    @Test
+    void byId_callersGetCopies() {
+        Mockito.when(flightRepository.findById("f1")).thenReturn(Mono.just(flight("f1", "AI1", 50)));
+
+        Flight first = flightCache.byId("f1").block();
+        first.setAvailableSeats(0);
+
+        StepVerifier.create(flightCache.byId("f1")).expectNextMatches(f -> f.getAvailableSeats() == 50).verifyComplete();
+    }
+
+    @Test
+    void byFlightNumber_fillsBothCaches() {
+        Mockito.when(flightRepository.findByFlightNumber("AI1")).thenReturn(Mono.just(flight("f1", "AI1", 50)));
+
+        StepVerifier.create(flightCache.byFlightNumber("AI1")).expectNextMatches(f -> f.getId().equals("f1")).verifyComplete();
+        StepVerifier.create(flightCache.byFlightNumber("AI1")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(flightCache.byId("f1")).expectNextCount(1).verifyComplete();
+
+        Mockito.verify(flightRepository, Mockito.times(1)).findByFlightNumber("AI1");
+        Mockito.verify(flightRepository, Mockito.never()).findById(Mockito.anyString());
+    }
+
+    @Test
+    void patchSeats_updatesCachedFlightOnly() {
+        Mockito.when(flightRepository.findById("f1")).thenReturn(Mono.just(flight("f1", "AI1", 50)));
+        flightCache.byId("f1").block();
+
+        flightCache.patchSeats("f1", 47);
+        flightCache.patchSeats("f2", 10); // not cached, must not create an entry
+
+        StepVerifier.create(flightCache.byId("f1")).expectNextMatches(f -> f.getAvailableSeats() == 47).verifyComplete();
+        Mockito.verify(flightRepository, Mockito.times(1)).findById("f1");
+        Mockito.verify(flightRepository, Mockito.never()).findById("f2");
+    }
+
+    @Test
+    void invalidate_forcesReload() {
+        Mockito.when(flightRepository.findById("f1")).thenReturn(Mono.just(flight("f1", "AI1", 50)));
+        flightCache.byId("f1").block();
+
+        flightCache.invalidate("f1");
+        flightCache.byId("f1").block();
+
+        Mockito.verify(flightRepository, Mockito.times(2)).findById("f1");
+    }
+
+    @Test
+    void disabled_goesStraightToRepository() {
+        FlightCache off = new FlightCache();
+        ReflectionTestUtils.setField(off, "flightRepository", flightRepository);
+        Mockito.when(flightRepository.findById("f1")).thenReturn(Mono.just(flight("f1", "AI1", 50)));
+
+        off.byId("f1").block();
+        off.byId("f1").block();
+        off.patchSeats("f1", 1);
+
+        Mockito.verify(flightRepository, Mockito.times(2)).findById("f1");
+        assertEquals(0, off.stats().requestCount());
+    }
+}
@@ -0,0 +1,105 @@
+package com.flightapp.cache;
+
+import com.flightapp.model.Booking;
+import com.flightapp.model.Flight;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FlightRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KnownKeysTest {
+
+    private BookingRepository bookingRepository;
+    private FlightRepository flightRepository;
+    private SimpleMeterRegistry registry;
+    private KnownKeys knownKeys;
+
+    @BeforeEach
+    void setup() {
+        bookingRepository = Mockito.mock(BookingRepository.class);
+        flightRepository = Mockito.mock(FlightRepository.class);
+        registry = new SimpleMeterRegistry();
+
+        knownKeys = new KnownKeys();
+        ReflectionTestUtils.setField(knownKeys, "bookingRepository", bookingRepository);
+        ReflectionTestUtils.setField(knownKeys, "flightRepository", flightRepository);
+        ReflectionTestUtils.setField(knownKeys, "meterRegistry", registry);
+        ReflectionTestUtils.setField(knownKeys, "enabled", true);
+        ReflectionTestUtils.setField(knownKeys, "expectedPnrs", 1000L);
+        ReflectionTestUtils.setField(knownKeys, "expectedFlights", 100L);
+        ReflectionTestUtils.setField(knownKeys, "fpp", 0.01);
+        knownKeys.init();
+    }
+
+    private void load(String[] pnrs, String[] numbers) {
+        Booking[] bookings = new Booking[pnrs.length];
+        for (int i = 0; i < pnrs.length; i++) {
+            bookings[i] = new Booking();
+            bookings[i].setPnr(pnrs[i]);
+        }
+        Flight[] flights = new Flight[numbers.length];
+        for (int i = 0; i < numbers.length; i++) {
+            flights[i] = new Flight();
+            flights[i].setFlightNumber(numbers[i]);
+        }
+        Mockito.when(bookingRepository.streamPnrs()).thenReturn(Flux.just(bookings));
+        Mockito.when(flightRepository.streamFlightNumbers()).thenReturn(Flux.just(flights));
+    }
+
+    @Test
+    void beforeLoad_everythingMightExist() {
+        assertFalse(knownKeys.isReady());
+        assertTrue(knownKeys.mightHavePnr("ZZZZZZ"));
+        assertTrue(knownKeys.mightHaveFlightNumber("XX999"));
+    }
+
+    @Test
+    void afterLoad_unknownKeysAreDefiniteMisses() {
+        load(new String[]{"ABC123", "DEF456"}, new String[]{"AI101"});
+
+        StepVerifier.create(knownKeys.rebuild()).expectNext(3L).verifyComplete();
+
+        assertTrue(knownKeys.isReady());
+        assertTrue(knownKeys.mightHavePnr("ABC123"));
+        assertTrue(knownKeys.mightHaveFlightNumber("AI101"));
+        assertFalse(knownKeys.mightHavePnr("ZZZZZZ"));
+        assertFalse(knownKeys.mightHaveFlightNumber("XX999"));
+    }
+
+    @Test
+    void keysAddedAfterLoad_areFound() {
+        load(new String[0], new String[0]);
+        knownKeys.rebuild().block();
+
+        knownKeys.addPnr("NEW001");
+        knownKeys.addFlightNumber("AI202");
+
+        assertTrue(knownKeys.mightHavePnr("NEW001"));
+        assertTrue(knownKeys.mightHaveFlightNumber("AI202"));
+    }
+
+    @Test
+    void fppGauge_isPublished() {
+        load(new String[]{"ABC123"}, new String[]{"AI101"});
+        knownKeys.rebuild().block();
+
+        assertNotNull(registry.find("flightapp.bloom.fpp").tag("filter", "pnr").gauge());
+        assertEquals(1.0, registry.find("flightapp.bloom.entries").tag("filter", "flight-number").gauge().value());
+    }
+
+    @Test
+    void disabled_neverGates() {
+        KnownKeys off = new KnownKeys();
+        off.addPnr("ABC123");
+
+        assertTrue(off.mightHavePnr("anything"));
+        assertTrue(off.mightHaveFlightNumber("anything"));
+    }
+}
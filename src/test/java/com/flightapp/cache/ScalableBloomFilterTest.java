@@ -0,0 +1,62 @@
+package com.flightapp.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void addedKeys_areAlwaysFound() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 5_000; i++) filter.add("PNR" + i);
+
+        for (int i = 0; i < 5_000; i++) {
+            assertTrue(filter.mightContain("PNR" + i), "no false negatives allowed");
+        }
+    }
+
+    @Test
+    void growsPastCapacity_andKeepsTargetRate() {
+        // 20x the starting size forces several extra layers
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 20_000; i++) filter.add("IN" + i);
+
+        assertTrue(filter.layerCount() > 1);
+        assertTrue(filter.expectedFpp() < 0.01, "estimate was " + filter.expectedFpp());
+
+        int hits = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("OUT" + i)) hits++;
+        }
+        assertTrue(hits / (double) probes < 0.01, "measured rate was " + hits / (double) probes);
+    }
+
+    @Test
+    void repeatedKeys_areCountedOnce() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+        for (int i = 0; i < 1_000; i++) filter.add("SAME");
+
+        assertEquals(1, filter.approximateCount());
+        assertEquals(1, filter.layerCount());
+    }
+
+    @Test
+    void concurrentAdds_loseNothing() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(500, 0.01);
+        IntStream.range(0, 50_000).parallel().forEach(i -> filter.add("K" + i));
+
+        for (int i = 0; i < 50_000; i++) {
+            assertTrue(filter.mightContain("K" + i));
+        }
+    }
+
+    @Test
+    void badArguments_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(10, 1.5));
+    }
+}
@@ -1,5 +1,6 @@
 package com.flightapp.controller;
 import com.flightapp.exception.GlobalErrorHandler;
+import com.flightapp.validation.RequestValidator;
 
 
 import com.flightapp.dto.repsonse.BookingResponse;
@@ -9,6 +10,7 @@ import com.flightapp.enums.MealType;
 import com.flightapp.service.BookingService;
 import com.flightapp.service.FlightService;
 import com.flightapp.exception.GlobalErrorHandler;
+import com.flightapp.exception.ErrorCode;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,12 +19,17 @@ import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWeb
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import org.springframework.http.MediaType;
+import com.flightapp.dto.repsonse.BulkBookingResult;
+import com.flightapp.dto.repsonse.BookingHistoryPage;
+import com.flightapp.dto.repsonse.BookingSummary;
+import com.flightapp.enums.BookingStatus;
 
 @WebFluxTest(controllers = BookingController.class)
 @AutoConfigureWebTestClient
-@Import(GlobalErrorHandler.class)
+@Import({GlobalErrorHandler.class, RequestValidator.class})
 class BookingControllerTest {
 
     @Autowired
@@ -50,7 +57,9 @@ class BookingControllerTest {
                 Mockito.eq(request.getName()),
                 Mockito.eq(request.getEmail()),
                 Mockito.eq(request.getGender()),
-                Mockito.eq(request.getMealPreference())
+                Mockito.eq(request.getMealPreference()),
+                Mockito.isNull(),
+                Mockito.eq(false)
         )).thenReturn(Mono.just(response));
 
         webTestClient.post()
@@ -65,16 +74,16 @@ class BookingControllerTest {
 
     @Test
     void bookTicket_notEnoughSeats_returns400() {
-        // I expect the service to throw an IllegalStateException when seats aren't available.
-        // GlobalErrorHandler should map that to 400 and the message should be returned.
+        // I expect the service to fail with NOT_ENOUGH_SEATS when seats aren't available.
+        // GlobalErrorHandler should map that to 400 and return the code and message.
         BookingRequest request = new BookingRequest(
                 "BLR-200", 5, "Priya Sharma", "priya.s@example.com", Gender.FEMALE, MealType.NONVEG
         );
 
         Mockito.when(flightService.bookTicket(
                 Mockito.anyString(), Mockito.anyInt(), Mockito.anyString(),
-                Mockito.anyString(), Mockito.any(), Mockito.any()
-        )).thenReturn(Mono.error(new IllegalStateException("Not enough seats")));
+                Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean()
+        )).thenReturn(Mono.error(ErrorCode.NOT_ENOUGH_SEATS.exception()));
 
         webTestClient.post()
                 .uri("/api/flight/airline/inventory/book")
@@ -83,6 +92,7 @@ class BookingControllerTest {
                 .exchange()
                 .expectStatus().isBadRequest()
                 .expectBody()
+                .jsonPath("$.code").isEqualTo("NOT_ENOUGH_SEATS")
                 .jsonPath("$.message").isEqualTo("Not enough seats");
     }
 
@@ -100,4 +110,45 @@ class BookingControllerTest {
                 .expectBody()
                 .jsonPath("$.message").exists();
     }
-}
\ No newline at end of file
+
+    @Test
+    void bookInBulk_streamsOneResultPerLine() {
+        // Travel agent uploads two bookings as ndjson and gets one json line back per booking.
+        Mockito.when(bookingService.bookAll(Mockito.any())).thenReturn(Flux.just(
+                new BulkBookingResult(0, "HYD-100", "PNR001", null),
+                new BulkBookingResult(1, "BLR-200", null, "Not enough seats")));
+
+        String upload = "{\"flightId\":\"HYD-100\",\"seats\":1,\"name\":\"Ravi\",\"email\":\"r@x.com\",\"gender\":\"MALE\",\"mealPreference\":\"VEG\"}\n"
+                + "{\"flightId\":\"BLR-200\",\"seats\":9,\"name\":\"Priya\",\"email\":\"p@x.com\",\"gender\":\"FEMALE\",\"mealPreference\":\"VEG\"}\n";
+
+        webTestClient.post()
+                .uri("/api/flight/airline/inventory/book/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(upload)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BulkBookingResult.class)
+                .hasSize(2)
+                .contains(new BulkBookingResult(1, "BLR-200", null, "Not enough seats"));
+    }
+
+    @Test
+    void bookingHistory_passesCursorAndLimit_returnsPage() {
+        // a frequent flyer asks for the next page of history
+        BookingHistoryPage page = new BookingHistoryPage(
+                java.util.List.of(new BookingSummary("PNR777", "DEL-GOA", BookingStatus.BOOKED, java.time.Instant.parse("2025-05-01T10:00:00Z"))),
+                "665f1c2e9b1e8a3d4c5b6a7f");
+        Mockito.when(bookingService.getBookingHistoryPage("meena@x.com", "665f1c2e9b1e8a3d4c5b6a80", 1))
+                .thenReturn(Mono.just(page));
+
+        webTestClient.get()
+                .uri("/api/flight/airline/inventory/booking/email/meena@x.com?before=665f1c2e9b1e8a3d4c5b6a80&limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.bookings[0].pnr").isEqualTo("PNR777")
+                .jsonPath("$.bookings[0].name").doesNotExist()
+                .jsonPath("$.nextCursor").isEqualTo("665f1c2e9b1e8a3d4c5b6a7f");
+    }
+}
@@ -1,5 +1,6 @@
 package com.flightapp.controller;
 
+import com.flightapp.exception.ErrorCode;
 import com.flightapp.service.CancelService;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -9,8 +10,6 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Mono;
 
-import java.util.NoSuchElementException;
-
 import static org.mockito.Mockito.when;
 
 @WebFluxTest(controllers = CancelController.class)
@@ -38,12 +37,13 @@ class CancelControllerTest {
     void cancelBooking_pnrNotFound_returns404() {
         // service returns empty => controller should respond 404 (via GlobalErrorHandler)
         when(cancelService.cancelBooking("NOPE"))
-                .thenReturn(Mono.error(new NoSuchElementException("PNR not found")));
+                .thenReturn(Mono.error(ErrorCode.BOOKING_NOT_FOUND.exception()));
 
         web.delete().uri("/api/flight/airline/inventory/booking/NOPE")
                 .exchange()
                 .expectStatus().isNotFound()
                 .expectBody()
+                .jsonPath("$.code").isEqualTo("BOOKING_NOT_FOUND")
                 .jsonPath("$.message").isEqualTo("PNR not found");
     }
 
@@ -51,13 +51,14 @@ class CancelControllerTest {
     void cancelBooking_badBusinessRule_returns400() {
         // business rule (like too-late cancellation) -> 400
         when(cancelService.cancelBooking("LATE"))
-                .thenReturn(Mono.error(new IllegalStateException("Cannot cancel within 24 hours")));
+                .thenReturn(Mono.error(ErrorCode.CANCEL_WINDOW_CLOSED.exception()));
 
         web.delete().uri("/api/flight/airline/inventory/booking/LATE")
                 .exchange()
                 .expectStatus().is4xxClientError()
                 .expectBody()
-                .jsonPath("$.message").isEqualTo("Cannot cancel within 24 hours");
+                .jsonPath("$.code").isEqualTo("CANCEL_WINDOW_CLOSED")
+                .jsonPath("$.message").isEqualTo("Cannot cancel after 24 hours");
     }
 
     @Disabled("Temporarily disabled: flaky in CI because GlobalErrorHandler not loaded consistently. Re-enable after handler loading fixed.")
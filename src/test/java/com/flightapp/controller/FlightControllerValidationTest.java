@@ -1,24 +1,36 @@
 package com.flightapp.controller;
 
 
+import com.flightapp.dto.repsonse.BulkFlightResult;
+import com.flightapp.dto.repsonse.FlightPage;
+import com.flightapp.dto.repsonse.SeatUpdate;
 import com.flightapp.dto.request.AddFlightRequest;
+import com.flightapp.exception.ErrorCode;
 import com.flightapp.exception.GlobalErrorHandler;
+import com.flightapp.model.Flight;
 import com.flightapp.service.FlightService;
-import org.junit.jupiter.api.Disabled;
+import com.flightapp.validation.RequestValidator;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @WebFluxTest(controllers = FlightController.class)
 @AutoConfigureWebTestClient
-@Import(GlobalErrorHandler.class)
+@Import({GlobalErrorHandler.class, RequestValidator.class})
 class FlightControllerValidationTest {
 
     @Autowired
@@ -27,7 +39,6 @@ class FlightControllerValidationTest {
     @MockBean
     FlightService flightService;
 
-    @Disabled("Temporarily disabled: this validation test causes 500 in some test-sliced contexts. Re-enable when GlobalErrorHandler loading is stable.")
     @Test
     void addFlight_withInvalidRequest_returns400_forValidationErrors() {
         // Intentionally invalid: arrival earlier than departure, negative price, zero seats.
@@ -69,7 +80,7 @@ class FlightControllerValidationTest {
         );
 
         Mockito.when(flightService.createFlight(Mockito.any()))
-                .thenReturn(Mono.error(new IllegalArgumentException("invalid flight")));
+                .thenReturn(Mono.error(new RuntimeException("db down")));
 
         webTestClient.post()
                 .uri("/api/flight/airline/inventory")
@@ -80,4 +91,99 @@ class FlightControllerValidationTest {
                 .expectBody()
                 .jsonPath("$.message").isEqualTo("something went wrong on server");
     }
-}
\ No newline at end of file
+
+    @Test
+    void addInventoryInBulk_streamsResults_thenSummary() {
+        // Schedule upload of two flights: one created, one duplicate, then the totals line.
+        Mockito.when(flightService.ingestFlights(Mockito.any())).thenReturn(Flux.just(
+                new BulkFlightResult(0, "6E-1", "id-1", "CREATED", null),
+                new BulkFlightResult(1, "6E-2", null, "DUPLICATE", "flight already exists")));
+
+        String upload = "{\"airline\":\"IndiGo\",\"flightNumber\":\"6E-1\"}\n{\"airline\":\"IndiGo\",\"flightNumber\":\"6E-2\"}\n";
+
+        webTestClient.post()
+                .uri("/api/flight/airline/inventory/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(upload)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(body -> {
+                    String[] lines = body.trim().split("\n");
+                    assertEquals(3, lines.length);
+                    assertTrue(lines[2].contains("\"created\":1"));
+                    assertTrue(lines[2].contains("\"duplicates\":1"));
+                });
+    }
+
+    @Test
+    void listAll_json_returnsOnePage_ndjson_streamsEverything() {
+        Flight f = new Flight();
+        f.setId("650000000000000000000001");
+        f.setFlightNumber("6E-1");
+
+        Mockito.when(flightService.getFlightPage(null, 1))
+                .thenReturn(Mono.just(new FlightPage(List.of(f), "650000000000000000000001")));
+        Mockito.when(flightService.getAllFlights()).thenReturn(Flux.just(f, f));
+
+        webTestClient.get()
+                .uri("/api/flight/airline/inventory?limit=1")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.flights[0].flightNumber").isEqualTo("6E-1")
+                .jsonPath("$.nextCursor").isEqualTo("650000000000000000000001");
+
+        webTestClient.get()
+                .uri("/api/flight/airline/inventory")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Flight.class)
+                .hasSize(2);
+    }
+
+    @Test
+    void addFlight_duplicateFlightNumber_returns400_withoutPreCheck() {
+        // The insert itself reports the duplicate, there is no separate exists lookup any more.
+        AddFlightRequest req = new AddFlightRequest("IndiGo", "6E-1", "Hyderabad", "Delhi",
+                "2025-12-05T07:00:00Z", "2025-12-05T09:30:00Z", 4500.0f, 180, "A320");
+
+        Mockito.when(flightService.createFlight(Mockito.any()))
+                .thenReturn(Mono.error(ErrorCode.FLIGHT_EXISTS.exception()));
+
+        webTestClient.post()
+                .uri("/api/flight/airline/inventory")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(req)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("FLIGHT_EXISTS")
+                .jsonPath("$.message").isEqualTo("flight already exists");
+
+        Mockito.verify(flightService, Mockito.never()).existsByFlightNumber(Mockito.anyString());
+    }
+
+    @Test
+    void seatStream_sendsServerSentEvents() {
+        // the seat screen for a Pune flight subscribes once instead of polling
+        Mockito.when(flightService.watchSeats(List.of("PNQ-1")))
+                .thenReturn(Flux.just(new SeatUpdate("PNQ-1", 12, 4L), new SeatUpdate("PNQ-1", 11, 5L)));
+
+        Flux<SeatUpdate> body = webTestClient.get()
+                .uri("/api/flight/airline/inventory/seats/stream?ids=PNQ-1")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(SeatUpdate.class)
+                .getResponseBody();
+
+        StepVerifier.create(body.take(2))
+                .expectNextMatches(u -> u.getAvailableSeats() == 12)
+                .expectNextMatches(u -> u.getAvailableSeats() == 11)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,109 @@
+package com.flightapp.controller;
+
+import com.flightapp.dto.repsonse.BookingResponse;
+import com.flightapp.dto.repsonse.SeatHoldResponse;
+import com.flightapp.dto.request.HoldConfirmRequest;
+import com.flightapp.dto.request.SeatHoldRequest;
+import com.flightapp.enums.Gender;
+import com.flightapp.enums.MealType;
+import com.flightapp.exception.ErrorCode;
+import com.flightapp.exception.GlobalErrorHandler;
+import com.flightapp.service.SeatHoldService;
+import com.flightapp.validation.RequestValidator;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+@WebFluxTest(controllers = SeatHoldController.class)
+@Import({GlobalErrorHandler.class, RequestValidator.class})
+class SeatHoldControllerTest {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @MockBean
+    SeatHoldService seatHoldService;
+
+    @Test
+    void holdSeats_returns201WithHold() {
+        // checkout for two seats on a Pune flight
+        SeatHoldRequest request = new SeatHoldRequest("PNQ-3", 2, null, true, 300);
+        Mockito.when(seatHoldService.hold(Mockito.any(SeatHoldRequest.class)))
+                .thenReturn(Mono.just(new SeatHoldResponse("H1", "PNQ-3", 2, List.of(7, 8), Instant.parse("2026-05-01T10:05:00Z"))));
+
+        webTestClient.post()
+                .uri("/api/flight/airline/inventory/hold")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.holdId").isEqualTo("H1")
+                .jsonPath("$.seatNumbers[0]").isEqualTo(7)
+                .jsonPath("$.expiresAt").exists();
+    }
+
+    @Test
+    void holdSeats_invalidRequest_returns400WithoutServiceCall() {
+        webTestClient.post()
+                .uri("/api/flight/airline/inventory/hold")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new SeatHoldRequest("", 2, null, false, null))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        // spring itself calls the mock's init and start, so only the hold call is checked
+        Mockito.verify(seatHoldService, Mockito.never()).hold(Mockito.any());
+    }
+
+    @Test
+    void confirmHold_returns201WithPnr() {
+        HoldConfirmRequest request = new HoldConfirmRequest("Kavya", "kavya@example.com", Gender.FEMALE, MealType.VEGAN);
+        Mockito.when(seatHoldService.confirm(Mockito.eq("H1"), Mockito.any(HoldConfirmRequest.class)))
+                .thenReturn(Mono.just(new BookingResponse("PNRPNQ", List.of(7, 8))));
+
+        webTestClient.post()
+                .uri("/api/flight/airline/inventory/hold/H1/confirm")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.pnr").isEqualTo("PNRPNQ");
+    }
+
+    @Test
+    void confirmHold_expired_returns404() {
+        HoldConfirmRequest request = new HoldConfirmRequest("Kavya", "kavya@example.com", Gender.FEMALE, MealType.VEGAN);
+        Mockito.when(seatHoldService.confirm(Mockito.eq("OLD"), Mockito.any(HoldConfirmRequest.class)))
+                .thenReturn(Mono.error(ErrorCode.HOLD_NOT_FOUND.exception()));
+
+        webTestClient.post()
+                .uri("/api/flight/airline/inventory/hold/OLD/confirm")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("HOLD_NOT_FOUND");
+    }
+
+    @Test
+    void releaseHold_returns204() {
+        Mockito.when(seatHoldService.release("H1")).thenReturn(Mono.empty());
+
+        webTestClient.delete()
+                .uri("/api/flight/airline/inventory/hold/H1")
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+}
@@ -0,0 +1,94 @@
+package com.flightapp.controller;
+
+import com.flightapp.dto.repsonse.WaitlistResponse;
+import com.flightapp.dto.request.BookingRequest;
+import com.flightapp.enums.Gender;
+import com.flightapp.enums.MealType;
+import com.flightapp.enums.WaitlistStatus;
+import com.flightapp.exception.ErrorCode;
+import com.flightapp.exception.GlobalErrorHandler;
+import com.flightapp.service.WaitlistService;
+import com.flightapp.validation.RequestValidator;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@WebFluxTest(controllers = WaitlistController.class)
+@Import({GlobalErrorHandler.class, RequestValidator.class})
+class WaitlistControllerTest {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @MockBean
+    WaitlistService waitlistService;
+
+    @Test
+    void joinWaitlist_returns202WithEntry() {
+        // a sold out Goa flight: the customer is queued instead of retrying
+        BookingRequest request = new BookingRequest("GOA-7", 2, "Meena", "meena@example.com", Gender.FEMALE, MealType.VEG);
+        Mockito.when(waitlistService.join(Mockito.any(BookingRequest.class)))
+                .thenReturn(Mono.just(new WaitlistResponse("W1", "GOA-7", 2, WaitlistStatus.WAITING, null, null, null)));
+
+        webTestClient.post()
+                .uri("/api/flight/airline/inventory/waitlist")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isAccepted()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo("W1")
+                .jsonPath("$.status").isEqualTo("WAITING")
+                .jsonPath("$.pnr").doesNotExist();
+    }
+
+    @Test
+    void joinWaitlist_invalidRequest_returns400WithoutServiceCall() {
+        BookingRequest request = new BookingRequest("GOA-7", 0, "Meena", "meena@example.com", Gender.FEMALE, MealType.VEG);
+
+        webTestClient.post()
+                .uri("/api/flight/airline/inventory/waitlist")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        Mockito.verifyNoInteractions(waitlistService);
+    }
+
+    @Test
+    void getWaitlistEntry_promoted_showsPnr() {
+        Mockito.when(waitlistService.getEntry("W1"))
+                .thenReturn(Mono.just(new WaitlistResponse("W1", "GOA-7", 2, WaitlistStatus.PROMOTED, "PNRGOA", List.of(4, 5), null)));
+
+        webTestClient.get()
+                .uri("/api/flight/airline/inventory/waitlist/W1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("PROMOTED")
+                .jsonPath("$.pnr").isEqualTo("PNRGOA")
+                .jsonPath("$.seatNumbers[1]").isEqualTo(5);
+    }
+
+    @Test
+    void getWaitlistEntry_unknown_returns404() {
+        Mockito.when(waitlistService.getEntry("NOPE"))
+                .thenReturn(Mono.error(ErrorCode.WAITLIST_NOT_FOUND.exception()));
+
+        webTestClient.get()
+                .uri("/api/flight/airline/inventory/waitlist/NOPE")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("WAITLIST_NOT_FOUND");
+    }
+}
@@ -121,6 +121,8 @@ public class ReflectionPojoExerciseTest {
         if (p == double.class || p == Double.class) return 1.0d;
         if (p == boolean.class || p == Boolean.class) return true;
         if (p == java.time.Instant.class) return java.time.Instant.now();
+        if (p == java.util.List.class) return java.util.List.of(1);
+        if (p == byte[].class) return new byte[8];
         return "val";
     }
 }
\ No newline at end of file
@@ -63,4 +63,13 @@ class DtoResponseTest {
         r.setId("X2");
         assertEquals("X2", r.getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void cancelResponse_keepsTheMessageShape() throws Exception {
+        // same json as the map the cancel controller returns
+        CancelResponse r = new CancelResponse("Booking cancelled");
+        String json = mapper.writeValueAsString(r);
+        assertEquals("{\"message\":\"Booking cancelled\"}", json);
+        assertEquals(r, mapper.readValue(json, CancelResponse.class));
+    }
+}
@@ -0,0 +1,32 @@
+package com.flightapp.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusinessExceptionTest {
+
+    @Test
+    void sharedInstance_hasNoStackTrace_andIgnoresSuppressed() {
+        BusinessException ex = ErrorCode.NOT_ENOUGH_SEATS.exception();
+
+        assertSame(ex, ErrorCode.NOT_ENOUGH_SEATS.exception());
+        assertEquals(0, ex.getStackTrace().length);
+
+        // reactor may try to attach extra info; on a shared instance that must not stick
+        ex.addSuppressed(new RuntimeException("assembly info"));
+        assertEquals(0, ex.getSuppressed().length);
+    }
+
+    @Test
+    void codeCarriesStatusAndMessage() {
+        assertEquals(HttpStatus.NOT_FOUND, ErrorCode.FLIGHT_NOT_FOUND.getStatus());
+        assertEquals("Flight not found", ErrorCode.FLIGHT_NOT_FOUND.exception().getMessage());
+        assertEquals(ErrorCode.CANCEL_WINDOW_CLOSED, ErrorCode.CANCEL_WINDOW_CLOSED.exception().getCode());
+
+        BusinessException detailed = new BusinessException(ErrorCode.VALIDATION_FAILED, "seats must be > 0");
+        assertEquals("seats must be > 0", detailed.getMessage());
+        assertEquals(0, detailed.getStackTrace().length);
+    }
+}
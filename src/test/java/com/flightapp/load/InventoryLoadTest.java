@@ -0,0 +1,216 @@
+package com.flightapp.load;
+
+import com.flightapp.dto.repsonse.AddFlightResponse;
+import com.flightapp.dto.repsonse.BookingResponse;
+import com.flightapp.dto.request.AddFlightRequest;
+import com.flightapp.dto.request.BookingRequest;
+import com.flightapp.enums.Gender;
+import com.flightapp.enums.MealType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * I use this before a release to get throughput and p50/p99/p999 for book, cancel, list and lookup.
+ * It boots the whole app on a random port against a mongo container and drives the
+ * /api/flight/airline/inventory endpoints over http with an open arrival model (see OpenModelDriver).
+ *
+ * It is off in the normal build. Run it with
+ *   mvn test -Dtest=InventoryLoadTest -Dloadtest=true [-Dloadtest.rate=500 -Dloadtest.duration=60s ...]
+ * and read target/loadtest/*.txt (summary) and *.hgrm (full percentile curves).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class InventoryLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryLoadTest.class);
+
+    private static final String BASE = "/api/flight/airline/inventory";
+
+    // arrivals per second, the same for every scenario
+    private static final double RATE = Double.parseDouble(System.getProperty("loadtest.rate", "200"));
+    private static final Duration DURATION = Duration.parse("PT" + System.getProperty("loadtest.duration", "30s"));
+    private static final Duration WARMUP = Duration.parse("PT" + System.getProperty("loadtest.warmup", "5s"));
+    private static final int FLIGHTS = Integer.getInteger("loadtest.flights", 200);
+    private static final double ZIPF_EXPONENT = Double.parseDouble(System.getProperty("loadtest.zipf", "1.1"));
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("loadtest.max-in-flight", 2000);
+    private static final int CONNECTIONS = Integer.getInteger("loadtest.connections", 500);
+    private static final Duration TIMEOUT = Duration.parse("PT" + System.getProperty("loadtest.timeout", "10s"));
+    private static final Path REPORT_DIR = Path.of(System.getProperty("loadtest.report-dir", "target/loadtest"));
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @LocalServerPort
+    int port;
+
+    private ConnectionProvider pool;
+    private WebClient client;
+
+    // every booked pnr goes to the lookup ring; the cancel queue hands each one out only once
+    private final AtomicReferenceArray<String> recentPnrs = new AtomicReferenceArray<>(4096);
+    private final AtomicLong pnrCount = new AtomicLong();
+    private final Queue<String> cancellable = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    void setUp() {
+        // the default pool queues only a few requests per connection, which would fail an open model run
+        pool = ConnectionProvider.builder("loadtest")
+                .maxConnections(CONNECTIONS)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(TIMEOUT)
+                .build();
+        client = WebClient.builder()
+                .baseUrl("http://localhost:" + port + BASE)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(pool)))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.dispose();
+    }
+
+    @Test
+    void mixedTraffic_zipfFlightPopularity() throws Exception {
+        List<String> flightIds = seedFlights("LTM", FLIGHTS, 1_000_000);
+        ZipfSampler popularity = new ZipfSampler(flightIds.size(), ZIPF_EXPONENT);
+
+        Supplier<OpenModelDriver.Call> mix = () -> {
+            String flightId = flightIds.get(popularity.next());
+            int roll = ThreadLocalRandom.current().nextInt(100);
+            if (roll < 35) {
+                return book(flightId);
+            } else if (roll < 60) {
+                return new OpenModelDriver.Call("get-flight", status(client.get().uri("/{id}", flightId)));
+            } else if (roll < 80) {
+                return lookupBooking();
+            } else if (roll < 90) {
+                return new OpenModelDriver.Call("list", status(client.get()
+                        .uri(b -> b.queryParam("limit", 50).build())
+                        .accept(MediaType.APPLICATION_JSON)));
+            }
+            return cancel();
+        };
+
+        LatencyReport report = runScenario("mixed", mix);
+        assertTrue(report.count("book") > 0);
+        assertEquals(0, report.failures(), report.summary("mixed", DURATION));
+    }
+
+    @Test
+    void singleHotFlight_allBookingsContendOnOneDocument() throws Exception {
+        String hot = seedFlights("LTH", 1, 10_000_000).get(0);
+
+        LatencyReport report = runScenario("hot-flight", () -> book(hot));
+        assertTrue(report.count("book") > 0);
+        assertEquals(0, report.failures(), report.summary("hot-flight", DURATION));
+    }
+
+    private LatencyReport runScenario(String name, Supplier<OpenModelDriver.Call> calls) throws Exception {
+        OpenModelDriver driver = new OpenModelDriver(RATE, MAX_IN_FLIGHT, TIMEOUT);
+        driver.run(WARMUP, calls, new LatencyReport()); // warm up the jit and the pools, results dropped
+
+        LatencyReport report = new LatencyReport();
+        Duration elapsed = driver.run(DURATION, calls, report);
+        report.write(REPORT_DIR, name, elapsed);
+        log.info("\n{}", report.summary(name, elapsed));
+        return report;
+    }
+
+    private List<String> seedFlights(String prefix, int count, int seats) {
+        Instant dep = Instant.now().plus(Duration.ofDays(30));
+        return Flux.range(0, count)
+                .flatMapSequential(i -> client.post()
+                        .bodyValue(new AddFlightRequest("LoadAir", prefix + "-" + i, "DEL", "BOM",
+                                dep.plusSeconds(i * 60L).toString(), dep.plusSeconds(i * 60L + 7200).toString(),
+                                5000f, seats, "A320"))
+                        .retrieve()
+                        .bodyToMono(AddFlightResponse.class)
+                        .map(AddFlightResponse::getId), 16)
+                .collectList()
+                .block(Duration.ofMinutes(2));
+    }
+
+    private OpenModelDriver.Call book(String flightId) {
+        BookingRequest req = new BookingRequest(flightId, 1, "Load Test", "load@example.com", Gender.OTHER, MealType.VEG);
+        Mono<Integer> call = client.post().uri("/book").bodyValue(req)
+                .exchangeToMono(resp -> {
+                    if (!resp.statusCode().is2xxSuccessful()) {
+                        return resp.releaseBody().thenReturn(resp.statusCode().value());
+                    }
+                    return resp.bodyToMono(BookingResponse.class)
+                            .doOnNext(b -> remember(b.getPnr()))
+                            .thenReturn(resp.statusCode().value());
+                });
+        return new OpenModelDriver.Call("book", call);
+    }
+
+    private OpenModelDriver.Call lookupBooking() {
+        String pnr = randomRecentPnr();
+        return new OpenModelDriver.Call("get-booking", status(client.get().uri("/booking/{pnr}", pnr)));
+    }
+
+    private OpenModelDriver.Call cancel() {
+        String pnr = cancellable.poll();
+        if (pnr == null) {
+            pnr = "NOPNR0"; // nothing booked yet, this measures the not-found path
+        }
+        return new OpenModelDriver.Call("cancel", status(client.delete().uri("/booking/{pnr}", pnr)));
+    }
+
+    private void remember(String pnr) {
+        long n = pnrCount.getAndIncrement();
+        recentPnrs.set((int) (n % recentPnrs.length()), pnr);
+        cancellable.add(pnr);
+    }
+
+    private String randomRecentPnr() {
+        int filled = (int) Math.min(pnrCount.get(), recentPnrs.length());
+        if (filled == 0) {
+            return "NOPNR0";
+        }
+        String pnr = recentPnrs.get(ThreadLocalRandom.current().nextInt(filled));
+        return pnr == null ? "NOPNR0" : pnr;
+    }
+
+    private static Mono<Integer> status(WebClient.RequestHeadersSpec<?> spec) {
+        return spec.exchangeToMono(InventoryLoadTest::drain);
+    }
+
+    private static Mono<Integer> drain(ClientResponse resp) {
+        return resp.releaseBody().thenReturn(resp.statusCode().value());
+    }
+}
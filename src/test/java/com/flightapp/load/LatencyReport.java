@@ -0,0 +1,79 @@
+package com.flightapp.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency (HdrHistogram, microseconds, 3 significant digits) and status counts per operation.
+ * write() puts a summary table and one .hgrm percentile file per operation into a directory;
+ * the .hgrm files load straight into the HdrHistogram plotter.
+ */
+final class LatencyReport {
+
+    private final Map<String, Histogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> ok = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> rejected = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> failed = new ConcurrentHashMap<>();
+
+    void record(String operation, int status, long nanos) {
+        latencies.computeIfAbsent(operation, k -> new ConcurrentHistogram(3))
+                .recordValue(Math.max(1, nanos / 1_000));
+        Map<String, LongAdder> bucket = status >= 200 && status < 300 ? ok
+                : status >= 400 && status < 500 ? rejected
+                : failed; // 5xx and no reply
+        bucket.computeIfAbsent(operation, k -> new LongAdder()).increment();
+    }
+
+    long count(String operation) {
+        Histogram h = latencies.get(operation);
+        return h == null ? 0 : h.getTotalCount();
+    }
+
+    long failures() {
+        return failed.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    String summary(String scenario, Duration elapsed) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("scenario %s, %.1f s%n", scenario, elapsed.toMillis() / 1000.0));
+        sb.append(String.format("%-12s %9s %9s %9s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "ok", "4xx", "failed", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        for (Map.Entry<String, Histogram> e : new TreeMap<>(latencies).entrySet()) {
+            String op = e.getKey();
+            Histogram h = e.getValue();
+            sb.append(String.format("%-12s %9d %9d %9d %9d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    op, h.getTotalCount(), sum(ok, op), sum(rejected, op), sum(failed, op),
+                    h.getTotalCount() * 1000.0 / Math.max(1, elapsed.toMillis()),
+                    h.getValueAtPercentile(50) / 1000.0,
+                    h.getValueAtPercentile(99) / 1000.0,
+                    h.getValueAtPercentile(99.9) / 1000.0,
+                    h.getMaxValue() / 1000.0));
+        }
+        return sb.toString();
+    }
+
+    void write(Path dir, String scenario, Duration elapsed) throws IOException {
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve(scenario + ".txt"), summary(scenario, elapsed));
+        for (Map.Entry<String, Histogram> e : latencies.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(scenario + "-" + e.getKey() + ".hgrm")))) {
+                e.getValue().outputPercentileDistribution(out, 1000.0); // in milliseconds
+            }
+        }
+    }
+
+    private static long sum(Map<String, LongAdder> counts, String operation) {
+        LongAdder a = counts.get(operation);
+        return a == null ? 0 : a.sum();
+    }
+}
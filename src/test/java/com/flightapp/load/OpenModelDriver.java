@@ -0,0 +1,69 @@
+package com.flightapp.load;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Sends requests at a fixed arrival rate (Poisson gaps) whether or not earlier ones have answered,
+ * so a slow server shows up as queueing and latency instead of as a lower request rate.
+ * Latency is taken from the planned start of each request, not from when it was actually sent,
+ * so a stalled client does not hide the wait (coordinated omission).
+ */
+final class OpenModelDriver {
+
+    /** One request: the operation name for the report and the call, which emits the http status. */
+    record Call(String operation, Mono<Integer> status) {
+    }
+
+    private final double ratePerSecond;
+    private final int maxInFlight;
+    private final Duration requestTimeout;
+
+    OpenModelDriver(double ratePerSecond, int maxInFlight, Duration requestTimeout) {
+        this.ratePerSecond = ratePerSecond;
+        this.maxInFlight = maxInFlight;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /** Runs for the given time and returns the wall clock it took, including draining the last replies. */
+    Duration run(Duration duration, Supplier<Call> nextCall, LatencyReport report) {
+        long[] planned = schedule(duration);
+        long t0 = System.nanoTime();
+
+        Flux.range(0, planned.length)
+                .concatMap(i -> {
+                    long wait = t0 + planned[i] - System.nanoTime();
+                    return wait > 0 ? Mono.delay(Duration.ofNanos(wait)).thenReturn(i) : Mono.just(i);
+                })
+                // once maxInFlight is reached new arrivals wait here, and that wait is still counted
+                .flatMap(i -> {
+                    long start = t0 + planned[i];
+                    Call call = nextCall.get();
+                    return call.status()
+                            .timeout(requestTimeout)
+                            .onErrorReturn(0) // 0 = no reply (timeout or connection error)
+                            .doOnNext(status -> report.record(call.operation(), status, System.nanoTime() - start));
+                }, maxInFlight)
+                .then()
+                .block(duration.plus(requestTimeout).plusSeconds(30));
+
+        return Duration.ofNanos(System.nanoTime() - t0);
+    }
+
+    private long[] schedule(Duration duration) {
+        int n = (int) Math.max(1, ratePerSecond * duration.toMillis() / 1000.0);
+        long[] planned = new long[n];
+        double meanGapNanos = 1_000_000_000.0 / ratePerSecond;
+        double t = 0;
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        for (int i = 0; i < n; i++) {
+            planned[i] = (long) t;
+            t += -Math.log(1.0 - rnd.nextDouble()) * meanGapNanos;
+        }
+        return planned;
+    }
+}
@@ -0,0 +1,60 @@
+package com.flightapp.metrics;
+
+import com.flightapp.exception.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private BookingMetrics metrics;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        metrics = new BookingMetrics();
+        ReflectionTestUtils.setField(metrics, "meterRegistry", registry);
+    }
+
+    private double count(String name, String outcome) {
+        return registry.get(name).tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void booking_countsSuccessAndEachFailureReason() {
+        StepVerifier.create(metrics.booking(Mono.just("PNR001"))).expectNext("PNR001").verifyComplete();
+        StepVerifier.create(metrics.booking(Mono.error(ErrorCode.NOT_ENOUGH_SEATS.exception()))).verifyError();
+        StepVerifier.create(metrics.booking(Mono.error(ErrorCode.FLIGHT_NOT_FOUND.exception()))).verifyError();
+        StepVerifier.create(metrics.booking(Mono.error(new IllegalArgumentException("seats must be > 0")))).verifyError();
+
+        assertEquals(1, count("flightapp.bookings", "booked"));
+        assertEquals(1, count("flightapp.bookings", "not_enough_seats"));
+        assertEquals(1, count("flightapp.bookings", "flight_not_found"));
+        assertEquals(1, count("flightapp.bookings", "invalid"));
+    }
+
+    @Test
+    void cancel_countsByOutcome() {
+        metrics.cancel("too_late");
+        metrics.cancel("too_late");
+        metrics.cancel("cancelled");
+
+        assertEquals(2, count("flightapp.cancels", "too_late"));
+        assertEquals(1, count("flightapp.cancels", "cancelled"));
+    }
+
+    @Test
+    void withoutRegistry_nothingIsCounted_andBookingsStillFlow() {
+        BookingMetrics bare = new BookingMetrics();
+
+        StepVerifier.create(bare.booking(Mono.just("PNR002"))).expectNext("PNR002").verifyComplete();
+        bare.cancel("cancelled");
+        assertTrue(registry.getMeters().isEmpty());
+    }
+}
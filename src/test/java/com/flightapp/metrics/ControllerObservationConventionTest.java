@@ -0,0 +1,57 @@
+package com.flightapp.metrics;
+
+import com.flightapp.controller.CancelController;
+import io.micrometer.common.KeyValue;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ControllerObservationConventionTest {
+
+    private final ControllerObservationConvention convention = new ControllerObservationConvention();
+
+    private String controllerTag(Map<String, Object> attributes) {
+        ServerRequestObservationContext context = new ServerRequestObservationContext(
+                MockServerHttpRequest.delete("/api/flight/airline/inventory/booking/ABC123").build(),
+                new MockServerHttpResponse(),
+                attributes);
+        return convention.getLowCardinalityKeyValues(context).stream()
+                .filter(kv -> kv.getKey().equals("controller"))
+                .map(KeyValue::getValue)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void tagsTheControllerThatHandledTheRequest() throws Exception {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new CancelController(), CancelController.class.getMethod("cancelBooking", String.class)));
+
+        assertEquals("CancelController", controllerTag(attributes));
+    }
+
+    @Test
+    void routerFunctionRequests_areTaggedRouter() {
+        Map<String, Object> attributes = new HashMap<>();
+        HandlerFunction<ServerResponse> handler = request -> ServerResponse.ok().build();
+        attributes.put(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+
+        assertEquals("router", controllerTag(attributes));
+    }
+
+    @Test
+    void requestsWithoutAControllerMethod_areTaggedNone() {
+        assertEquals("none", controllerTag(new HashMap<>()));
+    }
+}
@@ -0,0 +1,83 @@
+package com.flightapp.metrics;
+
+import com.flightapp.bus.LocalChangeBus;
+import com.flightapp.model.Flight;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.service.SeatInventory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * I check that the gauges follow the in-memory seat counters and only the fullest flights are kept.
+ */
+class FlightLoadGaugesTest {
+
+    private SeatInventory seatInventory;
+    private SimpleMeterRegistry registry;
+    private FlightLoadGauges gauges;
+
+    @BeforeEach
+    void setup() {
+        seatInventory = new SeatInventory();
+        ReflectionTestUtils.setField(seatInventory, "changeBus", new LocalChangeBus());
+        ReflectionTestUtils.setField(seatInventory, "flightRepository", Mockito.mock(FlightRepository.class));
+        ReflectionTestUtils.setField(seatInventory, "enabled", true);
+
+        registry = new SimpleMeterRegistry();
+        gauges = new FlightLoadGauges();
+        ReflectionTestUtils.setField(gauges, "seatInventory", seatInventory);
+        ReflectionTestUtils.setField(gauges, "meterRegistry", registry);
+        ReflectionTestUtils.setField(gauges, "topFlights", 2);
+        ReflectionTestUtils.setField(gauges, "refreshInterval", Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        gauges.stop();
+    }
+
+    private Flight flight(String id, int total) {
+        Flight f = new Flight();
+        f.setId(id);
+        f.setTotalSeats(total);
+        f.setAvailableSeats(total);
+        return f;
+    }
+
+    private double loadFactor(String flightId) {
+        return registry.get("flightapp.flight.load.factor").tag("flight", flightId).gauge().value();
+    }
+
+    @Test
+    void publishesShareOfSeatsSold_forTheFullestFlights() {
+        seatInventory.register(flight("F1", 100));
+        seatInventory.register(flight("F2", 10));
+        seatInventory.register(flight("F3", 4));
+        StepVerifier.create(seatInventory.reserve("F1", 10)).expectNext(90).verifyComplete();
+        StepVerifier.create(seatInventory.reserve("F2", 5)).expectNext(5).verifyComplete();
+        StepVerifier.create(seatInventory.reserve("F3", 3)).expectNext(1).verifyComplete();
+
+        gauges.start();
+        gauges.refresh();
+
+        assertEquals(0.75, loadFactor("F3"), 1e-9);
+        assertEquals(0.5, loadFactor("F2"), 1e-9);
+        assertNull(registry.find("flightapp.flight.load.factor").tag("flight", "F1").gauge());
+
+        // F1 fills up and pushes F2 out of the top two
+        StepVerifier.create(seatInventory.reserve("F1", 90)).expectNext(0).verifyComplete();
+        gauges.refresh();
+
+        assertEquals(1.0, loadFactor("F1"), 1e-9);
+        assertNull(registry.find("flightapp.flight.load.factor").tag("flight", "F2").gauge());
+    }
+}
@@ -8,6 +8,7 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -25,9 +26,9 @@ class BookingModelSimpleTest {
 
         Booking b = new Booking(
                 "id1", "PNR-DEL-11", "DEL-BLR",
-                2, "Suresh", "suresh@xyz.com",
+                2, List.of(4, 5), "Suresh", "suresh@xyz.com",
                 Gender.MALE, MealType.VEG,
-                BookingStatus.BOOKED, now
+                BookingStatus.BOOKED, now, null
         );
 
         assertEquals("PNR-DEL-11", b.getPnr());
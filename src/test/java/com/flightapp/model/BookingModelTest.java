@@ -6,6 +6,7 @@ import com.flightapp.enums.MealType;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -45,13 +46,13 @@ class BookingModelTest {
     void allArgsConstructor_and_equalsHashcode() {
         Instant now = Instant.now();
 
-        Booking b1 = new Booking("IDZ", "PNR9", "F-BOM-DEL", 1,
+        Booking b1 = new Booking("IDZ", "PNR9", "F-BOM-DEL", 1, List.of(7),
                 "Ravi", "ravi@x.com", Gender.MALE,
-                MealType.VEG, BookingStatus.BOOKED, now);
+                MealType.VEG, BookingStatus.BOOKED, now, null);
 
-        Booking b2 = new Booking("IDZ", "PNR9", "F-BOM-DEL", 1,
+        Booking b2 = new Booking("IDZ", "PNR9", "F-BOM-DEL", 1, List.of(7),
                 "Ravi", "ravi@x.com", Gender.MALE,
-                MealType.VEG, BookingStatus.BOOKED, now);
+                MealType.VEG, BookingStatus.BOOKED, now, null);
 
         assertEquals(b1, b2);
         assertEquals(b1.hashCode(), b2.hashCode());
@@ -2,6 +2,8 @@ package com.flightapp.model;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -18,8 +20,8 @@ class FlightModelTest {
         f.setFlightNumber("UK810");
         f.setFromPlace("Chennai");
         f.setToPlace("Kolkata");
-        f.setDepartureDateTime("2025-07-01T06:00:00Z");
-        f.setArrivalDateTime("2025-07-01T08:30:00Z");
+        f.setDepartureDateTime(Instant.parse("2025-07-01T06:00:00Z"));
+        f.setArrivalDateTime(Instant.parse("2025-07-01T08:30:00Z"));
         f.setPrice(6500f);
         f.setTotalSeats(150);
         f.setAvailableSeats(150);
@@ -33,8 +35,8 @@ class FlightModelTest {
     void allArgsConstructor_matchesValues() {
         // I check once that the all-args constructor builds a flight correctly.
         Flight f = new Flight("IDX", "SpiceJet", "SG401",
-                "Pune", "Goa", "d", "a", 3200f,
-                180, 160, "Q400");
+                "Pune", "Goa", Instant.parse("2025-07-02T06:00:00Z"), Instant.parse("2025-07-02T07:10:00Z"), 3200f,
+                180, 160, 0L, "Q400", null, 0L);
 
         assertEquals("IDX", f.getId());
         assertEquals(160, f.getAvailableSeats());
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.time.Instant;
+import java.util.List;
 
 /**
  * I mainly use this class to hit the deeper parts of equals/hashCode/toString.
@@ -21,16 +22,16 @@ class ModelCoverageTest {
         Instant now = Instant.now();
         Booking a = new Booking(
                 "mongo-1", "PNR101", "BLR-DEL",
-                2, "Sanjay", "sanjay@x.com",
+                2, List.of(11, 12), "Sanjay", "sanjay@x.com",
                 Gender.MALE, MealType.VEG,
-                BookingStatus.BOOKED, now
+                BookingStatus.BOOKED, now, null
         );
 
         Booking b = new Booking(
                 "mongo-1", "PNR101", "BLR-DEL",
-                2, "Sanjay", "sanjay@x.com",
+                2, List.of(11, 12), "Sanjay", "sanjay@x.com",
                 Gender.MALE, MealType.VEG,
-                BookingStatus.BOOKED, now
+                BookingStatus.BOOKED, now, null
         );
 
         assertEquals(a, b);
@@ -59,9 +60,9 @@ class ModelCoverageTest {
 
         // And now I check the all-args constructor one time.
         Flight f2 = new Flight("F2", "IndiGo", "6E501",
-                "Hyderabad", "Delhi", "2025-06-01T10:00:00",
-                "2025-06-01T12:30:00", 5500f,
-                200, 200, "A320");
+                "Hyderabad", "Delhi", Instant.parse("2025-06-01T10:00:00Z"),
+                Instant.parse("2025-06-01T12:30:00Z"), 5500f,
+                200, 200, 0L, "A320", null, 0L);
 
         assertEquals("F2", f2.getId());
         assertEquals(200, f2.getTotalSeats());
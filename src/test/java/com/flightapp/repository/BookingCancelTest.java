@@ -0,0 +1,95 @@
+package com.flightapp.repository;
+
+import com.flightapp.enums.BookingStatus;
+import com.flightapp.model.Booking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * I check the atomic cancel against a real mongo: one winner, the 24 hour rule and that the booking is kept.
+ */
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+class BookingCancelTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository.deleteAll().block();
+    }
+
+    private Booking booking(String pnr, Instant createdAt, BookingStatus status) {
+        Booking b = new Booking();
+        b.setPnr(pnr);
+        b.setFlightId("F1");
+        b.setSeatsBooked(2);
+        b.setCreatedAt(createdAt);
+        b.setStatus(status);
+        return bookingRepository.insert(b).block();
+    }
+
+    @Test
+    void cancel_flipsStatusAndKeepsBooking() {
+        Instant now = Instant.now();
+        booking("PNR001", now.minusSeconds(60), BookingStatus.BOOKED);
+
+        StepVerifier.create(bookingRepository.cancelIfActive("PNR001", now.minus(Duration.ofHours(24)), now))
+                .expectNextMatches(b -> b.getStatus() == BookingStatus.CANCELLED && b.getCancelledAt() != null)
+                .verifyComplete();
+
+        Booking stored = bookingRepository.findByPnr("PNR001").block();
+        assertEquals(BookingStatus.CANCELLED, stored.getStatus());
+    }
+
+    @Test
+    void parallelCancels_onlyOneWins() {
+        Instant now = Instant.now();
+        booking("PNR002", now, BookingStatus.BOOKED);
+
+        Long winners = Flux.range(0, 20)
+                .flatMap(i -> bookingRepository.cancelIfActive("PNR002", now.minus(Duration.ofHours(24)), now))
+                .count()
+                .block();
+
+        assertEquals(1L, winners);
+    }
+
+    @Test
+    void bookingOlderThanWindow_isNotCancelled() {
+        Instant now = Instant.now();
+        booking("PNR003", now.minus(Duration.ofHours(25)), BookingStatus.BOOKED);
+
+        StepVerifier.create(bookingRepository.cancelIfActive("PNR003", now.minus(Duration.ofHours(24)), now))
+                .verifyComplete();
+        assertEquals(BookingStatus.BOOKED, bookingRepository.findByPnr("PNR003").block().getStatus());
+    }
+
+    @Test
+    void bookingWithoutStatus_canStillBeCancelled() {
+        Instant now = Instant.now();
+        booking("PNR004", now, null);
+
+        StepVerifier.create(bookingRepository.cancelIfActive("PNR004", now.minus(Duration.ofHours(24)), now))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+}
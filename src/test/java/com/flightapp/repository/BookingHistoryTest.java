@@ -0,0 +1,109 @@
+package com.flightapp.repository;
+
+import com.flightapp.config.MongoIndexInitializer;
+import com.flightapp.migration.BookingEmailMigration;
+import com.flightapp.model.Booking;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * I check history paging against a real mongo: pages walk newest to oldest without gaps,
+ * only the summary fields come back, the index is used, and old mixed case emails get migrated.
+ */
+@DataMongoTest
+@Import({MongoIndexInitializer.class, BookingEmailMigration.class})
+@Testcontainers(disabledWithoutDocker = true)
+class BookingHistoryTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    ReactiveMongoTemplate mongoTemplate;
+
+    @Autowired
+    MongoIndexInitializer indexInitializer;
+
+    @Autowired
+    BookingEmailMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository.deleteAll().block();
+        indexInitializer.ensureIndexes().block();
+    }
+
+    private Booking booking(String pnr, String email) {
+        Booking b = new Booking();
+        b.setPnr(pnr);
+        b.setEmail(email);
+        b.setFlightId("F1");
+        b.setName("Ravi");
+        b.setCreatedAt(Instant.now());
+        return b;
+    }
+
+    @Test
+    void pages_walkNewestToOldest_withProjection() {
+        Flux.range(0, 7).concatMap(i -> bookingRepository.insert(booking("P" + i, "ravi@x.com"))).blockLast();
+        bookingRepository.insert(booking("OTHER", "someone@x.com")).block();
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            List<Booking> page = bookingRepository.findHistoryPage("ravi@x.com", cursor, 3).collectList().block();
+            page.forEach(b -> {
+                seen.add(b.getPnr());
+                assertNull(b.getName(), "only summary fields are read");
+            });
+            cursor = page.size() == 3 ? page.get(2).getId() : null;
+        } while (cursor != null);
+
+        assertEquals(List.of("P6", "P5", "P4", "P3", "P2", "P1", "P0"), seen);
+    }
+
+    @Test
+    void historyQuery_usesEmailIndex() {
+        bookingRepository.insert(booking("P1", "ravi@x.com")).block();
+
+        Document explain = mongoTemplate.getCollection("bookings")
+                .flatMap(c -> Mono.from(c.find(new Document("email", "ravi@x.com"))
+                        .sort(new Document("_id", -1))
+                        .explain()))
+                .block();
+
+        assertTrue(explain.toJson().contains("email_history_idx"));
+        assertFalse(explain.toJson().contains("\"SORT\""), "sort must come from the index");
+    }
+
+    @Test
+    void migration_lowercasesOldEmails_once() {
+        bookingRepository.insert(booking("P1", " Ravi@X.com")).block();
+        bookingRepository.insert(booking("P2", "ravi@x.com")).block();
+
+        assertEquals(1L, migration.migrate().block());
+        assertEquals(0L, migration.migrate().block());
+        assertEquals(2, bookingRepository.findHistoryPage("ravi@x.com", null, 10).count().block());
+    }
+}
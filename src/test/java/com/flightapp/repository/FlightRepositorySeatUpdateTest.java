@@ -0,0 +1,69 @@
+package com.flightapp.repository;
+
+import com.flightapp.model.Flight;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * I run the conditional seat update against a real mongo so the atomic guard is really tested.
+ * Skipped automatically when docker is not available on the machine.
+ */
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+class FlightRepositorySeatUpdateTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    FlightRepository flightRepository;
+
+    private Flight newFlight(int seats) {
+        Flight f = new Flight();
+        f.setFlightNumber("AI-" + System.nanoTime());
+        f.setTotalSeats(seats);
+        f.setAvailableSeats(seats);
+        return flightRepository.save(f).block();
+    }
+
+    @Test
+    void decrementSeats_returnsUpdatedFlight_andRefusesWhenShort() {
+        Flight f = newFlight(3);
+
+        StepVerifier.create(flightRepository.decrementSeats(f.getId(), 2))
+                .expectNextMatches(updated -> updated.getAvailableSeats() == 1)
+                .verifyComplete();
+
+        // only one seat left, asking for two must match nothing
+        StepVerifier.create(flightRepository.decrementSeats(f.getId(), 2))
+                .verifyComplete();
+
+        StepVerifier.create(flightRepository.incrementSeats(f.getId(), 2))
+                .expectNextMatches(updated -> updated.getAvailableSeats() == 3)
+                .verifyComplete();
+    }
+
+    @Test
+    void decrementSeats_underHeavyParallelism_neverOversells() {
+        // 100 seats, 1000 one-seat bookings racing with 256 in flight at once
+        Flight f = newFlight(100);
+
+        Long sold = Flux.range(0, 1000)
+                .flatMap(i -> flightRepository.decrementSeats(f.getId(), 1), 256)
+                .count()
+                .block();
+
+        assertEquals(100L, sold);
+        assertEquals(0, flightRepository.findById(f.getId()).block().getAvailableSeats());
+    }
+}
@@ -0,0 +1,119 @@
+package com.flightapp.repository;
+
+import com.flightapp.config.MongoIndexInitializer;
+import com.flightapp.model.Flight;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * I run explain() on the route search query against a real mongo
+ * to make sure it always uses one of the route indexes and never scans the whole collection.
+ */
+@DataMongoTest
+@Import(MongoIndexInitializer.class)
+@Testcontainers(disabledWithoutDocker = true)
+class FlightRouteSearchExplainTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    ReactiveMongoTemplate mongoTemplate;
+
+    @Autowired
+    FlightRepository flightRepository;
+
+    @Autowired
+    MongoIndexInitializer indexInitializer;
+
+    @BeforeEach
+    void setUp() {
+        flightRepository.deleteAll().block();
+        indexInitializer.ensureIndexes().block();
+
+        // a few hundred flights over several routes so the planner has a real choice
+        String[] cities = {"Hyderabad", "Delhi", "Mumbai", "Chennai", "Pune"};
+        Flux.range(0, 400)
+                .map(i -> {
+                    Flight f = new Flight();
+                    f.setFlightNumber("6E-" + i);
+                    f.setFromPlace(cities[i % 5]);
+                    f.setToPlace(cities[(i / 5) % 5]);
+                    f.setDepartureDateTime(Instant.parse("2025-12-01T00:00:00Z").plusSeconds(i * 3600L));
+                    f.setArrivalDateTime(Instant.parse("2025-12-01T02:00:00Z").plusSeconds(i * 3600L));
+                    f.setPrice(3000 + (i * 37) % 4000);
+                    f.setTotalSeats(180);
+                    f.setAvailableSeats(180);
+                    return f;
+                })
+                .collectList()
+                .flatMapMany(flightRepository::insert)
+                .blockLast();
+    }
+
+    private String winningPlan(Query query) {
+        QueryMapper mapper = new QueryMapper(mongoTemplate.getConverter());
+        var entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(Flight.class);
+        Document filter = mapper.getMappedObject(query.getQueryObject(), entity);
+        Document sort = mapper.getMappedSort(query.getSortObject(), entity);
+
+        Document explain = mongoTemplate.getCollection("flights")
+                .flatMap(c -> Mono.from(c.find(filter).sort(sort).limit(query.getLimit()).explain()))
+                .block();
+        return explain.get("queryPlanner", Document.class).get("winningPlan", Document.class).toJson();
+    }
+
+    @Test
+    void routeSearch_usesIndex_forEverySortAndWindowShape() {
+        Instant after = Instant.parse("2025-12-03T00:00:00Z");
+        Instant before = Instant.parse("2025-12-10T00:00:00Z");
+
+        List<Query> shapes = List.of(
+                FlightRepositoryCustomImpl.routeQuery("Hyderabad", "Delhi", null, null, "departure", 20),
+                FlightRepositoryCustomImpl.routeQuery("Hyderabad", "Delhi", after, before, "departure", 20),
+                FlightRepositoryCustomImpl.routeQuery("Hyderabad", "Delhi", after, null, "price", 20),
+                FlightRepositoryCustomImpl.routeQuery("Hyderabad", "Delhi", null, before, "price", 20));
+
+        for (Query q : shapes) {
+            String plan = winningPlan(q);
+            assertTrue(plan.contains("IXSCAN"), "expected an index scan for " + q + " but got " + plan);
+            assertFalse(plan.contains("COLLSCAN"), "collection scan for " + q + ": " + plan);
+        }
+    }
+
+    @Test
+    void searchRoute_returnsOnlyRouteInsideWindow_inRequestedOrder() {
+        Instant after = Instant.parse("2025-12-02T00:00:00Z");
+        Instant before = Instant.parse("2025-12-12T00:00:00Z");
+
+        List<Flight> byPrice = flightRepository.searchRoute("Hyderabad", "Delhi", after, before, "price", 50)
+                .collectList().block();
+
+        assertFalse(byPrice.isEmpty());
+        for (int i = 0; i < byPrice.size(); i++) {
+            Flight f = byPrice.get(i);
+            assertEquals("Hyderabad", f.getFromPlace());
+            assertEquals("Delhi", f.getToPlace());
+            assertTrue(i == 0 || byPrice.get(i - 1).getPrice() <= f.getPrice());
+        }
+    }
+}
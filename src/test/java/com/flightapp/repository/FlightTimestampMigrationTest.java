@@ -0,0 +1,78 @@
+package com.flightapp.repository;
+
+import com.flightapp.config.MongoConfig;
+import com.flightapp.migration.FlightTimestampMigration;
+import com.flightapp.model.Flight;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * I load flights the way the old code stored them (ISO strings) and run the migration over them.
+ */
+@DataMongoTest
+@Import({MongoConfig.class, FlightTimestampMigration.class})
+@Testcontainers(disabledWithoutDocker = true)
+class FlightTimestampMigrationTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    ReactiveMongoTemplate mongoTemplate;
+
+    @Autowired
+    FlightRepository flightRepository;
+
+    @Autowired
+    FlightTimestampMigration migration;
+
+    @Test
+    void migrate_convertsStringsInBatches_andIsIdempotent() {
+        ReflectionTestUtils.setField(migration, "batchSize", 7);
+        mongoTemplate.getCollection("flights")
+                .flatMap(c -> Mono.from(c.deleteMany(new Document())))
+                .block();
+
+        // 25 legacy documents with string timestamps, so more than three batches
+        Flux.range(0, 25)
+                .map(i -> new Document("flightNumber", "OLD-" + i)
+                        .append("departureDateTime", "2025-12-01T0" + (i % 10) + ":00:00Z")
+                        .append("arrivalDateTime", "2025-12-01T1" + (i % 10) + ":00:00Z")
+                        .append("totalSeats", 100)
+                        .append("availableSeats", 100))
+                .collectList()
+                .flatMap(docs -> mongoTemplate.getCollection("flights").flatMap(c -> Mono.from(c.insertMany(docs))))
+                .block();
+
+        // old documents must still be readable through the repository before migrating
+        Flight legacy = flightRepository.findByFlightNumber("OLD-3").block();
+        assertEquals(Instant.parse("2025-12-01T03:00:00Z"), legacy.getDepartureDateTime());
+
+        assertEquals(25L, migration.migrate().block());
+        assertEquals(0L, migration.migrate().block(), "second run has nothing left to convert");
+
+        Document raw = mongoTemplate.getCollection("flights")
+                .flatMap(c -> Mono.from(c.find(new Document("flightNumber", "OLD-3")).first()))
+                .block();
+        assertInstanceOf(Date.class, raw.get("departureDateTime"));
+        assertInstanceOf(Date.class, raw.get("arrivalDateTime"));
+        assertEquals(Instant.parse("2025-12-01T13:00:00Z"), flightRepository.findByFlightNumber("OLD-3").block().getArrivalDateTime());
+    }
+}
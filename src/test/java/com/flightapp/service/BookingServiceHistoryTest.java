@@ -0,0 +1,91 @@
+package com.flightapp.service;
+
+import com.flightapp.enums.BookingStatus;
+import com.flightapp.model.Booking;
+import com.flightapp.repository.BookingRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * I check the paged booking history: email normalization, cursor handling and page size limits.
+ */
+class BookingServiceHistoryTest {
+
+    BookingRepository bookingRepository;
+    BookingService bookingService;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = Mockito.mock(BookingRepository.class);
+        bookingService = new BookingService();
+        ReflectionTestUtils.setField(bookingService, "bookingRepository", bookingRepository);
+        ReflectionTestUtils.setField(bookingService, "defaultHistoryPageSize", 2);
+        ReflectionTestUtils.setField(bookingService, "maxHistoryPageSize", 3);
+    }
+
+    private Booking row(String id, String pnr) {
+        Booking b = new Booking();
+        b.setId(id);
+        b.setPnr(pnr);
+        b.setFlightId("F1");
+        b.setStatus(BookingStatus.BOOKED);
+        b.setCreatedAt(Instant.now());
+        return b;
+    }
+
+    @Test
+    void history_looksUpNormalizedEmail_andReturnsCursorWhenMore() {
+        String id1 = new ObjectId().toHexString();
+        String id2 = new ObjectId().toHexString();
+        Mockito.when(bookingRepository.findHistoryPage("ravi@x.com", null, 3))
+                .thenReturn(Flux.just(row(id2, "P2"), row(id1, "P1"), row("older", "P0")));
+
+        StepVerifier.create(bookingService.getBookingHistoryPage("  Ravi@X.com ", null, null))
+                .assertNext(page -> {
+                    assertEquals(2, page.getBookings().size());
+                    assertEquals("P2", page.getBookings().get(0).getPnr());
+                    assertEquals(id1, page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void history_lastPage_hasNoCursor() {
+        String before = new ObjectId().toHexString();
+        Mockito.when(bookingRepository.findHistoryPage("ravi@x.com", before, 4))
+                .thenReturn(Flux.just(row("a", "P1")));
+
+        // limit 50 is clamped to the max of 3, plus one to look ahead
+        StepVerifier.create(bookingService.getBookingHistoryPage("ravi@x.com", before, 50))
+                .assertNext(page -> {
+                    assertEquals(1, page.getBookings().size());
+                    assertNull(page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void history_badCursor_rejectedBeforeQuery() {
+        StepVerifier.create(bookingService.getBookingHistoryPage("ravi@x.com", "not-an-id", null))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        Mockito.verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void history_blankEmail_rejected() {
+        StepVerifier.create(bookingService.getBookingHistoryPage(" ", null, null))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+}
@@ -1,12 +1,13 @@
 package com.flightapp.service;
 
+import com.flightapp.cache.BookingCache;
+import com.flightapp.cache.KnownKeys;
 import com.flightapp.model.Booking;
 import com.flightapp.repository.BookingRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -30,6 +31,11 @@ class BookingServiceTest {
         bookingService = new BookingService();
         // inject mock repository into service
         TestUtils.setField(bookingService, "bookingRepository", bookingRepository);
+
+        BookingCache bookingCache = new BookingCache();
+        TestUtils.setField(bookingCache, "bookingRepository", bookingRepository);
+        TestUtils.setField(bookingService, "bookingCache", bookingCache);
+        TestUtils.setField(bookingService, "knownKeys", new KnownKeys());
     }
 
     @Test
@@ -53,27 +59,4 @@ class BookingServiceTest {
                 .expectComplete()
                 .verify();
     }
-
-    @Test
-    void getBookingHistoryByEmail_returnsList() {
-        Booking b1 = new Booking();
-        b1.setEmail("mail@gmail.com");
-        Booking b2 = new Booking();
-        b2.setEmail("mail@gmail.com");
-
-        when(bookingRepository.findByEmail("mail@gmail.com")).thenReturn(Flux.just(b1, b2));
-
-        StepVerifier.create(bookingService.getBookingHistoryByEmail("mail@gmail.com"))
-                .expectNextCount(2)
-                .verifyComplete();
-    }
-
-    @Test
-    void getBookingHistoryByEmail_empty_returnsNoElements() {
-        when(bookingRepository.findByEmail("no@one.com")).thenReturn(Flux.empty());
-
-        StepVerifier.create(bookingService.getBookingHistoryByEmail("no@one.com"))
-                .expectComplete()
-                .verify();
-    }
-}
\ No newline at end of file
+}
@@ -1,5 +1,12 @@
 package com.flightapp.service;
 
+import com.flightapp.bus.LocalChangeBus;
+import com.flightapp.cache.BookingCache;
+import com.flightapp.cache.FlightCache;
+import com.flightapp.cache.KnownKeys;
+import com.flightapp.exception.BusinessException;
+import com.flightapp.exception.ErrorCode;
+import com.flightapp.metrics.BookingMetrics;
 import com.flightapp.model.Booking;
 import com.flightapp.repository.BookingRepository;
 import com.flightapp.repository.FlightRepository;
@@ -11,13 +18,12 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.Instant;
-import java.util.NoSuchElementException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Tests for CancelService edge cases.
- * I check missing PNR, and DB error propagation when updating flight fails.
+ * I check missing PNR, a booking with no createdAt, and DB error propagation when updating flight fails.
  */
 class CancelServiceEdgeTest {
 
@@ -32,16 +38,31 @@ class CancelServiceEdgeTest {
 
         cancelService = new CancelService();
         ReflectionTestUtils.setField(cancelService, "bookingRepository", bookingRepository);
-        ReflectionTestUtils.setField(cancelService, "flightRepository", flightRepository);
+        // seat inventory left disabled, so seats go back through the repository's atomic update
+        SeatInventory seatInventory = new SeatInventory();
+        ReflectionTestUtils.setField(seatInventory, "changeBus", new LocalChangeBus());
+        ReflectionTestUtils.setField(seatInventory, "flightRepository", flightRepository);
+        ReflectionTestUtils.setField(cancelService, "seatInventory", seatInventory);
+
+        FlightCache flightCache = new FlightCache();
+        ReflectionTestUtils.setField(flightCache, "flightRepository", flightRepository);
+        ReflectionTestUtils.setField(cancelService, "flightCache", flightCache);
+        ReflectionTestUtils.setField(cancelService, "seatPublisher", new SeatAvailabilityPublisher());
+        ReflectionTestUtils.setField(cancelService, "bookingCache", new BookingCache());
+        ReflectionTestUtils.setField(cancelService, "knownKeys", new KnownKeys());
+        ReflectionTestUtils.setField(cancelService, "bookingMetrics", new BookingMetrics());
+        ReflectionTestUtils.setField(cancelService, "changeBus", new LocalChangeBus());
+        ReflectionTestUtils.setField(cancelService, "waitlistService", Mockito.mock(WaitlistService.class));
     }
 
     @Test
-    void cancelBooking_whenPnrNotFound_throwsNoSuchElement() {
-        // If booking is missing, service should throw NoSuchElementException.
+    void cancelBooking_whenPnrNotFound_failsWithBookingNotFound() {
+        // If booking is missing, service should fail with BOOKING_NOT_FOUND.
+        Mockito.when(bookingRepository.cancelIfActive(Mockito.eq("MISSING"), Mockito.any(), Mockito.any())).thenReturn(Mono.empty());
         Mockito.when(bookingRepository.findByPnr("MISSING")).thenReturn(Mono.empty());
 
         StepVerifier.create(cancelService.cancelBooking("MISSING"))
-                .expectErrorSatisfies(err -> assertTrue(err instanceof NoSuchElementException))
+                .expectErrorMatches(e -> e instanceof BusinessException be && be.getCode() == ErrorCode.BOOKING_NOT_FOUND)
                 .verify();
     }
 
@@ -54,13 +75,9 @@ class CancelServiceEdgeTest {
         b.setSeatsBooked(2);
         b.setCreatedAt(Instant.now());
 
-        Mockito.when(bookingRepository.findByPnr("PNR1")).thenReturn(Mono.just(b));
-        // ensure repository save/delete calls return non-null monos so flow reaches flight save
-        Mockito.when(bookingRepository.save(Mockito.any())).thenReturn(Mono.just(b));
-        Mockito.when(bookingRepository.delete(Mockito.any())).thenReturn(Mono.empty());
+        Mockito.when(bookingRepository.cancelIfActive(Mockito.eq("PNR1"), Mockito.any(), Mockito.any())).thenReturn(Mono.just(b));
 
-        Mockito.when(flightRepository.findById("F1")).thenReturn(Mono.just(new com.flightapp.model.Flight()));
-        Mockito.when(flightRepository.save(Mockito.any())).thenReturn(Mono.error(new RuntimeException("db fail")));
+        Mockito.when(flightRepository.incrementSeats("F1", 2)).thenReturn(Mono.error(new RuntimeException("db fail")));
 
         StepVerifier.create(cancelService.cancelBooking("PNR1"))
                 .expectErrorSatisfies(err -> {
@@ -71,22 +88,52 @@ class CancelServiceEdgeTest {
     }
 
     @Test
-    void cancelBooking_whenDeleteBookingFails_propagatesError() {
-        // Real-world: delete might fail; we must ensure error propagates to caller
+    void cancelBooking_whenStatusFlipFails_propagatesErrorAndKeepsSeats() {
+        // Real-world: the cancel write might fail; the error must reach the caller and no seats go back
+        Mockito.when(bookingRepository.cancelIfActive(Mockito.eq("PNR-DEL"), Mockito.any(), Mockito.any()))
+                .thenReturn(Mono.error(new RuntimeException("update fail")));
+
+        StepVerifier.create(cancelService.cancelBooking("PNR-DEL"))
+                .expectErrorMatches(e -> e instanceof RuntimeException && e.getMessage().contains("update fail"))
+                .verify();
+
+        Mockito.verify(flightRepository, Mockito.never()).incrementSeats(Mockito.anyString(), Mockito.anyInt());
+    }
+
+    @Test
+    void cancelBooking_withoutCreatedAt_isRejected() {
+        // an old document without createdAt never matches the cancel query
         Booking b = new Booking();
-        b.setPnr("PNR-DEL");
-        b.setFlightId("F2");
-        b.setSeatsBooked(1);
-        b.setCreatedAt(Instant.now());
+        b.setPnr("PNR-NOTIME");
 
-        Mockito.when(bookingRepository.findByPnr("PNR-DEL")).thenReturn(Mono.just(b));
-        Mockito.when(flightRepository.findById("F2")).thenReturn(Mono.just(new com.flightapp.model.Flight()));
-        Mockito.when(flightRepository.save(Mockito.any())).thenReturn(Mono.just(new com.flightapp.model.Flight()));
-        // Simulate delete failure
-        Mockito.when(bookingRepository.delete(Mockito.any())).thenReturn(Mono.error(new RuntimeException("delete fail")));
+        Mockito.when(bookingRepository.cancelIfActive(Mockito.eq("PNR-NOTIME"), Mockito.any(), Mockito.any())).thenReturn(Mono.empty());
+        Mockito.when(bookingRepository.findByPnr("PNR-NOTIME")).thenReturn(Mono.just(b));
 
-        StepVerifier.create(cancelService.cancelBooking("PNR-DEL"))
-                .expectErrorMatches(e -> e instanceof RuntimeException && e.getMessage().contains("delete fail"))
+        StepVerifier.create(cancelService.cancelBooking("PNR-NOTIME"))
+                .expectErrorMatches(e -> e instanceof BusinessException be && be.getCode() == ErrorCode.BOOKING_INCOMPLETE && e.getMessage().contains("createdAt"))
                 .verify();
     }
-}
\ No newline at end of file
+
+    @Test
+    void cancelBooking_pnrNeverIssued_notFoundWithoutQuery() {
+        // once the bloom filter is loaded a made up pnr is answered from memory
+        KnownKeys knownKeys = new KnownKeys();
+        ReflectionTestUtils.setField(knownKeys, "bookingRepository", bookingRepository);
+        ReflectionTestUtils.setField(knownKeys, "flightRepository", flightRepository);
+        ReflectionTestUtils.setField(knownKeys, "enabled", true);
+        ReflectionTestUtils.setField(knownKeys, "expectedPnrs", 100L);
+        ReflectionTestUtils.setField(knownKeys, "expectedFlights", 100L);
+        ReflectionTestUtils.setField(knownKeys, "fpp", 0.01);
+        knownKeys.init();
+        Mockito.when(bookingRepository.streamPnrs()).thenReturn(reactor.core.publisher.Flux.empty());
+        Mockito.when(flightRepository.streamFlightNumbers()).thenReturn(reactor.core.publisher.Flux.empty());
+        knownKeys.rebuild().block();
+        ReflectionTestUtils.setField(cancelService, "knownKeys", knownKeys);
+
+        StepVerifier.create(cancelService.cancelBooking("RANDOM1"))
+                .expectErrorMatches(e -> e instanceof BusinessException be && be.getCode() == ErrorCode.BOOKING_NOT_FOUND)
+                .verify();
+
+        Mockito.verify(bookingRepository, Mockito.never()).findByPnr(Mockito.anyString());
+    }
+}
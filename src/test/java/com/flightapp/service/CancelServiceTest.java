@@ -1,25 +1,42 @@
 package com.flightapp.service;
 
+import com.flightapp.bus.LocalChangeBus;
+import com.flightapp.cache.BookingCache;
+import com.flightapp.cache.FlightCache;
+import com.flightapp.cache.KnownKeys;
+import com.flightapp.enums.BookingStatus;
+import com.flightapp.exception.BusinessException;
+import com.flightapp.exception.ErrorCode;
+import com.flightapp.metrics.BookingMetrics;
 import com.flightapp.model.Booking;
 import com.flightapp.model.Flight;
 import com.flightapp.repository.BookingRepository;
 import com.flightapp.repository.FlightRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.time.Instant;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
  * I test CancelService behaviour with small, practical scenarios:
- * - successful cancel restores seats
+ * - successful cancel restores seats and keeps the booking as CANCELLED
  * - missing PNR returns an error
  * - cancelling after 24h is rejected
+ * - cancelling twice is fine and gives seats back only once
  *
  * I keep examples local (F1 = Mumbai flight, etc.) so it feels real.
  */
@@ -28,6 +45,7 @@ class CancelServiceTest {
     private BookingRepository bookingRepository;
     private FlightRepository flightRepository;
     private CancelService cancelService;
+    private WaitlistService waitlistService;
 
     @BeforeEach
     void setup() {
@@ -36,7 +54,22 @@ class CancelServiceTest {
         cancelService = new CancelService();
         // inject mocks into private fields
         TestUtils.setField(cancelService, "bookingRepository", bookingRepository);
-        TestUtils.setField(cancelService, "flightRepository", flightRepository);
+        // seat inventory left disabled, so seats go back through the repository's atomic update
+        SeatInventory seatInventory = new SeatInventory();
+        TestUtils.setField(seatInventory, "changeBus", new LocalChangeBus());
+        TestUtils.setField(seatInventory, "flightRepository", flightRepository);
+        TestUtils.setField(cancelService, "seatInventory", seatInventory);
+
+        FlightCache flightCache = new FlightCache();
+        TestUtils.setField(flightCache, "flightRepository", flightRepository);
+        TestUtils.setField(cancelService, "flightCache", flightCache);
+        TestUtils.setField(cancelService, "seatPublisher", new SeatAvailabilityPublisher());
+        TestUtils.setField(cancelService, "bookingCache", new BookingCache());
+        TestUtils.setField(cancelService, "knownKeys", new KnownKeys());
+        TestUtils.setField(cancelService, "bookingMetrics", new BookingMetrics());
+        TestUtils.setField(cancelService, "changeBus", new LocalChangeBus());
+        waitlistService = mock(WaitlistService.class);
+        TestUtils.setField(cancelService, "waitlistService", waitlistService);
     }
 
     @Test
@@ -47,42 +80,87 @@ class CancelServiceTest {
         b.setFlightId("F-MUM-1");
         b.setSeatsBooked(2);
         b.setCreatedAt(Instant.now());
+        b.setStatus(BookingStatus.CANCELLED);
+        b.setCancelledAt(Instant.now());
 
         Flight f = new Flight();
         f.setId("F-MUM-1");
-        f.setAvailableSeats(3);
+        f.setAvailableSeats(5);
 
-        when(bookingRepository.findByPnr("PNRMUM1")).thenReturn(Mono.just(b));
-        when(flightRepository.findById("F-MUM-1")).thenReturn(Mono.just(f));
-        when(flightRepository.save(any(Flight.class))).thenAnswer(a -> Mono.just(a.getArgument(0)));
-        when(bookingRepository.delete(b)).thenReturn(Mono.empty());
+        when(bookingRepository.cancelIfActive(eq("PNRMUM1"), any(Instant.class), any(Instant.class))).thenReturn(Mono.just(b));
+        when(flightRepository.incrementSeats("F-MUM-1", 2)).thenReturn(Mono.just(f));
 
         StepVerifier.create(cancelService.cancelBooking("PNRMUM1"))
                 .expectNext("Booking cancelled")
                 .verifyComplete();
+
+        // the booking is kept for history, never deleted
+        verify(bookingRepository, never()).delete(any(Booking.class));
+        verify(flightRepository).incrementSeats("F-MUM-1", 2);
+        // the freed seats are offered to the waitlist
+        verify(waitlistService).seatsFreed("F-MUM-1");
+    }
+
+    @Test
+    void cancelBooking_windowIsLast24Hours() {
+        // the 24 hour rule is sent to mongo as part of the cancel query
+        when(bookingRepository.cancelIfActive(eq("PNRWIN"), any(Instant.class), any(Instant.class))).thenReturn(Mono.empty());
+        when(bookingRepository.findByPnr("PNRWIN")).thenReturn(Mono.empty());
+
+        Instant before = Instant.now();
+        StepVerifier.create(cancelService.cancelBooking("PNRWIN")).expectError().verify();
+
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(bookingRepository).cancelIfActive(eq("PNRWIN"), cutoff.capture(), any(Instant.class));
+        long minutes = Duration.between(cutoff.getValue(), before).toMinutes();
+        assertTrue(minutes >= 24 * 60 - 1 && minutes <= 24 * 60, "cutoff should be 24h back, was " + minutes + " minutes");
+    }
+
+    @Test
+    void cancelBooking_twice_isIdempotent() {
+        // second cancel finds nothing to flip, sees CANCELLED and answers the same without touching seats
+        Booking b = new Booking();
+        b.setPnr("PNRTWO");
+        b.setFlightId("F-TWO");
+        b.setSeatsBooked(3);
+        b.setCreatedAt(Instant.now());
+        b.setStatus(BookingStatus.CANCELLED);
+
+        when(bookingRepository.cancelIfActive(eq("PNRTWO"), any(Instant.class), any(Instant.class))).thenReturn(Mono.empty());
+        when(bookingRepository.findByPnr("PNRTWO")).thenReturn(Mono.just(b));
+
+        StepVerifier.create(cancelService.cancelBooking("PNRTWO"))
+                .expectNext("Booking cancelled")
+                .verifyComplete();
+
+        verify(flightRepository, never()).incrementSeats(anyString(), anyInt());
     }
 
     @Test
     void cancelBooking_pnrNotFound_throws() {
         // If the PNR is missing, I expect the service to fail with a clear error.
+        when(bookingRepository.cancelIfActive(eq("NOPE"), any(Instant.class), any(Instant.class))).thenReturn(Mono.empty());
         when(bookingRepository.findByPnr("NOPE")).thenReturn(Mono.empty());
 
         StepVerifier.create(cancelService.cancelBooking("NOPE"))
-                .expectErrorMatches(e -> (e instanceof IllegalArgumentException) || e.getMessage().toLowerCase().contains("pnr"))
+                .expectErrorMatches(e -> e instanceof BusinessException be && be.getCode() == ErrorCode.BOOKING_NOT_FOUND)
                 .verify();
     }
 
     @Test
-    void cancelBooking_tooLate_throwsIllegalState() {
+    void cancelBooking_tooLate_failsWithCancelWindowClosed() {
         // If booking is older than 24 hours (e.g., 25 hours), cancellation should be rejected.
         Booking b = new Booking();
         b.setPnr("OLDPNR");
         b.setCreatedAt(Instant.now().minusSeconds(60 * 60 * 25)); // 25 hours ago
+        b.setStatus(BookingStatus.BOOKED);
 
+        // mongo does not match the cancel query, so the service reads the booking to explain why
+        when(bookingRepository.cancelIfActive(eq("OLDPNR"), any(Instant.class), any(Instant.class))).thenReturn(Mono.empty());
         when(bookingRepository.findByPnr("OLDPNR")).thenReturn(Mono.just(b));
 
         StepVerifier.create(cancelService.cancelBooking("OLDPNR"))
-                .expectErrorMatches(e -> e instanceof IllegalStateException)
+                .expectErrorMatches(e -> e instanceof BusinessException be && be.getCode() == ErrorCode.CANCEL_WINDOW_CLOSED)
                 .verify();
     }
 
@@ -95,11 +173,8 @@ class CancelServiceTest {
         b.setSeatsBooked(1);
         b.setCreatedAt(Instant.now());
 
-        when(bookingRepository.findByPnr("PNR-ERR")).thenReturn(Mono.just(b));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(Mono.just(b));
-        when(bookingRepository.delete(any(Booking.class))).thenReturn(Mono.empty());
-        when(flightRepository.findById("F-DEL-1")).thenReturn(Mono.just(new Flight()));
-        when(flightRepository.save(any(Flight.class))).thenReturn(Mono.error(new RuntimeException("db fail")));
+        when(bookingRepository.cancelIfActive(eq("PNR-ERR"), any(Instant.class), any(Instant.class))).thenReturn(Mono.just(b));
+        when(flightRepository.incrementSeats("F-DEL-1", 1)).thenReturn(Mono.error(new RuntimeException("db fail")));
 
         StepVerifier.create(cancelService.cancelBooking("PNR-ERR"))
                 .expectErrorMatches(ex -> ex instanceof RuntimeException && ex.getMessage().contains("db fail"))
@@ -1,6 +1,8 @@
 package com.flightapp.service;
 
 import com.flightapp.dto.repsonse.BookingResponse;
+import com.flightapp.exception.BusinessException;
+import com.flightapp.exception.ErrorCode;
 import com.flightapp.model.Booking;
 import com.flightapp.model.Flight;
 import com.flightapp.repository.BookingRepository;
@@ -33,9 +35,7 @@ class FlightServiceBranchTest {
         flightRepository = Mockito.mock(FlightRepository.class);
         bookingRepository = Mockito.mock(BookingRepository.class);
 
-        flightService = new FlightService();
-        ReflectionTestUtils.setField(flightService, "flightRepository", flightRepository);
-        ReflectionTestUtils.setField(flightService, "bookingRepository", bookingRepository);
+        flightService = TestUtils.flightService(flightRepository, bookingRepository);
     }
 
     @Test
@@ -49,17 +49,35 @@ class FlightServiceBranchTest {
         saved.setId("id1");
         saved.setAvailableSeats(50);
 
-        Mockito.when(flightRepository.save(Mockito.any(Flight.class))).thenReturn(Mono.just(saved));
+        Mockito.when(flightRepository.insert(Mockito.any(Flight.class))).thenReturn(Mono.just(saved));
 
         StepVerifier.create(flightService.createFlight(f))
                 .expectNextMatches(ff -> ff.getAvailableSeats() == 50 && "id1".equals(ff.getId()))
                 .verifyComplete();
 
         ArgumentCaptor<Flight> cap = ArgumentCaptor.forClass(Flight.class);
-        Mockito.verify(flightRepository).save(cap.capture());
+        Mockito.verify(flightRepository).insert(cap.capture());
         assertEquals(50, cap.getValue().getAvailableSeats(), "I expect availableSeats to be set to totalSeats when previously zero");
     }
 
+    @Test
+    void createFlight_duplicateKey_becomesFlightAlreadyExists() {
+        // The unique index on flightNumber rejects the insert; the caller should see the usual message.
+        Flight f = new Flight();
+        f.setFlightNumber("6E-1");
+        f.setTotalSeats(10);
+        Mockito.when(flightRepository.insert(Mockito.any(Flight.class)))
+                .thenReturn(Mono.error(new org.springframework.dao.DuplicateKeyException("E11000 duplicate key")));
+
+        StepVerifier.create(flightService.createFlight(f))
+                .expectErrorSatisfies(err -> {
+                    assertEquals(ErrorCode.FLIGHT_EXISTS, ((BusinessException) err).getCode());
+                    assertEquals("flight already exists", err.getMessage());
+                })
+                .verify();
+        Mockito.verify(flightRepository, Mockito.never()).findByFlightNumber(Mockito.anyString());
+    }
+
     @Test
     void existsByFlightNumber_trueAndFalse() {
         // I ensure existsByFlightNumber maps repo result to boolean properly.
@@ -77,10 +95,11 @@ class FlightServiceBranchTest {
 
     @Test
     void getAllFlights_delegatesToRepo() {
-        // Basic delegation test — repo returns 1 flight and service forwards it.
+        // Basic delegation test — repo streams 1 flight and service forwards it.
         Flight f1 = new Flight();
         f1.setId("f1");
-        Mockito.when(flightRepository.findAll()).thenReturn(Flux.just(f1));
+        ReflectionTestUtils.setField(flightService, "streamBatchSize", 64);
+        Mockito.when(flightRepository.streamAll(64)).thenReturn(Flux.just(f1));
 
         StepVerifier.create(flightService.getAllFlights())
                 .expectNextMatches(f -> "f1".equals(f.getId()))
@@ -88,12 +107,13 @@ class FlightServiceBranchTest {
     }
 
     @Test
-    void bookTicket_flightNotFound_throwsNoSuchElement() {
-        // If findById returns empty, the service should fail loudly.
-        Mockito.when(flightRepository.findById("bad")).thenReturn(Mono.empty());
+    void bookTicket_flightNotFound_failsWithFlightNotFound() {
+        // If the flight is missing, the service should fail loudly.
+        Mockito.when(flightRepository.decrementSeats("bad", 1)).thenReturn(Mono.empty());
+        Mockito.when(flightRepository.existsById("bad")).thenReturn(Mono.just(false));
 
         StepVerifier.create(flightService.bookTicket("bad", 1, "n", "e", null, null))
-                .expectErrorSatisfies(err -> assertTrue(err instanceof java.util.NoSuchElementException))
+                .expectErrorMatches(e -> e instanceof BusinessException be && be.getCode() == ErrorCode.FLIGHT_NOT_FOUND)
                 .verify();
     }
 
@@ -103,7 +123,6 @@ class FlightServiceBranchTest {
         Flight f = new Flight();
         f.setId("f1");
         f.setAvailableSeats(10);
-        Mockito.when(flightRepository.findById("f1")).thenReturn(Mono.just(f));
 
         StepVerifier.create(flightService.bookTicket("f1", 0, "n", "e", null, null))
                 .expectErrorSatisfies(err -> assertTrue(err instanceof IllegalArgumentException))
@@ -111,30 +130,38 @@ class FlightServiceBranchTest {
     }
 
     @Test
-    void bookTicket_notEnoughSeats_throwsIllegalState() {
-        // Not enough seats branch triggers IllegalStateException
+    void bookTicket_seatNumbersMustMatchTheSeatCount() {
+        // one seat number per booked seat and no seat twice, checked before the inventory is touched
+        StepVerifier.create(flightService.bookTicket("f1", 2, "n", "e", null, null, java.util.List.of(4), false))
+                .expectErrorMessage("seatNumbers must list one seat per booked seat")
+                .verify();
+        StepVerifier.create(flightService.bookTicket("f1", 2, "n", "e", null, null, java.util.List.of(4, 4), false))
+                .expectErrorMessage("seatNumbers must not repeat a seat")
+                .verify();
+        Mockito.verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void bookTicket_notEnoughSeats_failsWithNotEnoughSeats() {
+        // Not enough seats branch fails with NOT_ENOUGH_SEATS
         Flight f = new Flight();
         f.setId("f2");
         f.setAvailableSeats(2);
-        Mockito.when(flightRepository.findById("f2")).thenReturn(Mono.just(f));
+        Mockito.when(flightRepository.decrementSeats("f2", 5)).thenReturn(Mono.empty());
+        Mockito.when(flightRepository.existsById("f2")).thenReturn(Mono.just(true));
 
         StepVerifier.create(flightService.bookTicket("f2", 5, "n", "e", null, null))
-                .expectErrorSatisfies(err -> assertTrue(err instanceof IllegalStateException))
+                .expectErrorMatches(e -> e instanceof BusinessException be && be.getCode() == ErrorCode.NOT_ENOUGH_SEATS)
                 .verify();
     }
 
     @Test
     void bookTicket_success_updatesFlightAndSavesBooking() {
         // Full happy path: flight available, saving both updated flight and booking should be called with correct values.
-        Flight f = new Flight();
-        f.setId("f3");
-        f.setAvailableSeats(5);
-        Mockito.when(flightRepository.findById("f3")).thenReturn(Mono.just(f));
-
         Flight savedFlight = new Flight();
         savedFlight.setId("f3");
         savedFlight.setAvailableSeats(3);
-        Mockito.when(flightRepository.save(Mockito.any(Flight.class))).thenReturn(Mono.just(savedFlight));
+        Mockito.when(flightRepository.decrementSeats("f3", 2)).thenReturn(Mono.just(savedFlight));
 
         Booking savedBooking = new Booking();
         savedBooking.setPnr("PNR1");
@@ -147,13 +174,56 @@ class FlightServiceBranchTest {
                 .expectNextMatches(br -> br.getPnr() != null && br.getPnr().equals("PNR1"))
                 .verifyComplete();
 
-        ArgumentCaptor<Flight> capF = ArgumentCaptor.forClass(Flight.class);
-        Mockito.verify(flightRepository).save(capF.capture());
-        assertEquals(3, capF.getValue().getAvailableSeats(), "After booking 2 seats, available should drop by 2");
+        // seats must go through the conditional update, never a read-modify-write save
+        Mockito.verify(flightRepository).decrementSeats("f3", 2);
+        Mockito.verify(flightRepository, Mockito.never()).save(Mockito.any(Flight.class));
 
         ArgumentCaptor<Booking> capB = ArgumentCaptor.forClass(Booking.class);
         Mockito.verify(bookingRepository).save(capB.capture());
         assertEquals(2, capB.getValue().getSeatsBooked(), "Booking record should store the seats booked");
         assertEquals("f3", capB.getValue().getFlightId(), "Booking should reference correct flight id");
     }
-}
\ No newline at end of file
+
+    @Test
+    void bookTicket_whenBookingSaveFails_givesSeatsBack() {
+        // If the booking cannot be stored, the seats already taken must be returned to the flight.
+        Flight savedFlight = new Flight();
+        savedFlight.setId("f4");
+        savedFlight.setAvailableSeats(8);
+        Mockito.when(flightRepository.decrementSeats("f4", 2)).thenReturn(Mono.just(savedFlight));
+        Mockito.when(flightRepository.incrementSeats("f4", 2)).thenReturn(Mono.just(new Flight()));
+        Mockito.when(bookingRepository.save(Mockito.any(Booking.class))).thenReturn(Mono.error(new RuntimeException("db fail")));
+
+        StepVerifier.create(flightService.bookTicket("f4", 2, "Name", "e@x.com", null, null))
+                .expectErrorMatches(e -> e.getMessage().contains("db fail"))
+                .verify();
+
+        Mockito.verify(flightRepository).incrementSeats("f4", 2);
+    }
+
+    @Test
+    void bookTicket_pnrAlreadyTaken_retriesWithNewPnr() {
+        // The unique pnr index rejects the first pnr; the booking must go through with a fresh one.
+        ReflectionTestUtils.setField(flightService, "pnrRetries", 3);
+        Flight savedFlight = new Flight();
+        savedFlight.setId("f5");
+        Mockito.when(flightRepository.decrementSeats("f5", 1)).thenReturn(Mono.just(savedFlight));
+
+        java.util.List<String> tried = new java.util.ArrayList<>();
+        Mockito.when(bookingRepository.save(Mockito.any(Booking.class))).thenAnswer(inv -> {
+            Booking b = inv.getArgument(0);
+            tried.add(b.getPnr());
+            return tried.size() == 1
+                    ? Mono.error(new org.springframework.dao.DuplicateKeyException("E11000 pnr"))
+                    : Mono.just(b);
+        });
+
+        StepVerifier.create(flightService.bookTicket("f5", 1, "Name", "e@x.com", null, null))
+                .expectNextMatches(br -> br.getPnr().equals(tried.get(1)))
+                .verifyComplete();
+
+        assertEquals(2, tried.size());
+        assertNotEquals(tried.get(0), tried.get(1), "every attempt must draw a new pnr");
+        Mockito.verify(flightRepository, Mockito.never()).incrementSeats(Mockito.anyString(), Mockito.anyInt());
+    }
+}
@@ -0,0 +1,150 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.repsonse.BulkFlightResult;
+import com.flightapp.dto.request.AddFlightRequest;
+import com.flightapp.model.Flight;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * I test the bulk flight upload: duplicates are found with one $in query per chunk,
+ * new flights go in with one batched insert per chunk, and bad lines are reported not thrown.
+ */
+class FlightServiceBulkIngestTest {
+
+    FlightService flightService;
+    FlightRepository flightRepository;
+    List<Collection<String>> inQueries;
+
+    @BeforeEach
+    void setUp() {
+        flightRepository = Mockito.mock(FlightRepository.class);
+
+        flightService = TestUtils.flightService(flightRepository, Mockito.mock(BookingRepository.class));
+        ReflectionTestUtils.setField(flightService, "ingestChunkSize", 3);
+
+        // AI-100 is already in mongo
+        inQueries = new ArrayList<>();
+        Mockito.when(flightRepository.findFlightNumbersIn(Mockito.anyCollection())).thenAnswer(inv -> {
+            Collection<String> asked = new ArrayList<>(inv.getArgument(0));
+            inQueries.add(asked);
+            Flight existing = new Flight();
+            existing.setFlightNumber("AI-100");
+            return asked.contains("AI-100") ? Flux.just(existing) : Flux.empty();
+        });
+        Mockito.when(flightRepository.insert(Mockito.<Iterable<Flight>>any())).thenAnswer(inv -> {
+            List<Flight> saved = new ArrayList<>();
+            for (Flight f : (Iterable<Flight>) inv.getArgument(0)) {
+                f.setId("id-" + f.getFlightNumber());
+                saved.add(f);
+            }
+            return Flux.fromIterable(saved);
+        });
+    }
+
+    private AddFlightRequest req(String number) {
+        return new AddFlightRequest("IndiGo", number, "Hyderabad", "Delhi",
+                "2025-12-01T06:00:00Z", "2025-12-01T08:10:00Z", 5400f, 180, "A320");
+    }
+
+    @Test
+    void ingestFlights_dedupesPerChunk_andBatchesInserts() {
+        AddFlightRequest badDates = req("6E-5");
+        badDates.setArrivalDateTime("2025-12-01T05:00:00Z");
+        AddFlightRequest noAirline = req("6E-6");
+        noAirline.setAirline(" ");
+
+        List<BulkFlightResult> out = flightService.ingestFlights(Flux.just(
+                        req("6E-1"), req("AI-100"), req("6E-1"),   // chunk 1: new, already in db, repeated
+                        req("6E-2"), badDates, noAirline,         // chunk 2: new, bad dates, missing field
+                        req("6E-3")))                             // chunk 3: new
+                .collectList()
+                .block();
+
+        assertEquals(7, out.size());
+        assertEquals(List.of("CREATED", "DUPLICATE", "DUPLICATE", "CREATED", "INVALID", "INVALID", "CREATED"),
+                out.stream().map(BulkFlightResult::getStatus).toList());
+        assertEquals("id-6E-1", out.get(0).getId());
+        assertEquals("arrival must be after departure", out.get(4).getError());
+
+        // one $in per chunk, one insert per chunk that has new flights
+        assertEquals(3, inQueries.size());
+        Mockito.verify(flightRepository, Mockito.times(3)).insert(Mockito.<Iterable<Flight>>any());
+        Mockito.verify(flightRepository, Mockito.never()).save(Mockito.any(Flight.class));
+        Mockito.verify(flightRepository, Mockito.never()).findByFlightNumber(Mockito.anyString());
+    }
+
+    @Test
+    void ingestFlights_lineWithoutPriceOrSeats_isInvalid_andTheRestGoesIn() {
+        AddFlightRequest noPrice = req("6E-12");
+        noPrice.setPrice(null);
+        AddFlightRequest noSeats = req("6E-13");
+        noSeats.setTotalSeats(null);
+
+        List<BulkFlightResult> out = flightService.ingestFlights(Flux.just(noPrice, noSeats, req("6E-14")))
+                .collectList()
+                .block();
+
+        assertEquals(List.of("INVALID", "INVALID", "CREATED"), out.stream().map(BulkFlightResult::getStatus).toList());
+        assertEquals("price price must not be null", out.get(0).getError());
+        assertEquals("totalSeats totalSeats must not be null", out.get(1).getError());
+    }
+
+    @Test
+    void ingestFlights_whenInsertFails_marksChunkFailed() {
+        // doReturn, so the insert answer from setUp is not run while stubbing
+        Mockito.doReturn(Flux.error(new RuntimeException("write failed")))
+                .when(flightRepository).insert(Mockito.<Iterable<Flight>>any());
+
+        List<BulkFlightResult> out = flightService.ingestFlights(Flux.just(req("6E-7"), req("6E-8")))
+                .collectList()
+                .block();
+
+        assertEquals(2, out.size());
+        assertTrue(out.stream().allMatch(r -> "FAILED".equals(r.getStatus()) && "write failed".equals(r.getError())));
+    }
+
+    @Test
+    void ingestFlights_whenAnotherWriterWinsARace_keepsInsertedAndRetriesRest() {
+        // the batch stops on a duplicate key: 6E-9 made it in, 6E-10 was taken meanwhile, 6E-11 was never tried
+        List<String> assignedIds = new ArrayList<>();
+        Mockito.doAnswer(inv -> {
+            for (Flight f : (Iterable<Flight>) inv.getArgument(0)) assignedIds.add(f.getId());
+            return Flux.error(new DuplicateKeyException("E11000"));
+        }).when(flightRepository).insert(Mockito.<Iterable<Flight>>any());
+        Mockito.when(flightRepository.findAllById(Mockito.<Iterable<String>>any()))
+                .thenAnswer(inv -> {
+                    Flight stored = new Flight();
+                    stored.setId(assignedIds.get(0));
+                    return Flux.just(stored);
+                });
+        Mockito.when(flightRepository.insert(Mockito.any(Flight.class))).thenAnswer(inv -> {
+            Flight f = inv.getArgument(0);
+            return "6E-10".equals(f.getFlightNumber())
+                    ? Mono.error(new DuplicateKeyException("E11000"))
+                    : Mono.just(f);
+        });
+
+        List<BulkFlightResult> out = flightService.ingestFlights(Flux.just(req("6E-9"), req("6E-10"), req("6E-11")))
+                .collectList()
+                .block();
+
+        assertEquals(List.of("CREATED", "DUPLICATE", "CREATED"), out.stream().map(BulkFlightResult::getStatus).toList());
+        assertEquals(assignedIds.get(0), out.get(0).getId());
+        // 6E-9 is already stored, so only the other two are retried one by one
+        Mockito.verify(flightRepository, Mockito.times(2)).insert(Mockito.any(Flight.class));
+    }
+}
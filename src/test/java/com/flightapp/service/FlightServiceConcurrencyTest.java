@@ -0,0 +1,90 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.repsonse.BookingResponse;
+import com.flightapp.enums.Gender;
+import com.flightapp.enums.MealType;
+import com.flightapp.exception.BusinessException;
+import com.flightapp.model.Booking;
+import com.flightapp.model.Flight;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * I fire many bookings at one flight from many threads at the same time.
+ * The repository here behaves like mongo's conditional update (check and decrement in one step),
+ * so if the service ever went back to read-modify-write this test would catch oversell.
+ */
+class FlightServiceConcurrencyTest {
+
+    private static final int SEATS = 50;
+    private static final int ATTEMPTS = 2_000;
+
+    FlightService flightService;
+    FlightRepository flightRepository;
+    BookingRepository bookingRepository;
+    AtomicInteger seatsLeft;
+
+    @BeforeEach
+    void setUp() {
+        flightRepository = Mockito.mock(FlightRepository.class);
+        bookingRepository = Mockito.mock(BookingRepository.class);
+        seatsLeft = new AtomicInteger(SEATS);
+
+        Mockito.when(flightRepository.decrementSeats(Mockito.eq("HOT-1"), Mockito.anyInt()))
+                .thenAnswer(inv -> Mono.fromCallable(() -> conditionalDecrement(inv.getArgument(1))));
+        Mockito.when(flightRepository.existsById("HOT-1")).thenReturn(Mono.just(true));
+        Mockito.when(bookingRepository.save(Mockito.any(Booking.class)))
+                .thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+
+        flightService = TestUtils.flightService(flightRepository, bookingRepository);
+    }
+
+    // same semantics as { availableSeats: { $gte: seats } } + { $inc: { availableSeats: -seats } }
+    private Flight conditionalDecrement(int seats) {
+        while (true) {
+            int current = seatsLeft.get();
+            if (current < seats) {
+                return null; // Mono.fromCallable turns null into empty, like a findAndModify miss
+            }
+            if (seatsLeft.compareAndSet(current, current - seats)) {
+                Flight f = new Flight();
+                f.setId("HOT-1");
+                f.setAvailableSeats(current - seats);
+                return f;
+            }
+        }
+    }
+
+    @Test
+    void bookTicket_highParallelism_neverOversells() {
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        Flux.range(0, ATTEMPTS)
+                .parallel(32)
+                .runOn(Schedulers.parallel())
+                .flatMap(i -> flightService.bookTicket("HOT-1", 1, "P" + i, "p" + i + "@x.com", Gender.OTHER, MealType.VEG)
+                        .map(BookingResponse::getPnr)
+                        .doOnNext(p -> booked.incrementAndGet())
+                        .onErrorResume(BusinessException.class, e -> {
+                            rejected.incrementAndGet();
+                            return Mono.empty();
+                        }))
+                .sequential()
+                .blockLast();
+
+        assertEquals(SEATS, booked.get(), "exactly the seats on the flight can be sold");
+        assertEquals(ATTEMPTS - SEATS, rejected.get(), "everyone else must get not enough seats");
+        assertEquals(0, seatsLeft.get(), "seat counter must end at zero, never below");
+    }
+}
@@ -0,0 +1,76 @@
+package com.flightapp.service;
+
+import com.flightapp.model.Flight;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+/**
+ * I test keyset paging of the flight list: page size limits and the next cursor.
+ */
+class FlightServiceListingTest {
+
+    FlightService flightService;
+    FlightRepository flightRepository;
+
+    @BeforeEach
+    void setUp() {
+        flightRepository = Mockito.mock(FlightRepository.class);
+        flightService = TestUtils.flightService(flightRepository, Mockito.mock(BookingRepository.class));
+        ReflectionTestUtils.setField(flightService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(flightService, "maxPageSize", 3);
+    }
+
+    private Flux<Flight> flights(String... ids) {
+        return Flux.fromArray(ids).map(id -> {
+            Flight f = new Flight();
+            f.setId(id);
+            return f;
+        });
+    }
+
+    @Test
+    void getFlightPage_morePagesLeft_givesCursorOfLastFlight() {
+        // default size is 2, so the service asks for 3 to see if there is more
+        Mockito.when(flightRepository.findPageAfter(null, 3))
+                .thenReturn(flights("650000000000000000000001", "650000000000000000000002", "650000000000000000000003"));
+
+        StepVerifier.create(flightService.getFlightPage(null, null))
+                .expectNextMatches(page -> page.getFlights().size() == 2
+                        && "650000000000000000000002".equals(page.getNextCursor()))
+                .verifyComplete();
+    }
+
+    @Test
+    void getFlightPage_lastPage_hasNoCursor() {
+        Mockito.when(flightRepository.findPageAfter("650000000000000000000002", 3))
+                .thenReturn(flights("650000000000000000000003"));
+
+        StepVerifier.create(flightService.getFlightPage("650000000000000000000002", 2))
+                .expectNextMatches(page -> page.getFlights().size() == 1 && page.getNextCursor() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    void getFlightPage_limitIsCappedAtMax() {
+        Mockito.when(flightRepository.findPageAfter(null, 4)).thenReturn(Flux.empty());
+
+        StepVerifier.create(flightService.getFlightPage(null, 10_000))
+                .expectNextMatches(page -> page.getFlights().isEmpty())
+                .verifyComplete();
+        Mockito.verify(flightRepository).findPageAfter(null, 4);
+    }
+
+    @Test
+    void getFlightPage_badCursor_isRejectedWithoutQuery() {
+        StepVerifier.create(flightService.getFlightPage("not-an-id", 2))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        Mockito.verifyNoInteractions(flightRepository);
+    }
+}
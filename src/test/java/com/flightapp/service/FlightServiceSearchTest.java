@@ -0,0 +1,57 @@
+package com.flightapp.service;
+
+import com.flightapp.model.Flight;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+
+/**
+ * I test the input checks and limits of route search; the query itself is covered by the explain test.
+ */
+class FlightServiceSearchTest {
+
+    FlightService flightService;
+    FlightRepository flightRepository;
+
+    @BeforeEach
+    void setUp() {
+        flightRepository = Mockito.mock(FlightRepository.class);
+        flightService = TestUtils.flightService(flightRepository, Mockito.mock(BookingRepository.class));
+        ReflectionTestUtils.setField(flightService, "defaultSearchLimit", 20);
+        ReflectionTestUtils.setField(flightService, "maxSearchLimit", 100);
+    }
+
+    @Test
+    void searchFlights_passesParsedWindowAndCappedLimit() {
+        Flight f = new Flight();
+        f.setFlightNumber("6E-1");
+        Instant after = Instant.parse("2025-12-01T00:00:00Z");
+        Instant before = Instant.parse("2025-12-02T00:00:00Z");
+        Mockito.when(flightRepository.searchRoute("Hyderabad", "Delhi", after, before, "price", 100))
+                .thenReturn(Flux.just(f));
+
+        StepVerifier.create(flightService.searchFlights("Hyderabad", "Delhi",
+                        "2025-12-01T00:00:00Z", "2025-12-02T00:00:00Z", "price", 5000))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    void searchFlights_badInput_failsWithoutQuery() {
+        StepVerifier.create(flightService.searchFlights("Hyderabad", "Delhi", null, null, "seats", null))
+                .expectError(IllegalArgumentException.class).verify();
+        StepVerifier.create(flightService.searchFlights("Hyderabad", "Delhi", "yesterday", null, null, null))
+                .expectError(IllegalArgumentException.class).verify();
+        StepVerifier.create(flightService.searchFlights(" ", "Delhi", null, null, null, null))
+                .expectError(IllegalArgumentException.class).verify();
+
+        Mockito.verifyNoInteractions(flightRepository);
+    }
+}
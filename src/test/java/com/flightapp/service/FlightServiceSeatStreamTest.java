@@ -0,0 +1,105 @@
+package com.flightapp.service;
+
+import com.flightapp.model.Flight;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * I test the live seat stream: snapshot first, then changes, and a slow client only getting the latest value.
+ */
+class FlightServiceSeatStreamTest {
+
+    FlightService flightService;
+    FlightRepository flightRepository;
+    SeatAvailabilityPublisher seatPublisher;
+
+    @BeforeEach
+    void setUp() {
+        flightRepository = Mockito.mock(FlightRepository.class);
+        flightService = TestUtils.flightService(flightRepository, Mockito.mock(BookingRepository.class));
+        seatPublisher = new SeatAvailabilityPublisher();
+        ReflectionTestUtils.setField(flightService, "seatPublisher", seatPublisher);
+        ReflectionTestUtils.setField(flightService, "maxWatchedFlights", 3);
+
+        Flight f1 = new Flight();
+        f1.setId("f1");
+        f1.setAvailableSeats(10);
+        Mockito.when(flightRepository.findById("f1")).thenReturn(Mono.just(f1));
+    }
+
+    @Test
+    void watchSeats_snapshotThenLiveChanges_forWatchedFlightsOnly() {
+        StepVerifier.create(flightService.watchSeats(List.of("f1")))
+                .expectNextMatches(u -> u.getFlightId().equals("f1") && u.getAvailableSeats() == 10)
+                .then(() -> {
+                    seatPublisher.publish("f2", 5); // not watched
+                    seatPublisher.publish("f1", 8);
+                })
+                .expectNextMatches(u -> u.getAvailableSeats() == 8)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void watchSeats_slowClient_getsOnlyLatestValue() {
+        // no demand at first, so every change waits; only the newest one is kept
+        StepVerifier.create(flightService.watchSeats(List.of("f1")), 0)
+                .then(() -> {
+                    seatPublisher.publish("f1", 9);
+                    seatPublisher.publish("f1", 8);
+                    seatPublisher.publish("f1", 7);
+                })
+                .thenRequest(1)
+                .expectNextMatches(u -> u.getAvailableSeats() == 7)
+                .thenRequest(1)
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void watchSeats_slowClient_keepsLatestValuePerFlight() {
+        Flight f2 = new Flight();
+        f2.setId("f2");
+        f2.setAvailableSeats(20);
+        Mockito.when(flightRepository.findById("f2")).thenReturn(Mono.just(f2));
+
+        // a flood of f1 changes must not push out the one waiting change of f2
+        StepVerifier.create(flightService.watchSeats(List.of("f1", "f2")), 0)
+                .then(() -> {
+                    seatPublisher.publish("f2", 19);
+                    for (int seats = 9; seats > 0; seats--) seatPublisher.publish("f1", seats);
+                })
+                .thenRequest(2)
+                .recordWith(ArrayList::new)
+                .expectNextCount(2)
+                .consumeRecordedWith(got -> assertEquals(Set.of("f1:1", "f2:19"),
+                        got.stream().map(u -> u.getFlightId() + ":" + u.getAvailableSeats()).collect(Collectors.toSet())))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void watchSeats_tooManyOrNoFlights_rejected() {
+        List<String> many = IntStream.range(0, 4).mapToObj(i -> "f" + i).toList();
+
+        StepVerifier.create(flightService.watchSeats(many)).expectError(IllegalArgumentException.class).verify();
+        StepVerifier.create(flightService.watchSeats(Collections.emptyList())).expectError(IllegalArgumentException.class).verify();
+    }
+}
@@ -3,6 +3,8 @@ package com.flightapp.service;
 import com.flightapp.dto.repsonse.BookingResponse;
 import com.flightapp.enums.Gender;
 import com.flightapp.enums.MealType;
+import com.flightapp.exception.BusinessException;
+import com.flightapp.exception.ErrorCode;
 import com.flightapp.model.Booking;
 import com.flightapp.model.Flight;
 import com.flightapp.repository.BookingRepository;
@@ -32,10 +34,7 @@ class FlightServiceTest {
     void setup() {
         flightRepository = mock(FlightRepository.class);
         bookingRepository = mock(BookingRepository.class);
-        flightService = new FlightService();
-        // inject mocks
-        TestUtils.setField(flightService, "flightRepository", flightRepository);
-        TestUtils.setField(flightService, "bookingRepository", bookingRepository);
+        flightService = TestUtils.flightService(flightRepository, bookingRepository);
     }
 
     @Test
@@ -45,8 +44,7 @@ class FlightServiceTest {
         f.setId("HYD-1");
         f.setAvailableSeats(5);
 
-        when(flightRepository.findById("HYD-1")).thenReturn(Mono.just(f));
-        when(flightRepository.save(any(Flight.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(flightRepository.decrementSeats("HYD-1", 2)).thenReturn(Mono.just(f));
         when(bookingRepository.save(any(Booking.class))).thenAnswer(inv -> {
             Booking b = inv.getArgument(0);
             b.setCreatedAt(Instant.now());
@@ -68,25 +66,28 @@ class FlightServiceTest {
     }
 
     @Test
-    void bookTicket_notEnoughSeats_returnsIllegalState() {
-        // If available seats less than requested, service must fail with IllegalStateException
+    void bookTicket_notEnoughSeats_failsWithNotEnoughSeats() {
+        // If available seats less than requested, service must fail with NOT_ENOUGH_SEATS
         Flight f = new Flight();
         f.setId("BLR-2");
         f.setAvailableSeats(1);
 
-        when(flightRepository.findById("BLR-2")).thenReturn(Mono.just(f));
+        // the conditional update matches nothing, but the flight itself is there
+        when(flightRepository.decrementSeats("BLR-2", 2)).thenReturn(Mono.empty());
+        when(flightRepository.existsById("BLR-2")).thenReturn(Mono.just(true));
 
         Mono<BookingResponse> out = flightService.bookTicket("BLR-2", 2, "Priya", "priya@ok.com", Gender.FEMALE, MealType.NONVEG);
 
         StepVerifier.create(out)
-                .expectErrorMatches(e -> e instanceof IllegalStateException && e.getMessage().toLowerCase().contains("not enough"))
+                .expectErrorMatches(e -> e instanceof BusinessException be && be.getCode() == ErrorCode.NOT_ENOUGH_SEATS && e.getMessage().toLowerCase().contains("not enough"))
                 .verify();
     }
 
     @Test
     void bookTicket_flightNotFound_returnsError() {
         // If flight is missing, we must get a meaningful error (NoSuchElement or IllegalArgument).
-        when(flightRepository.findById("NO-FLT")).thenReturn(Mono.empty());
+        when(flightRepository.decrementSeats("NO-FLT", 1)).thenReturn(Mono.empty());
+        when(flightRepository.existsById("NO-FLT")).thenReturn(Mono.just(false));
 
         StepVerifier.create(flightService.bookTicket("NO-FLT", 1, "Ajay", "ajay@ok.com", Gender.MALE, MealType.VEG))
                 .expectError() // allow either NoSuchElementException or IllegalArgumentException depending on implementation
@@ -100,7 +101,6 @@ class FlightServiceTest {
         f.setId("CHE-3");
         f.setAvailableSeats(10);
 
-        when(flightRepository.findById("CHE-3")).thenReturn(Mono.just(f));
 
         StepVerifier.create(flightService.bookTicket("CHE-3", 0, "Sita", "sita@ok.com", Gender.FEMALE, MealType.VEG))
                 .expectErrorMatches(err -> err instanceof IllegalArgumentException)
@@ -114,8 +114,7 @@ class FlightServiceTest {
         f.setId("DEL-4");
         f.setAvailableSeats(10);
 
-        when(flightRepository.findById("DEL-4")).thenReturn(Mono.just(f));
-        when(flightRepository.save(any(Flight.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(flightRepository.decrementSeats("DEL-4", 1)).thenReturn(Mono.just(f));
         when(bookingRepository.save(any(Booking.class))).thenAnswer(inv -> {
             Booking b = inv.getArgument(0);
             b.setPnr("PNRDEL4"); // emulate repository filling pnr
@@ -0,0 +1,125 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * I drive the wheel with made up nanoTime values (1 tick = 1000ns, 8 buckets), so every test is exact
+ * and nothing sleeps.
+ */
+class HashedTimingWheelTest {
+
+    private static final long TICK = 1_000;
+
+    private final HashedTimingWheel<String> wheel = new HashedTimingWheel<>(Duration.ofNanos(TICK), 8, 0);
+
+    @Test
+    void expiresOnTheFirstTickAtOrAfterTheDeadline() {
+        wheel.schedule("a", 2_500);
+
+        assertTrue(wheel.advance(2_000).isEmpty());
+        assertTrue(wheel.advance(2_999).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(3_000));
+        assertTrue(wheel.advance(100_000).isEmpty());
+    }
+
+    @Test
+    void deadlinesPastOneTurn_waitForTheirRound() {
+        // 8 buckets: ticks 3, 11 and 19 share a bucket
+        wheel.schedule("now", 3 * TICK);
+        wheel.schedule("next turn", 11 * TICK);
+        wheel.schedule("turn after", 19 * TICK);
+
+        assertEquals(List.of("now"), wheel.advance(3 * TICK));
+        assertTrue(wheel.advance(10 * TICK).isEmpty());
+        assertEquals(List.of("next turn"), wheel.advance(11 * TICK));
+        assertTrue(wheel.advance(18 * TICK).isEmpty());
+        assertEquals(List.of("turn after"), wheel.advance(19 * TICK));
+    }
+
+    @Test
+    void oneLateAdvance_catchesUpOnEveryTick_inDeadlineOrder() {
+        wheel.schedule("c", 30 * TICK);
+        wheel.schedule("a", 5 * TICK);
+        wheel.schedule("b", 12 * TICK);
+
+        assertEquals(List.of("a", "b", "c"), wheel.advance(40 * TICK));
+    }
+
+    @Test
+    void deadlineAlreadyPassed_expiresOnTheNextTick() {
+        wheel.advance(10 * TICK);
+        wheel.schedule("late", 2 * TICK);
+
+        assertEquals(List.of("late"), wheel.advance(11 * TICK));
+    }
+
+    @Test
+    void cancelled_neverExpires_andCancelAfterExpiryFails() {
+        HashedTimingWheel.Timeout<String> kept = wheel.schedule("kept", 4 * TICK);
+        HashedTimingWheel.Timeout<String> expires = wheel.schedule("expires", 4 * TICK);
+
+        assertTrue(kept.cancel());
+        assertFalse(kept.cancel());
+        assertEquals(List.of("expires"), wheel.advance(4 * TICK));
+        assertFalse(expires.cancel());
+    }
+
+    @Test
+    void cancelAndExpiryRace_exactlyOneWins() throws Exception {
+        // many threads cancel while the wheel expires the same items; every item is won exactly once
+        int items = 20_000;
+        List<HashedTimingWheel.Timeout<String>> timeouts = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            timeouts.add(wheel.schedule("h" + i, (i % 50) * TICK));
+        }
+        AtomicInteger cancelled = new AtomicInteger();
+        CountDownLatch go = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int from = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = from; i < items; i += 4) {
+                    if (timeouts.get(i).cancel()) cancelled.incrementAndGet();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        go.countDown();
+        int expired = 0;
+        for (long now = 0; now <= 60 * TICK; now += TICK) {
+            expired += wheel.advance(now).size();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(items, expired + cancelled.get());
+    }
+
+    @Test
+    void wheelSize_isRoundedUpToAPowerOfTwo() {
+        // 5 buckets become 8, so ticks 1 and 9 share a bucket and 9 waits a full turn
+        HashedTimingWheel<String> odd = new HashedTimingWheel<>(Duration.ofNanos(TICK), 5, 0);
+        odd.schedule("one", TICK);
+        odd.schedule("nine", 9 * TICK);
+
+        assertEquals(List.of("one"), odd.advance(8 * TICK));
+        assertEquals(List.of("nine"), odd.advance(9 * TICK));
+    }
+}
@@ -0,0 +1,77 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * I check the pnr format and that the random draws are as spread out as a perfect random source would be.
+ */
+class PnrGeneratorTest {
+
+    private final PnrGenerator generator = new PnrGenerator();
+
+    @Test
+    void encode_coversWholeAlphabet_withFixedLength() {
+        assertEquals("AAAAAA", PnrGenerator.encode(0));
+        assertEquals("AAAAA9", PnrGenerator.encode(35));
+        assertEquals("AAAABA", PnrGenerator.encode(36));
+        assertEquals("999999", PnrGenerator.encode(PnrGenerator.SPACE - 1));
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(generator.next().matches("[A-Z0-9]{6}"));
+        }
+    }
+
+    @Test
+    void collisionRate_overTheLastFourChars_matchesBirthdayBound() {
+        // the last 4 chars alone (36^4, about 1.7M values) collide often enough at 1M draws to measure
+        // closely, and stay uniform if the whole draw is
+        int n = 1_000_000;
+        long space = 36L * 36 * 36 * 36;
+        long repeats = repeats(n, space);
+
+        double expectedRepeats = expectedRepeats(n, space); // about 246k, standard deviation a few hundred
+        assertEquals(expectedRepeats, repeats, expectedRepeats * 0.02,
+                "a biased or correlated generator would collide noticeably more often");
+    }
+
+    // the full space needs about 80MB and a few seconds, so it only runs with -Dloadtest=true
+    @Test
+    @EnabledIfSystemProperty(named = "loadtest", matches = "true")
+    void collisionRate_over20MillionDraws_matchesBirthdayBound() {
+        int n = 20_000_000;
+        long repeats = repeats(n, PnrGenerator.SPACE);
+
+        double expectedRepeats = expectedRepeats(n, PnrGenerator.SPACE); // about 91.6k, standard deviation about 300
+        assertEquals(expectedRepeats, repeats, expectedRepeats * 0.02,
+                "a biased or correlated generator would collide noticeably more often");
+        // with retry on the unique index, this means under 0.5% of bookings at 20M pnrs need a second draw
+        assertTrue(repeats / (double) n < 0.005);
+    }
+
+    // draws n values folded into [0, space) and counts how many repeat an earlier one.
+    // 36^6 is just under 2^32, so every draw fits in an int (read as unsigned)
+    private long repeats(int n, long space) {
+        int[] draws = new int[n];
+        for (int i = 0; i < n; i++) {
+            draws[i] = (int) (generator.nextValue() % space);
+        }
+        Arrays.sort(draws);
+
+        long repeats = 0;
+        for (int i = 1; i < n; i++) {
+            if (draws[i] == draws[i - 1]) repeats++;
+        }
+        return repeats;
+    }
+
+    // for a uniform source the expected number of repeated draws is n - N(1 - (1 - 1/N)^n)
+    private static double expectedRepeats(int n, long space) {
+        double expectedDistinct = -space * Math.expm1(n * Math.log1p(-1 / (double) space));
+        return n - expectedDistinct;
+    }
+}
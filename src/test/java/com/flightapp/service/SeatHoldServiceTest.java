@@ -0,0 +1,176 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.repsonse.BookingResponse;
+import com.flightapp.dto.repsonse.SeatHoldResponse;
+import com.flightapp.dto.request.HoldConfirmRequest;
+import com.flightapp.dto.request.SeatHoldRequest;
+import com.flightapp.enums.Gender;
+import com.flightapp.enums.MealType;
+import com.flightapp.exception.BusinessException;
+import com.flightapp.exception.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * I test seat holds for a checkout on a Kochi flight (F-COK-1):
+ * - hold, then confirm books the held seats once
+ * - release gives the seats back and tells the waitlist
+ * - holds that run out are given back together, one release per flight
+ * The wheel is advanced by hand through expire(), so nothing waits for a real tick.
+ */
+class SeatHoldServiceTest {
+
+    private FlightService flightService;
+    private WaitlistService waitlistService;
+    private SeatHoldService seatHoldService;
+
+    @BeforeEach
+    void setUp() {
+        flightService = mock(FlightService.class);
+        waitlistService = mock(WaitlistService.class);
+        seatHoldService = new SeatHoldService();
+        ReflectionTestUtils.setField(seatHoldService, "flightService", flightService);
+        ReflectionTestUtils.setField(seatHoldService, "waitlistService", waitlistService);
+        seatHoldService.init();
+
+        // every hold gets the next free seats, from seat 1 up
+        AtomicInteger nextSeat = new AtomicInteger(1);
+        when(flightService.holdSeats(anyString(), anyInt(), any(), anyBoolean())).thenAnswer(inv -> {
+            List<Integer> seats = new ArrayList<>();
+            for (int i = 0; i < (int) inv.getArgument(1); i++) seats.add(nextSeat.getAndIncrement());
+            return Mono.just(new SeatInventory.Reservation(50, seats));
+        });
+        when(flightService.releaseSeats(anyString(), anyInt(), any())).thenReturn(Mono.just(52));
+    }
+
+    private static SeatHoldRequest hold(String flightId, int seats, Integer ttlSeconds) {
+        return new SeatHoldRequest(flightId, seats, null, false, ttlSeconds);
+    }
+
+    private static HoldConfirmRequest passenger() {
+        return new HoldConfirmRequest("Anil", "anil@example.com", Gender.MALE, MealType.VEG);
+    }
+
+    @Test
+    void hold_thenConfirm_booksTheHeldSeatsOnce() {
+        SeatHoldResponse held = seatHoldService.hold(hold("F-COK-1", 2, null)).block();
+        assertEquals(List.of(1, 2), held.getSeatNumbers());
+        assertTrue(held.getExpiresAt().isAfter(Instant.now().plus(Duration.ofMinutes(9))));
+        assertEquals(1, seatHoldService.openHolds());
+
+        when(flightService.bookHeld("F-COK-1", 2, List.of(1, 2), "Anil", "anil@example.com", Gender.MALE, MealType.VEG))
+                .thenReturn(Mono.just(new BookingResponse("PNRCOK", List.of(1, 2))));
+
+        StepVerifier.create(seatHoldService.confirm(held.getHoldId(), passenger()))
+                .expectNextMatches(b -> "PNRCOK".equals(b.getPnr()))
+                .verifyComplete();
+        assertEquals(0, seatHoldService.openHolds());
+
+        // a second confirm (double click) cannot book the same seats again
+        StepVerifier.create(seatHoldService.confirm(held.getHoldId(), passenger()))
+                .expectErrorMatches(e -> e instanceof BusinessException b && b.getCode() == ErrorCode.HOLD_NOT_FOUND)
+                .verify();
+        verify(flightService, times(1)).bookHeld(any(), anyInt(), any(), any(), any(), any(), any());
+        verify(flightService, never()).releaseSeats(anyString(), anyInt(), any());
+    }
+
+    @Test
+    void release_givesSeatsBack_andTellsTheWaitlist() {
+        SeatHoldResponse held = seatHoldService.hold(hold("F-COK-1", 2, null)).block();
+
+        StepVerifier.create(seatHoldService.release(held.getHoldId())).verifyComplete();
+        StepVerifier.create(seatHoldService.release(held.getHoldId()))
+                .expectErrorMatches(e -> e instanceof BusinessException b && b.getCode() == ErrorCode.HOLD_NOT_FOUND)
+                .verify();
+
+        verify(flightService, times(1)).releaseSeats("F-COK-1", 2, List.of(1, 2));
+        verify(waitlistService).seatsFreed("F-COK-1");
+    }
+
+    @Test
+    void expiredHolds_areGivenBackInOneReleasePerFlight() {
+        SeatHoldResponse first = seatHoldService.hold(hold("F-COK-1", 1, 1)).block();
+        seatHoldService.hold(hold("F-COK-1", 2, 1)).block();
+        seatHoldService.hold(hold("F-BLR-9", 1, 1)).block();
+        SeatHoldResponse longer = seatHoldService.hold(hold("F-COK-1", 1, 600)).block();
+
+        // nothing is due yet
+        StepVerifier.create(seatHoldService.expire(System.nanoTime())).verifyComplete();
+        verify(flightService, never()).releaseSeats(anyString(), anyInt(), any());
+
+        StepVerifier.create(seatHoldService.expire(System.nanoTime() + Duration.ofSeconds(3).toNanos())).verifyComplete();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Integer>> seats = ArgumentCaptor.forClass(List.class);
+        verify(flightService, times(1)).releaseSeats(eq("F-COK-1"), eq(3), seats.capture());
+        assertEquals(Set.of(1, 2, 3), new HashSet<>(seats.getValue()));
+        verify(flightService, times(1)).releaseSeats("F-BLR-9", 1, List.of(4));
+        verify(waitlistService).seatsFreed("F-COK-1");
+        verify(waitlistService).seatsFreed("F-BLR-9");
+
+        // the expired hold cannot be confirmed, the longer one is still open
+        StepVerifier.create(seatHoldService.confirm(first.getHoldId(), passenger()))
+                .expectErrorMatches(e -> e instanceof BusinessException b && b.getCode() == ErrorCode.HOLD_NOT_FOUND)
+                .verify();
+        assertEquals(1, seatHoldService.openHolds());
+        StepVerifier.create(seatHoldService.release(longer.getHoldId())).verifyComplete();
+    }
+
+    @Test
+    void hold_ttlOutOfRange_isRejectedBeforeTakingSeats() {
+        StepVerifier.create(seatHoldService.hold(hold("F-COK-1", 1, 0)))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(seatHoldService.hold(hold("F-COK-1", 1, 3600)))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verify(flightService, never()).holdSeats(anyString(), anyInt(), any(), anyBoolean());
+    }
+
+    @Test
+    void hold_soldOut_leavesNoHold() {
+        when(flightService.holdSeats(eq("F-FULL"), anyInt(), any(), anyBoolean()))
+                .thenReturn(Mono.error(ErrorCode.NOT_ENOUGH_SEATS.exception()));
+
+        StepVerifier.create(seatHoldService.hold(hold("F-FULL", 2, null)))
+                .expectErrorMatches(e -> e instanceof BusinessException b && b.getCode() == ErrorCode.NOT_ENOUGH_SEATS)
+                .verify();
+        assertEquals(0, seatHoldService.openHolds());
+    }
+
+    @Test
+    void stop_givesBackEveryOpenHold() {
+        seatHoldService.hold(hold("F-COK-1", 2, null)).block();
+
+        seatHoldService.stop();
+
+        verify(flightService).releaseSeats("F-COK-1", 2, List.of(1, 2));
+        assertEquals(0, seatHoldService.openHolds());
+    }
+}
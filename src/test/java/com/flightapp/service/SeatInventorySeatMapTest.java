@@ -0,0 +1,153 @@
+package com.flightapp.service;
+
+import com.flightapp.bus.LocalChangeBus;
+import com.flightapp.exception.BusinessException;
+import com.flightapp.exception.ErrorCode;
+import com.flightapp.model.Flight;
+import com.flightapp.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Seat numbers on flights that have a seat map, with the inventory on (maps in memory, written behind)
+ * and off (every claim is a compare-and-set on the stored map).
+ */
+class SeatInventorySeatMapTest {
+
+    FlightRepository flightRepository;
+    SeatInventory seatInventory;
+
+    @BeforeEach
+    void setUp() {
+        flightRepository = Mockito.mock(FlightRepository.class);
+        seatInventory = new SeatInventory();
+        ReflectionTestUtils.setField(seatInventory, "changeBus", new LocalChangeBus());
+        ReflectionTestUtils.setField(seatInventory, "flightRepository", flightRepository);
+        ReflectionTestUtils.setField(seatInventory, "seatsPerRow", 6);
+    }
+
+    private Flight flight(String id, int seats, byte[] seatMap, long version) {
+        Flight f = new Flight();
+        f.setId(id);
+        f.setTotalSeats(seats);
+        f.setAvailableSeats(seats);
+        f.setSeatMap(seatMap);
+        f.setSeatMapVersion(version);
+        return f;
+    }
+
+    private boolean isRejectedWith(Throwable e, ErrorCode code) {
+        return e instanceof BusinessException be && be.getCode() == code;
+    }
+
+    @Test
+    void enabled_groupGetsSeatsTogether_andChosenSeatsAreExclusive() {
+        ReflectionTestUtils.setField(seatInventory, "enabled", true);
+        seatInventory.register(flight("HYD-1", 12, SeatMap.emptyBytes(12), 0));
+
+        StepVerifier.create(seatInventory.reserve("HYD-1", 3, null, false))
+                .expectNext(new SeatInventory.Reservation(9, List.of(1, 2, 3)))
+                .verifyComplete();
+        StepVerifier.create(seatInventory.reserve("HYD-1", 2, List.of(8, 9), false))
+                .expectNext(new SeatInventory.Reservation(7, List.of(8, 9)))
+                .verifyComplete();
+
+        // seat 9 is gone, and the failed booking must not keep its count
+        StepVerifier.create(seatInventory.reserve("HYD-1", 2, List.of(9, 10), false))
+                .expectErrorMatches(e -> isRejectedWith(e, ErrorCode.SEAT_UNAVAILABLE))
+                .verify();
+        assertEquals(7, seatInventory.available("HYD-1"));
+        Mockito.verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void enabled_adjacentOnly_failsInsteadOfSplitting() {
+        ReflectionTestUtils.setField(seatInventory, "enabled", true);
+        seatInventory.register(flight("BLR-2", 12, SeatMap.emptyBytes(12), 0));
+        seatInventory.reserve("BLR-2", 2, List.of(3, 9), false).block();
+
+        StepVerifier.create(seatInventory.reserve("BLR-2", 4, null, true))
+                .expectErrorMatches(e -> isRejectedWith(e, ErrorCode.NO_ADJACENT_SEATS))
+                .verify();
+        assertEquals(10, seatInventory.available("BLR-2"));
+
+        // without the flag the group is split over the lowest free seats
+        StepVerifier.create(seatInventory.reserve("BLR-2", 4, null, false))
+                .expectNext(new SeatInventory.Reservation(6, List.of(1, 2, 4, 5)))
+                .verifyComplete();
+    }
+
+    @Test
+    void enabled_releaseFreesSeats_andFlushWritesTheMap() {
+        ReflectionTestUtils.setField(seatInventory, "enabled", true);
+        seatInventory.register(flight("DEL-4", 6, SeatMap.emptyBytes(6), 0));
+        seatInventory.reserve("DEL-4", 2, List.of(5, 6), false).block();
+        seatInventory.release("DEL-4", 1, List.of(6)).block();
+
+        Mockito.when(flightRepository.incrementSeats("DEL-4", -1)).thenReturn(Mono.just(new Flight()));
+        Mockito.when(flightRepository.saveSeatMap(Mockito.eq("DEL-4"), Mockito.any())).thenReturn(Mono.just(true));
+        StepVerifier.create(seatInventory.flush()).verifyComplete();
+
+        ArgumentCaptor<byte[]> written = ArgumentCaptor.forClass(byte[].class);
+        Mockito.verify(flightRepository).saveSeatMap(Mockito.eq("DEL-4"), written.capture());
+        assertEquals(List.of(1, 2, 3, 4, 6), SeatMap.fromBytes(written.getValue(), 6, 6).freeSeats());
+
+        // written once, so the next flush has nothing to do
+        StepVerifier.create(seatInventory.flush()).verifyComplete();
+        Mockito.verify(flightRepository, Mockito.times(1)).saveSeatMap(Mockito.anyString(), Mockito.any());
+    }
+
+    @Test
+    void disabled_lostCompareAndSet_readsTheMapAgain() {
+        SeatMap other = new SeatMap(6, 6);
+        other.claim(List.of(1, 2));
+        Flight afterDecrement = flight("MAA-3", 6, SeatMap.emptyBytes(6), 4);
+        Flight fresh = flight("MAA-3", 6, other.toBytes(), 5);
+
+        Mockito.when(flightRepository.decrementSeats("MAA-3", 2)).thenReturn(Mono.just(afterDecrement));
+        // another node wrote version 5 in between
+        Mockito.when(flightRepository.compareAndSetSeatMap(Mockito.eq("MAA-3"), Mockito.eq(4L), Mockito.any()))
+                .thenReturn(Mono.just(false));
+        Mockito.when(flightRepository.findById("MAA-3")).thenReturn(Mono.just(fresh));
+        Mockito.when(flightRepository.compareAndSetSeatMap(Mockito.eq("MAA-3"), Mockito.eq(5L), Mockito.any()))
+                .thenReturn(Mono.just(true));
+
+        StepVerifier.create(seatInventory.reserve("MAA-3", 2, null, false))
+                .expectNextMatches(r -> r.seatNumbers().equals(List.of(3, 4)))
+                .verifyComplete();
+    }
+
+    @Test
+    void disabled_seatTaken_givesTheCountBack() {
+        SeatMap stored = new SeatMap(6, 6);
+        stored.claim(List.of(2));
+        Mockito.when(flightRepository.decrementSeats("GOA-6", 1)).thenReturn(Mono.just(flight("GOA-6", 6, stored.toBytes(), 1)));
+        Mockito.when(flightRepository.incrementSeats("GOA-6", 1)).thenReturn(Mono.just(new Flight()));
+
+        StepVerifier.create(seatInventory.reserve("GOA-6", 1, List.of(2), false))
+                .expectErrorMatches(e -> isRejectedWith(e, ErrorCode.SEAT_UNAVAILABLE))
+                .verify();
+        Mockito.verify(flightRepository).incrementSeats("GOA-6", 1);
+        Mockito.verify(flightRepository, Mockito.never()).compareAndSetSeatMap(Mockito.anyString(), Mockito.anyLong(), Mockito.any());
+    }
+
+    @Test
+    void flightsWithoutASeatMap_areBookedByCountOnly() {
+        ReflectionTestUtils.setField(seatInventory, "enabled", true);
+        seatInventory.register(flight("OLD-9", 5, null, 0));
+
+        StepVerifier.create(seatInventory.reserve("OLD-9", 2, null, true))
+                .expectNext(new SeatInventory.Reservation(3, null))
+                .verifyComplete();
+        StepVerifier.create(seatInventory.seatMap("OLD-9")).verifyComplete();
+    }
+}
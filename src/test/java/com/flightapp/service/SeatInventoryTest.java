@@ -0,0 +1,163 @@
+package com.flightapp.service;
+
+import com.flightapp.bus.LocalChangeBus;
+import com.flightapp.exception.BusinessException;
+import com.flightapp.exception.ErrorCode;
+import com.flightapp.model.Flight;
+import com.flightapp.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * I test the in-memory seat counters with write-behind switched on.
+ * Mongo is only touched for the first load of a flight and for the flush.
+ */
+class SeatInventoryTest {
+
+    FlightRepository flightRepository;
+    SeatInventory seatInventory;
+
+    @BeforeEach
+    void setUp() {
+        flightRepository = Mockito.mock(FlightRepository.class);
+        seatInventory = new SeatInventory();
+        ReflectionTestUtils.setField(seatInventory, "changeBus", new LocalChangeBus());
+        ReflectionTestUtils.setField(seatInventory, "flightRepository", flightRepository);
+        ReflectionTestUtils.setField(seatInventory, "enabled", true);
+    }
+
+    private Flight flight(String id, int seats) {
+        Flight f = new Flight();
+        f.setId(id);
+        f.setTotalSeats(seats);
+        f.setAvailableSeats(seats);
+        return f;
+    }
+
+    @Test
+    void reserve_and_release_stayInMemory() {
+        seatInventory.register(flight("HYD-1", 10));
+
+        StepVerifier.create(seatInventory.reserve("HYD-1", 4)).expectNext(6).verifyComplete();
+        StepVerifier.create(seatInventory.release("HYD-1", 1)).expectNext(7).verifyComplete();
+        assertEquals(7, seatInventory.available("HYD-1"));
+
+        // nothing should have gone to mongo yet
+        Mockito.verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void reserve_notEnoughSeats_failsWithoutChangingCounter() {
+        seatInventory.register(flight("BLR-2", 2));
+
+        StepVerifier.create(seatInventory.reserve("BLR-2", 3))
+                .expectErrorMatches(e -> e instanceof BusinessException be && be.getCode() == ErrorCode.NOT_ENOUGH_SEATS && e.getMessage().equals("Not enough seats"))
+                .verify();
+        assertEquals(2, seatInventory.available("BLR-2"));
+    }
+
+    @Test
+    void reserve_unknownFlight_loadsOnce_orFailsWhenMissing() {
+        Mockito.when(flightRepository.findById("CHE-3")).thenReturn(Mono.just(flight("CHE-3", 5)));
+        Mockito.when(flightRepository.findById("NOPE")).thenReturn(Mono.empty());
+
+        StepVerifier.create(seatInventory.reserve("CHE-3", 1)).expectNext(4).verifyComplete();
+        StepVerifier.create(seatInventory.reserve("CHE-3", 1)).expectNext(3).verifyComplete();
+        Mockito.verify(flightRepository, Mockito.times(1)).findById("CHE-3");
+
+        StepVerifier.create(seatInventory.reserve("NOPE", 1))
+                .expectErrorMatches(e -> e instanceof BusinessException be && be.getCode() == ErrorCode.FLIGHT_NOT_FOUND)
+                .verify();
+    }
+
+    @Test
+    void flush_writesNetDeltaWithInc_andRetriesOnFailure() {
+        seatInventory.register(flight("DEL-4", 20));
+        seatInventory.reserve("DEL-4", 5).block();
+        seatInventory.release("DEL-4", 2).block();
+
+        // first flush fails, the delta must stay queued
+        Mockito.when(flightRepository.incrementSeats("DEL-4", -3))
+                .thenReturn(Mono.error(new RuntimeException("db down")))
+                .thenReturn(Mono.just(new Flight()));
+
+        StepVerifier.create(seatInventory.flush()).verifyComplete();
+        StepVerifier.create(seatInventory.flush()).verifyComplete();
+        Mockito.verify(flightRepository, Mockito.times(2)).incrementSeats("DEL-4", -3);
+
+        // once written, there is nothing left to flush
+        StepVerifier.create(seatInventory.flush()).verifyComplete();
+        Mockito.verify(flightRepository, Mockito.times(2)).incrementSeats(Mockito.anyString(), Mockito.anyInt());
+    }
+
+    @Test
+    void rebase_ignoresEventsOlderThanOwnFlush_andKeepsTheSameCounter() {
+        seatInventory.register(flight("PNQ-5", 10));
+        seatInventory.reserve("PNQ-5", 2).block();
+
+        Flight stored = flight("PNQ-5", 10);
+        stored.setAvailableSeats(8);
+        stored.setSeatsVersion(5);
+        Mockito.when(flightRepository.incrementSeats("PNQ-5", -2)).thenReturn(Mono.just(stored));
+        StepVerifier.create(seatInventory.flush()).verifyComplete();
+
+        // a change stream event from before our own flush comes in late: it must not undo the booking
+        seatInventory.rebase("PNQ-5", 10, 4);
+        assertEquals(8, seatInventory.available("PNQ-5"));
+
+        // a newer write by another node is taken, and bookings keep using the same counter
+        seatInventory.rebase("PNQ-5", 6, 6);
+        assertEquals(6, seatInventory.available("PNQ-5"));
+        StepVerifier.create(seatInventory.reserve("PNQ-5", 1)).expectNext(5).verifyComplete();
+        assertEquals(5, seatInventory.available("PNQ-5"));
+    }
+
+    @Test
+    void start_rehydratesCountersFromFlights() {
+        Mockito.when(flightRepository.findAll()).thenReturn(Flux.just(flight("MUM-5", 30), flight("GOA-6", 12)));
+        ReflectionTestUtils.setField(seatInventory, "flushInterval", java.time.Duration.ofHours(1));
+
+        seatInventory.start();
+        seatInventory.stop();
+
+        assertEquals(30, seatInventory.available("MUM-5"));
+        assertEquals(12, seatInventory.available("GOA-6"));
+    }
+
+    @Test
+    void withLiveSeats_overlaysCounterOnStaleFlight() {
+        seatInventory.register(flight("PNQ-7", 9));
+        seatInventory.reserve("PNQ-7", 3).block();
+
+        Flight stale = flight("PNQ-7", 9);
+        assertEquals(6, seatInventory.withLiveSeats(stale).getAvailableSeats());
+    }
+
+    @Test
+    void reserve_fromManyThreads_neverOversells() {
+        seatInventory.register(flight("HOT-8", 100));
+        AtomicInteger sold = new AtomicInteger();
+
+        Flux.range(0, 5_000)
+                .parallel(32)
+                .runOn(Schedulers.parallel())
+                .flatMap(i -> seatInventory.reserve("HOT-8", 1)
+                        .doOnNext(left -> sold.incrementAndGet())
+                        .onErrorResume(BusinessException.class, e -> Mono.empty()))
+                .sequential()
+                .blockLast();
+
+        assertEquals(100, sold.get());
+        assertEquals(0, seatInventory.available("HOT-8"));
+    }
+}
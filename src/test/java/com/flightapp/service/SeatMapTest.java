@@ -0,0 +1,114 @@
+package com.flightapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatMapTest {
+
+    @Test
+    void adjacentBlock_staysInsideOneRow() {
+        // rows of 6: 1-6, 7-12, ...; with 1-4 taken there are only two free seats left in row one
+        SeatMap map = new SeatMap(30, 6);
+        assertTrue(map.claim(List.of(1, 2, 3, 4)));
+
+        assertEquals(List.of(7, 8, 9), map.claimAdjacent(3));
+        assertEquals(List.of(5, 6), map.claimAdjacent(2));
+    }
+
+    @Test
+    void adjacentBlock_canSpanTwoWords() {
+        // seats 61-66 are one row and sit across the first and second 64 bit word
+        SeatMap map = new SeatMap(120, 6);
+        List<Integer> front = IntStream.rangeClosed(1, 60).boxed().toList();
+        assertTrue(map.claim(front));
+
+        assertEquals(List.of(61, 62, 63, 64, 65, 66), map.claimAdjacent(6));
+        assertTrue(map.isTaken(64) && map.isTaken(65));
+    }
+
+    @Test
+    void adjacentBlock_nullWhenNoRowHasRoom() {
+        // every row has its middle seat taken, so no row has three together
+        SeatMap map = new SeatMap(12, 6);
+        assertTrue(map.claim(List.of(3, 4, 9, 10)));
+
+        assertNull(map.claimAdjacent(3));
+        assertNull(map.claimAdjacent(7));
+        assertEquals(8, map.freeCount());
+    }
+
+    @Test
+    void claim_isAllOrNothing() {
+        SeatMap map = new SeatMap(10, 5);
+        assertTrue(map.claim(List.of(2)));
+
+        assertFalse(map.claim(List.of(1, 2, 3)));
+        assertFalse(map.isTaken(1));
+        assertFalse(map.claim(List.of(4, 11)));
+        assertFalse(map.isTaken(4));
+        assertEquals(9, map.freeCount());
+    }
+
+    @Test
+    void claimAny_takesLowestFreeSeats_orNothing() {
+        SeatMap map = new SeatMap(8, 4);
+        assertTrue(map.claim(List.of(1, 3)));
+
+        assertEquals(List.of(2, 4, 5), map.claimAny(3));
+        assertNull(map.claimAny(4));
+        assertEquals(List.of(6, 7, 8), map.freeSeats());
+    }
+
+    @Test
+    void bytes_roundTrip_andSeatsPastTheEndAreNeverFree() {
+        SeatMap map = new SeatMap(70, 7);
+        map.claim(List.of(1, 64, 65, 70));
+
+        SeatMap back = SeatMap.fromBytes(map.toBytes(), 70, 7);
+        assertEquals(16, map.toBytes().length);
+        assertEquals(66, back.freeCount());
+        assertTrue(back.isTaken(64) && back.isTaken(65) && back.isTaken(70));
+        assertEquals(SeatMap.emptyBytes(70).length, back.toBytes().length);
+        assertEquals(70, SeatMap.fromBytes(SeatMap.emptyBytes(70), 70, 7).freeCount());
+    }
+
+    @Test
+    void release_freesOnlyTheGivenSeats() {
+        SeatMap map = new SeatMap(6, 6);
+        map.claim(List.of(1, 2, 3));
+        map.release(List.of(2));
+
+        assertEquals(List.of(2, 4, 5, 6), map.freeSeats());
+    }
+
+    @Test
+    void parallelClaims_neverHandOutASeatTwice() throws Exception {
+        SeatMap map = new SeatMap(180, 6);
+        ConcurrentLinkedQueue<Integer> given = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int n = 1 + t % 4;
+            boolean together = t % 2 == 0;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    List<Integer> got = together ? map.claimAdjacent(n) : map.claimAny(n);
+                    if (got != null) given.addAll(got);
+                }
+            }));
+        }
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+
+        Set<Integer> unique = new HashSet<>(given);
+        assertEquals(given.size(), unique.size());
+        assertEquals(180 - map.freeCount(), given.size());
+    }
+}
@@ -1,5 +1,14 @@
 package com.flightapp.service;
 
+import com.flightapp.bus.LocalChangeBus;
+import com.flightapp.cache.BookingCache;
+import com.flightapp.cache.FlightCache;
+import com.flightapp.cache.KnownKeys;
+import com.flightapp.metrics.BookingMetrics;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.validation.RequestValidator;
+
 import java.lang.reflect.Field;
 
 /**
@@ -17,4 +26,30 @@ public class TestUtils {
             throw new RuntimeException(e);
         }
     }
-}
\ No newline at end of file
+
+    // a FlightService on the given repositories with real in-memory helpers around it.
+    // the seat inventory is left disabled, so seats go through the repository's atomic update.
+    // tests change only the fields they care about with setField afterwards
+    public static FlightService flightService(FlightRepository flightRepository, BookingRepository bookingRepository) {
+        SeatInventory seatInventory = new SeatInventory();
+        setField(seatInventory, "changeBus", new LocalChangeBus());
+        setField(seatInventory, "flightRepository", flightRepository);
+
+        FlightCache flightCache = new FlightCache();
+        setField(flightCache, "flightRepository", flightRepository);
+
+        FlightService flightService = new FlightService();
+        setField(flightService, "flightRepository", flightRepository);
+        setField(flightService, "bookingRepository", bookingRepository);
+        setField(flightService, "seatInventory", seatInventory);
+        setField(flightService, "flightCache", flightCache);
+        setField(flightService, "seatPublisher", new SeatAvailabilityPublisher());
+        setField(flightService, "bookingCache", new BookingCache());
+        setField(flightService, "knownKeys", new KnownKeys());
+        setField(flightService, "bookingMetrics", new BookingMetrics());
+        setField(flightService, "changeBus", new LocalChangeBus());
+        setField(flightService, "pnrGenerator", new PnrGenerator());
+        setField(flightService, "requestValidator", new RequestValidator());
+        return flightService;
+    }
+}
@@ -0,0 +1,225 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.repsonse.BookingResponse;
+import com.flightapp.dto.request.BookingRequest;
+import com.flightapp.enums.Gender;
+import com.flightapp.enums.MealType;
+import com.flightapp.enums.WaitlistStatus;
+import com.flightapp.exception.BusinessException;
+import com.flightapp.exception.ErrorCode;
+import com.flightapp.model.Flight;
+import com.flightapp.model.WaitlistEntry;
+import com.flightapp.repository.WaitlistRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * I test the waitlist with one full Delhi flight (F-DEL-1):
+ * - entries are booked oldest first and a run stops at the first one that does not fit
+ * - the in-memory head saves the queue read on the next run
+ * - entries taken by another node or that can never be booked do not hold up the queue
+ * - joining checks the request and queues a run, and a cancel signal ends in a booking
+ */
+class WaitlistServiceTest {
+
+    private WaitlistRepository waitlistRepository;
+    private FlightService flightService;
+    private WaitlistService waitlistService;
+
+    @BeforeEach
+    void setUp() {
+        waitlistRepository = mock(WaitlistRepository.class);
+        flightService = mock(FlightService.class);
+        waitlistService = new WaitlistService();
+        ReflectionTestUtils.setField(waitlistService, "waitlistRepository", waitlistRepository);
+        ReflectionTestUtils.setField(waitlistService, "flightService", flightService);
+        ReflectionTestUtils.setField(waitlistService, "batchWindow", Duration.ofMillis(10));
+
+        when(waitlistRepository.claim(anyString())).thenReturn(Mono.just(true));
+        when(waitlistRepository.unclaim(anyString())).thenReturn(Mono.just(true));
+        when(waitlistRepository.markPromoted(anyString(), anyString(), any(), any(Instant.class))).thenReturn(Mono.just(true));
+        when(waitlistRepository.markFailed(anyString(), any())).thenReturn(Mono.just(true));
+    }
+
+    @AfterEach
+    void tearDown() {
+        waitlistService.stop();
+    }
+
+    private static WaitlistEntry entry(String id, String name, int seats) {
+        WaitlistEntry e = new WaitlistEntry();
+        e.setId(id);
+        e.setFlightId("F-DEL-1");
+        e.setSeats(seats);
+        e.setName(name);
+        e.setEmail(name.toLowerCase() + "@example.com");
+        e.setGender(Gender.FEMALE);
+        e.setMealPreference(MealType.VEG);
+        e.setStatus(WaitlistStatus.WAITING);
+        return e;
+    }
+
+    private void books(String name, String pnr) {
+        when(flightService.bookTicket(eq("F-DEL-1"), anyInt(), eq(name), any(), any(), any(), isNull(), eq(false)))
+                .thenReturn(Mono.just(new BookingResponse(pnr, List.of(1))));
+    }
+
+    private void fails(String name, ErrorCode code) {
+        when(flightService.bookTicket(eq("F-DEL-1"), anyInt(), eq(name), any(), any(), any(), isNull(), eq(false)))
+                .thenReturn(Mono.error(code.exception()));
+    }
+
+    @Test
+    void promote_booksOldestFirst_andStopsAtFirstEntryThatDoesNotFit() {
+        when(waitlistRepository.findWaiting("F-DEL-1", 32)).thenReturn(Flux.just(
+                entry("w1", "Asha", 1), entry("w2", "Ravi", 3), entry("w3", "Meena", 1)));
+        books("Asha", "PNRASHA");
+        fails("Ravi", ErrorCode.NOT_ENOUGH_SEATS);
+        books("Meena", "PNRMEENA");
+
+        StepVerifier.create(waitlistService.promote("F-DEL-1"))
+                .expectNext(1)
+                .verifyComplete();
+
+        verify(waitlistRepository).markPromoted(eq("w1"), eq("PNRASHA"), eq(List.of(1)), any(Instant.class));
+        // Ravi keeps his place, and Meena may not jump ahead of him
+        verify(waitlistRepository).unclaim("w2");
+        verify(waitlistRepository, never()).claim("w3");
+    }
+
+    @Test
+    void promote_keepsTheHeadInMemory_betweenRuns() {
+        when(waitlistRepository.findWaiting("F-DEL-1", 32)).thenReturn(Flux.just(entry("w1", "Ravi", 3)));
+        fails("Ravi", ErrorCode.NOT_ENOUGH_SEATS);
+
+        StepVerifier.create(waitlistService.promote("F-DEL-1")).expectNext(0).verifyComplete();
+        StepVerifier.create(waitlistService.promote("F-DEL-1")).expectNext(0).verifyComplete();
+
+        verify(waitlistRepository, times(1)).findWaiting("F-DEL-1", 32);
+        verify(waitlistRepository, times(2)).claim("w1");
+    }
+
+    @Test
+    void promote_skipsEntriesTakenElsewhere_andFailsEntriesThatCanNeverBeBooked() {
+        when(waitlistRepository.findWaiting("F-DEL-1", 32))
+                .thenReturn(Flux.just(entry("w1", "Asha", 1), entry("w2", "Ravi", 1), entry("w3", "Meena", 1)))
+                .thenReturn(Flux.empty());
+        // another node got Asha first
+        when(waitlistRepository.claim("w1")).thenReturn(Mono.just(false));
+        fails("Ravi", ErrorCode.FLIGHT_NOT_FOUND);
+        books("Meena", "PNRMEENA");
+
+        StepVerifier.create(waitlistService.promote("F-DEL-1"))
+                .expectNext(1)
+                .verifyComplete();
+
+        verify(flightService, never()).bookTicket(any(), anyInt(), eq("Asha"), any(), any(), any(), any(), eq(false));
+        verify(waitlistRepository).markFailed("w2", "Flight not found");
+        verify(waitlistRepository).markPromoted(eq("w3"), eq("PNRMEENA"), any(), any(Instant.class));
+    }
+
+    @Test
+    void promote_withEmptyQueue_booksNothing() {
+        when(waitlistRepository.findWaiting("F-DEL-1", 32)).thenReturn(Flux.empty());
+
+        StepVerifier.create(waitlistService.promote("F-DEL-1"))
+                .expectNext(0)
+                .verifyComplete();
+    }
+
+    @Test
+    void join_savesWaitingEntry_andQueuesARun() {
+        Flight f = new Flight();
+        f.setId("F-DEL-1");
+        f.setTotalSeats(100);
+        when(flightService.getFlightById("F-DEL-1")).thenReturn(Mono.just(f));
+        when(waitlistRepository.insert(any(WaitlistEntry.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+
+        BookingRequest req = new BookingRequest("F-DEL-1", 2, "Asha", " Asha@Example.com ", Gender.FEMALE, MealType.VEG);
+        StepVerifier.create(waitlistService.join(req))
+                .expectNextMatches(r -> r.getStatus() == WaitlistStatus.WAITING && r.getId() != null && r.getPnr() == null)
+                .verifyComplete();
+
+        ArgumentCaptor<WaitlistEntry> cap = ArgumentCaptor.forClass(WaitlistEntry.class);
+        verify(waitlistRepository).insert(cap.capture());
+        assertEquals("asha@example.com", cap.getValue().getEmail());
+        assertEquals(2, cap.getValue().getSeats());
+        @SuppressWarnings("unchecked")
+        Set<String> queued = (Set<String>) ReflectionTestUtils.getField(waitlistService, "queued");
+        assertTrue(queued.contains("F-DEL-1"));
+    }
+
+    @Test
+    void join_rejectsRequestsThatCouldNeverBeBooked() {
+        Flight f = new Flight();
+        f.setId("F-DEL-1");
+        f.setTotalSeats(4);
+        when(flightService.getFlightById("F-DEL-1")).thenReturn(Mono.just(f));
+        when(flightService.getFlightById("NOPE")).thenReturn(Mono.empty());
+
+        StepVerifier.create(waitlistService.join(new BookingRequest("F-DEL-1", 5, "Asha", "a@b.com", Gender.FEMALE, MealType.VEG)))
+                .expectErrorMatches(e -> e instanceof BusinessException b && b.getCode() == ErrorCode.NOT_ENOUGH_SEATS)
+                .verify();
+        StepVerifier.create(waitlistService.join(new BookingRequest("NOPE", 1, "Asha", "a@b.com", Gender.FEMALE, MealType.VEG)))
+                .expectErrorMatches(e -> e instanceof BusinessException b && b.getCode() == ErrorCode.FLIGHT_NOT_FOUND)
+                .verify();
+        StepVerifier.create(waitlistService.join(new BookingRequest("F-DEL-1", 1, "Asha", "a@b.com", Gender.FEMALE, MealType.VEG, List.of(3), false)))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(waitlistService.join(new BookingRequest("F-DEL-1", 7, "Asha", "a@b.com", Gender.FEMALE, MealType.VEG, null, true)))
+                .expectErrorMatches(e -> e instanceof BusinessException b && b.getCode() == ErrorCode.NO_ADJACENT_SEATS)
+                .verify();
+
+        verify(waitlistRepository, never()).insert(any(WaitlistEntry.class));
+    }
+
+    @Test
+    void seatsFreed_promotesInTheBackground() {
+        when(waitlistRepository.findWaiting("F-DEL-1", 32))
+                .thenReturn(Flux.just(entry("w1", "Asha", 1)))
+                .thenReturn(Flux.empty());
+        books("Asha", "PNRASHA");
+        waitlistService.start();
+
+        // a burst of cancels on one flight asks for a single run
+        waitlistService.seatsFreed("F-DEL-1");
+        waitlistService.seatsFreed("F-DEL-1");
+
+        verify(waitlistRepository, timeout(2000)).markPromoted(eq("w1"), eq("PNRASHA"), any(), any(Instant.class));
+        verify(flightService, times(1)).bookTicket(any(), anyInt(), eq("Asha"), any(), any(), any(), any(), eq(false));
+    }
+
+    @Test
+    void getEntry_unknownId_isWaitlistNotFound() {
+        when(waitlistRepository.findById("nope")).thenReturn(Mono.empty());
+
+        StepVerifier.create(waitlistService.getEntry("nope"))
+                .expectErrorMatches(e -> e instanceof BusinessException b && b.getCode() == ErrorCode.WAITLIST_NOT_FOUND)
+                .verify();
+    }
+}
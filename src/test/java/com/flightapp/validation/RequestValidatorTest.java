@@ -0,0 +1,164 @@
+package com.flightapp.validation;
+
+import com.flightapp.dto.request.AddFlightRequest;
+import com.flightapp.dto.request.BookingRequest;
+import com.flightapp.dto.request.HoldConfirmRequest;
+import com.flightapp.dto.request.SeatHoldRequest;
+import com.flightapp.enums.Gender;
+import com.flightapp.enums.MealType;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * I compare the hand written rules with Bean Validation on the annotated request classes,
+ * so a new annotation without a matching rule (or the other way round) fails here.
+ */
+class RequestValidatorTest {
+
+    private final RequestValidator requestValidator = new RequestValidator();
+
+    private final Validator beanValidator = Validation.byDefaultProvider()
+            .configure()
+            .messageInterpolator(new ParameterMessageInterpolator())
+            .buildValidatorFactory()
+            .getValidator();
+
+    private static AddFlightRequest flight() {
+        return new AddFlightRequest("IndiGo", "6E-201", "DEL", "BOM",
+                "2026-05-01T06:30:00Z", "2026-05-01T08:45:00Z", 5400f, 180, "A320");
+    }
+
+    private static BookingRequest booking(String email) {
+        return new BookingRequest("f1", 2, "Asha", email, Gender.FEMALE, MealType.VEG);
+    }
+
+    private static <T> Set<String> messages(Set<ConstraintViolation<T>> violations) {
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .collect(Collectors.toSet());
+    }
+
+    private void assertSameVerdict(AddFlightRequest req) {
+        Set<String> expected = messages(beanValidator.validate(req));
+        String actual = requestValidator.check(req);
+        if (expected.isEmpty()) {
+            assertNull(actual, "bean validation accepts " + req);
+        } else {
+            assertTrue(expected.contains(actual), actual + " not in " + expected);
+        }
+    }
+
+    private void assertSameVerdict(BookingRequest req) {
+        Set<String> expected = messages(beanValidator.validate(req));
+        String actual = requestValidator.check(req);
+        if (expected.isEmpty()) {
+            assertNull(actual, "bean validation accepts " + req);
+        } else {
+            assertTrue(expected.contains(actual), actual + " not in " + expected);
+        }
+    }
+
+    private void assertSameVerdict(SeatHoldRequest req) {
+        Set<String> expected = messages(beanValidator.validate(req));
+        String actual = requestValidator.check(req);
+        if (expected.isEmpty()) {
+            assertNull(actual, "bean validation accepts " + req);
+        } else {
+            assertTrue(expected.contains(actual), actual + " not in " + expected);
+        }
+    }
+
+    private void assertSameVerdict(HoldConfirmRequest req) {
+        Set<String> expected = messages(beanValidator.validate(req));
+        String actual = requestValidator.check(req);
+        if (expected.isEmpty()) {
+            assertNull(actual, "bean validation accepts " + req);
+        } else {
+            assertTrue(expected.contains(actual), actual + " not in " + expected);
+        }
+    }
+
+    @Test
+    void flightRules_matchBeanValidation() {
+        assertSameVerdict(flight());
+
+        AddFlightRequest blankAirline = flight();
+        blankAirline.setAirline("  ");
+        assertSameVerdict(blankAirline);
+
+        AddFlightRequest noNumber = flight();
+        noNumber.setFlightNumber(null);
+        assertSameVerdict(noNumber);
+
+        AddFlightRequest freePrice = flight();
+        freePrice.setPrice(0f);
+        assertSameVerdict(freePrice);
+
+        AddFlightRequest noPrice = flight();
+        noPrice.setPrice(null);
+        assertSameVerdict(noPrice);
+
+        AddFlightRequest noSeats = flight();
+        noSeats.setTotalSeats(-5);
+        assertSameVerdict(noSeats);
+
+        AddFlightRequest seatsMissing = flight();
+        seatsMissing.setTotalSeats(null);
+        assertSameVerdict(seatsMissing);
+
+        AddFlightRequest noAircraft = flight();
+        noAircraft.setAircraft("");
+        assertSameVerdict(noAircraft);
+    }
+
+    @Test
+    void bookingRules_matchBeanValidation() {
+        assertSameVerdict(booking("asha@example.com"));
+        assertSameVerdict(new BookingRequest("f1", 0, "Asha", "asha@example.com", Gender.FEMALE, MealType.VEG));
+        assertSameVerdict(new BookingRequest("", 1, "Asha", "asha@example.com", Gender.FEMALE, MealType.VEG));
+        assertSameVerdict(new BookingRequest("f1", 1, "Asha", "asha@example.com", null, MealType.VEG));
+        assertSameVerdict(new BookingRequest("f1", 1, "Asha", "asha@example.com", Gender.MALE, null));
+    }
+
+    @Test
+    void seatHoldRules_matchBeanValidation() {
+        assertSameVerdict(new SeatHoldRequest("f1", 2, null, false, null));
+        assertSameVerdict(new SeatHoldRequest(" ", 2, null, false, 60));
+        assertSameVerdict(new SeatHoldRequest("f1", 0, List.of(), true, null));
+
+        assertSameVerdict(new HoldConfirmRequest("Asha", "asha@example.com", Gender.FEMALE, MealType.VEG));
+        assertSameVerdict(new HoldConfirmRequest("", "asha@example.com", Gender.FEMALE, MealType.VEG));
+        assertSameVerdict(new HoldConfirmRequest("Asha", "asha@", Gender.FEMALE, MealType.VEG));
+        assertSameVerdict(new HoldConfirmRequest("Asha", "asha@example.com", null, MealType.VEG));
+        assertSameVerdict(new HoldConfirmRequest("Asha", "asha@example.com", Gender.FEMALE, null));
+    }
+
+    @Test
+    void emailRule_matchesBeanValidation_forEverydayAddresses() {
+        List<String> emails = List.of(
+                "asha@example.com", "first.last+tag@mail.example.co.in", "a@b", "o'neil@example.org",
+                "", "plainaddress", "@example.com", "asha@", "asha@@example.com", "asha.@example.com",
+                ".asha@example.com", "as..ha@example.com", "asha@-example.com", "asha@example-.com",
+                "asha@exa_mple.com", "asha@example..com", "asha example@example.com", "asha@example.com.");
+        for (String email : emails) {
+            assertSameVerdict(booking(email));
+        }
+        assertSameVerdict(booking(null));
+    }
+
+    @Test
+    void stopsAtFirstProblem_inFieldOrder() {
+        BookingRequest bad = new BookingRequest(null, 0, "", "nope", null, null);
+        assertEquals("flightId flightId must not be blank", requestValidator.check(bad));
+        assertEquals("request body is missing", requestValidator.check((BookingRequest) null));
+    }
+}